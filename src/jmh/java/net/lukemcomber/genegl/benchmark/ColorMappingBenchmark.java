@@ -0,0 +1,88 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genetics.biology.Cell;
+import net.lukemcomber.genetics.biology.plant.cells.EjectedSeedCell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping {@code getCellType()} to a color: the original string switch writing four floats per
+ * cell against {@link CellType#of(Cell)} writing one palette byte.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorMappingBenchmark {
+
+    @State(Scope.Thread)
+    public static class Output {
+        float[] rgba;
+        byte[] palette;
+
+        @Setup(Level.Trial)
+        public void setup(final PopulationState state) {
+            rgba = new float[state.population.cells.size() * 4];
+            palette = new byte[state.population.cells.size()];
+        }
+    }
+
+    @Benchmark
+    public float[] stringSwitch(final PopulationState state, final Output out) {
+        final List<Cell> cells = state.population.cells;
+        final float[] rgba = out.rgba;
+        int j = 0;
+        for (int i = 0; i < cells.size(); i++) {
+            final Cell c = cells.get(i);
+            float r, g, b;
+            switch (c.getCellType()) {
+                case "leaf": r = 0.07843138f; g = 1.0f; b = 0.07843138f; break;
+                case "stem": r = 0.19607843f; g = 0.65882355f; b = 0.32156864f; break;
+                case "seed": {
+                    if (c instanceof EjectedSeedCell && !((EjectedSeedCell) c).isActivated()) {
+                        r = 0.9411765f; g = 0.019607844f; b = 0.019607844f;
+                    } else {
+                        r = 0.9411765f; g = 0.8156863f; b = 0.019607844f;
+                    }
+                    break;
+                }
+                case "root": r = 0.49019608f; g = 0.3764706f; b = 0.16078432f; break;
+                default: r = 0.90f; g = 0.90f; b = 0.90f;
+            }
+            rgba[j++] = r;
+            rgba[j++] = g;
+            rgba[j++] = b;
+            rgba[j++] = 1f;
+        }
+        return rgba;
+    }
+
+    @Benchmark
+    public byte[] cellType(final PopulationState state, final Output out) {
+        final List<Cell> cells = state.population.cells;
+        final byte[] palette = out.palette;
+        for (int i = 0; i < cells.size(); i++) {
+            palette[i] = (byte) CellType.of(cells.get(i)).ordinal();
+        }
+        return palette;
+    }
+}
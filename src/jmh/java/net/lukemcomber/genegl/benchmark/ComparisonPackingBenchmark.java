@@ -0,0 +1,82 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.ui.EpochMosaic;
+import net.lukemcomber.genegl.ui.PackedVertexFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of a comparison view frame against the single view's full packed encode of the
+ * same population. A normal frame only re-packs the live epoch into the {@link EpochMosaic};
+ * when an epoch ends the whole mosaic is packed once. The retired epochs are the population
+ * again, so every tile is as large as the live one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComparisonPackingBenchmark {
+
+    @State(Scope.Thread)
+    public static class Mosaic {
+        @Param({"4", "9"})
+        public int tiles;
+
+        EpochMosaic mosaic;
+        FrameSnapshot[] retired;
+        ByteBuffer single;
+
+        @Setup(Level.Trial)
+        public void setup(final FrameState state) {
+            final FrameSnapshot frame = state.population.frame;
+            mosaic = new EpochMosaic(state.population.dimensions.xAxis(), state.population.dimensions.yAxis(), tiles);
+            retired = new FrameSnapshot[tiles - 1];
+            Arrays.fill(retired, frame);
+            mosaic.update(frame, retired);
+            single = ByteBuffer.allocateDirect(Math.max(1, frame.count() * PackedVertexFormat.STRIDE))
+                    .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    @Benchmark
+    public int singleView(final FrameState state, final Mosaic m) {
+        m.single.clear();
+        return PackedVertexFormat.encode(state.population.frame, m.single);
+    }
+
+    @Benchmark
+    public int liveFrame(final FrameState state, final Mosaic m) {
+        m.mosaic.update(state.population.frame, m.retired);
+        return m.mosaic.buffer().remaining();
+    }
+
+    @Benchmark
+    public int epochEnded(final FrameState state, final Mosaic m) {
+        // a different array is a new set of epochs
+        m.retired = m.retired.clone();
+        m.mosaic.update(state.population.frame, m.retired);
+        return m.mosaic.buffer().remaining();
+    }
+}
@@ -0,0 +1,63 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellCollector;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.biology.Cell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deduplicating the already gathered cells: hashing {@link Cell} objects into a
+ * {@code HashSet} against the occupancy bitset of {@link CellCollector}. The collector also
+ * maps each cell to its type on the way in.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DedupeBenchmark {
+
+    @State(Scope.Thread)
+    public static class Collector {
+        CellCollector collector;
+        final FrameSnapshot frame = new FrameSnapshot();
+
+        @Setup(Level.Trial)
+        public void setup(final PopulationState state) {
+            collector = new CellCollector(state.population.dimensions);
+        }
+    }
+
+    @Benchmark
+    public Set<Cell> hashSet(final PopulationState state) {
+        return new HashSet<>(state.population.cells);
+    }
+
+    @Benchmark
+    public int bitset(final PopulationState state, final Collector c) {
+        c.frame.begin(null, 0, 0, 0);
+        c.collector.begin(c.frame);
+        c.collector.addAll(state.population.cells);
+        c.collector.end();
+        return c.frame.count();
+    }
+}
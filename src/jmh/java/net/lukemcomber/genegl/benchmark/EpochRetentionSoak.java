@@ -0,0 +1,181 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import net.lukemcomber.genegl.EcosystemFactory;
+import net.lukemcomber.genegl.epoch.EpochRetention;
+import net.lukemcomber.genegl.model.GeneGLConfig;
+import net.lukemcomber.genegl.model.Retention;
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.MultiEpochEcosystem;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Soak run of a multi-epoch {@code sim-parameters.json} simulation in the default world, with
+ * and without epoch retention. Heap after a full GC is sampled whenever an epoch starts. With
+ * retention on, the run fails if retention keeps more than {@code keep-epochs} epochs unspilled.
+ * Retention never shrinks the library's own epoch list, so the heap only levels off if the library
+ * lets finished epochs go; when it has, the run also fails if the heap keeps growing with the
+ * epochs: the average of the second half of the samples may not exceed the first half's by more
+ * than {@link #GROWTH_ALLOWED} plus {@link #SLACK_BYTES}.
+ * <p>
+ * {@code -Dgenegl.bench.soak.epochs=N} and {@code -Dgenegl.bench.soak.days=N} size the run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EpochRetentionSoak {
+
+    static final double GROWTH_ALLOWED = 0.25;
+    static final long SLACK_BYTES = 16L << 20;
+    private static final int KEEP_EPOCHS = 2;
+    private static final long POLL_NANOS = 50_000_000L;
+    private static final long SETTLE_NANOS = 2_000_000_000L;
+
+    @Param({"true", "false"})
+    public boolean retention;
+
+    @Benchmark
+    public long soak() throws IOException {
+        final GeneGLConfig config = load();
+        final int targetEpochs = Integer.getInteger("genegl.bench.soak.epochs", 12);
+        config.simulation.epochs = targetEpochs;
+        config.simulation.tickDelayMs = 0;
+        config.simulation.maxDays = Integer.getInteger("genegl.bench.soak.days", 5);
+        config.ecosystem.configuration.put("metadata.export", false);
+        final SpatialCoordinates dimensions = new SpatialCoordinates(config.simulation.width,
+                config.simulation.height, 1);
+
+        final MultiEpochEcosystem ecosystem = EcosystemFactory.create(config);
+        ecosystem.initialize(() -> null);
+        final ConcurrentLinkedDeque<Ecosystem> epochs = ecosystem.getEpochs();
+
+        final Path dir = Files.createTempDirectory("genegl-soak");
+        final Retention settings = new Retention();
+        settings.enabled = retention;
+        settings.keepEpochs = KEEP_EPOCHS;
+        settings.path = dir.toString();
+        // driven from here, right as an epoch starts
+        settings.checkIntervalMs = Integer.MAX_VALUE;
+        final EpochRetention epochRetention = retention ? new EpochRetention(epochs, dimensions, settings) : null;
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final long[] heap = new long[targetEpochs];
+        int started = 0;
+        int mostLive = 0;
+        Ecosystem last = null;
+        long lastTicks = -1;
+        long lastProgress = System.nanoTime();
+        try {
+            while (System.nanoTime() - lastProgress < SETTLE_NANOS) {
+                LockSupport.parkNanos(POLL_NANOS);
+                final Ecosystem current = epochs.peekLast();
+                if (null == current) {
+                    continue;
+                }
+                if (current != last) {
+                    last = current;
+                    if (null != epochRetention) {
+                        epochRetention.check();
+                        mostLive = Math.max(mostLive, epochRetention.liveEpochs());
+                    }
+                    System.gc();
+                    if (started < heap.length) {
+                        heap[started] = memory.getHeapMemoryUsage().getUsed();
+                    }
+                    started++;
+                }
+                if (current.getTime().totalTicks() != lastTicks) {
+                    lastTicks = current.getTime().totalTicks();
+                    lastProgress = System.nanoTime();
+                }
+                if (started >= targetEpochs && current.getTime().totalDays() >= config.simulation.maxDays) {
+                    break;
+                }
+            }
+        } finally {
+            if (null != epochRetention) {
+                epochRetention.close();
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        final int samples = Math.min(started, heap.length);
+        final StringBuilder line = new StringBuilder();
+        for (int i = 0; i < samples; i++) {
+            line.append(i == 0 ? "" : " ").append(heap[i] >> 20);
+        }
+        System.out.printf("%n[Soak] retention %s, %d epochs (%d in the library's list), heap after GC per epoch (MiB): %s%n",
+                retention ? "on" : "off", started, epochs.size(), line);
+        if (retention && mostLive > KEEP_EPOCHS) {
+            throw new IllegalStateException("Retention kept " + mostLive + " epochs unspilled, "
+                    + KEEP_EPOCHS + " allowed");
+        }
+
+        // the first epochs fill up the retained window, they are not the plateau
+        final int from = Math.min(samples, KEEP_EPOCHS + 1);
+        final int half = from + (samples - from) / 2;
+        // the library still holding every epoch keeps their heap whatever retention does
+        final boolean released = epochs.size() <= KEEP_EPOCHS + 1;
+        if (retention && !released) {
+            System.out.println("[Soak] The library keeps its finished epochs, heap growth not checked");
+        }
+        if (retention && released && samples - from >= 4) {
+            final double first = average(heap, from, half);
+            final double second = average(heap, half, samples);
+            if (second > first * (1.0 + GROWTH_ALLOWED) + SLACK_BYTES) {
+                throw new IllegalStateException(String.format(
+                        "Heap keeps growing with epochs under retention: %.0f MiB -> %.0f MiB",
+                        first / (1 << 20), second / (1 << 20)));
+            }
+        }
+        return samples > 0 ? heap[samples - 1] : 0;
+    }
+
+    private static double average(final long[] values, final int from, final int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return to > from ? (double) sum / (to - from) : 0.0;
+    }
+
+    private static GeneGLConfig load() throws IOException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE);
+        try (InputStream in = EpochRetentionSoak.class.getResourceAsStream("/sim-parameters.json")) {
+            if (null == in) {
+                throw new IOException("sim-parameters.json not found on classpath");
+            }
+            return objectMapper.readValue(in, GeneGLConfig.class);
+        }
+    }
+}
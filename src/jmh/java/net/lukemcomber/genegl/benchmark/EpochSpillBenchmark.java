@@ -0,0 +1,82 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.epoch.EpochRecord;
+import net.lukemcomber.genegl.epoch.EpochStore;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a finished epoch's frame to the {@link EpochStore} and reading it back, per
+ * compression level. The spill file is started over every iteration so it does not grow
+ * with the run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EpochSpillBenchmark {
+
+    @State(Scope.Thread)
+    public static class Store {
+        @Param({"1", "6"})
+        public int level;
+
+        Path dir;
+        EpochStore store;
+        EpochRecord spilled;
+
+        @Setup(Level.Iteration)
+        public void open(final FrameState state) throws IOException {
+            if (null == dir) {
+                dir = Files.createTempDirectory("genegl-spill");
+            }
+            store = new EpochStore(dir.resolve("bench.spill"), state.population.dimensions, 256 * 1024, level);
+            spilled = store.append(0, state.population.frame, state.population.organismCount);
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            System.out.printf("%n[Spill] %,d cells: %,d bytes serialized, %,d stored%n",
+                    spilled.cells, spilled.rawBytes, spilled.storedBytes);
+            store.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Benchmark
+    public long spill(final FrameState state, final Store s) throws IOException {
+        return s.store.append(1, state.population.frame, state.population.organismCount).storedBytes;
+    }
+
+    @Benchmark
+    public FrameSnapshot reload(final Store s) throws IOException {
+        return s.store.load(s.spilled);
+    }
+}
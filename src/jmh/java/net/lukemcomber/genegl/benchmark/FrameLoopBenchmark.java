@@ -0,0 +1,146 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameExchange;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genegl.model.Render;
+import net.lukemcomber.genegl.ui.Camera;
+import net.lukemcomber.genegl.ui.HudLines;
+import net.lukemcomber.genegl.ui.RenderScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU side of one viewer frame without a window: taking the newest frame from the
+ * exchange, asking the scheduler, timing the phases, rebuilding the HUD and title text. It
+ * stands in for {@code ViewPort.runEventLoop}, whose GL and NanoVG calls need a context. The
+ * original {@code String.format} HUD is kept for comparison.
+ * <p>
+ * Besides the numbers, the trial fails if the steady-state frame allocates at all, measured
+ * with the thread's allocated bytes over {@link #CHECKED_FRAMES} frames once the run is warm.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameLoopBenchmark {
+
+    static final int CHECKED_FRAMES = 100_000;
+
+    @State(Scope.Thread)
+    public static class Loop {
+        final FrameExchange exchange = new FrameExchange();
+        final FrameTimings timings = new FrameTimings();
+        final Camera camera = new Camera();
+        final HudLines hud = new HudLines();
+        RenderScheduler scheduler;
+        long tick = 0;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final Render render = new Render();
+            render.scheduler = Render.SCHEDULER_UNCAPPED;
+            scheduler = new RenderScheduler(render);
+            camera.zoom = 4.0f;
+            camera.framebufferW = 1920;
+            camera.framebufferH = 1080;
+        }
+
+        /*
+         * A new tick is published, then the render side runs one frame of the loop.
+         */
+        long frame() {
+            tick++;
+            // one cell: the cell set is not what is measured here
+            final FrameSnapshot back = exchange.back();
+            back.begin("epoch-0", tick, tick / 100, tick % 100);
+            back.add((int) (tick % 64), 1, CellType.LEAF);
+            exchange.publish();
+
+            final long started = System.nanoTime();
+            final FrameSnapshot frame = exchange.acquire();
+            if (!scheduler.shouldDraw(frame.version(), started)) {
+                return 0;
+            }
+            timings.begin(FramePhase.FRAME);
+            camera.detailBias = scheduler.detailBias();
+            timings.begin(FramePhase.HUD);
+            if (scheduler.hudDue()) {
+                hud.update(frame, camera, null);
+            }
+            hud.updateTimings(timings.latest());
+            timings.end(FramePhase.HUD);
+            if (tick % 1000 == 0) {
+                hud.title(frame.count(), 60.0, 120.0, 0, frame.count() * 6L, scheduler.degradation());
+            }
+            timings.end(FramePhase.FRAME);
+            scheduler.drawn(frame.version(), System.nanoTime() - started, System.nanoTime());
+            return frame.version();
+        }
+
+        @TearDown(Level.Trial)
+        public void checkAllocation() {
+            final com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long sink = 0;
+            // first frames grow the buffers and text to size, which is not steady state
+            for (int i = 0; i < CHECKED_FRAMES; i++) {
+                sink += frame();
+            }
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < CHECKED_FRAMES; i++) {
+                sink += frame();
+            }
+            final long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            System.out.printf("%n[FrameLoop] %,d bytes allocated over %,d frames (checksum %d)%n",
+                    allocated, CHECKED_FRAMES, sink);
+            if (allocated > 0) {
+                throw new IllegalStateException("Steady-state frame path allocated " + allocated
+                        + " bytes over " + CHECKED_FRAMES + " frames");
+            }
+        }
+    }
+
+    @Benchmark
+    public long frame(final Loop loop) {
+        return loop.frame();
+    }
+
+    @Benchmark
+    public String formatHud(final Loop loop) {
+        final FrameSnapshot frame = loop.exchange.acquire();
+        final Camera camera = loop.camera;
+        final String line1 = String.format("Total Ticks %,d  |  Day %,d  |  Tick %d ", frame.totalTicks(),
+                frame.totalDays(), frame.currentTick());
+        final String line2 = String.format("%s  |  zoom %.2fx  |  pan(%.0f,%.0f)  |  grid %s", frame.name(),
+                camera.zoom, camera.panX, camera.panY, camera.gridMode ? "ON" : "OFF");
+        return line1.length() > line2.length() ? line1 : line2;
+    }
+
+    @Benchmark
+    public CharSequence appendHud(final Loop loop) {
+        loop.hud.update(loop.exchange.acquire(), loop.camera, null);
+        return loop.hud.view().text();
+    }
+}
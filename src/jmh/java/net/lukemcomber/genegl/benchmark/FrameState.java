@@ -0,0 +1,29 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One built population per fork and size, for the benchmarks that only read its frame.
+ */
+@State(Scope.Benchmark)
+public class FrameState {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int cells;
+
+    Populations.Population population;
+
+    @Setup(Level.Trial)
+    public void build() {
+        population = Populations.build(cells);
+    }
+}
@@ -0,0 +1,71 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellCollector;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.biology.Cell;
+import net.lukemcomber.genetics.biology.Organism;
+import net.lukemcomber.genetics.io.CellHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walking every organism graph with {@code CellHelper.getAllOrganismsCells}, as the viewer
+ * used to do on the render thread (into a fresh {@code HashSet}) and as the publisher does now
+ * (through {@link CellCollector} into a reused frame).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatherBenchmark {
+
+    @State(Scope.Thread)
+    public static class Collector {
+        CellCollector collector;
+        final FrameSnapshot frame = new FrameSnapshot();
+
+        @Setup(Level.Trial)
+        public void setup(final PopulationState state) {
+            collector = new CellCollector(state.population.dimensions);
+        }
+    }
+
+    @Benchmark
+    public Set<Cell> hashSet(final PopulationState state) {
+        final Set<Cell> allCells = new HashSet<>();
+        for (final Organism organism : state.population.organisms) {
+            allCells.addAll(CellHelper.getAllOrganismsCells(organism.getFirstCell()));
+        }
+        return allCells;
+    }
+
+    @Benchmark
+    public int collector(final PopulationState state, final Collector c) {
+        c.frame.begin(null, 0, 0, 0);
+        c.collector.begin(c.frame);
+        for (final Organism organism : state.population.organisms) {
+            c.collector.addAll(CellHelper.getAllOrganismsCells(organism.getFirstCell()));
+        }
+        c.collector.end();
+        return c.frame.count();
+    }
+}
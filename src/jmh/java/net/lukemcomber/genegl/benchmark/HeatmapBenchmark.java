@@ -0,0 +1,93 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameDelta;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.heatmap.Heatmaps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of heatmap accumulation: {@link Heatmaps} applying a frame's births, type changes
+ * and deaths against adding every live cell of the frame to the grids, which is what
+ * recomputing them each tick costs. The frame differs from the population's in one cell
+ * out of a hundred, about what a tick of a grown population changes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeatmapBenchmark {
+
+    @State(Scope.Thread)
+    public static class Accumulation {
+        Heatmaps heatmaps;
+        FrameDelta delta;
+        FrameSnapshot next;
+        float[] occupancy;
+        float[][] density;
+        int width;
+        long tick;
+
+        @Setup(Level.Trial)
+        public void setup(final FrameState state) {
+            final FrameSnapshot frame = state.population.frame;
+            width = state.population.dimensions.xAxis();
+            // every 200th cell dies, every 200th one after it changes type
+            next = new FrameSnapshot();
+            next.begin(frame.name(), frame.totalTicks() + 1, frame.totalDays(), frame.currentTick() + 1);
+            next.ensureCapacity(frame.count());
+            for (int i = 0; i < frame.count(); i++) {
+                if (i % 200 == 0) continue;
+                final int cell = frame.cell(i);
+                final byte type = i % 200 == 1 ? (byte) ((frame.type(i) + 1) % CellType.count()) : frame.type(i);
+                next.add(FrameSnapshot.x(cell), FrameSnapshot.y(cell), CellType.of(type));
+            }
+            final CellGrid grid = new CellGrid(state.population.dimensions);
+            grid.apply(frame);
+            heatmaps = new Heatmaps(state.population.dimensions);
+            heatmaps.begin(frame.name(), frame.totalTicks(), grid);
+            delta = new FrameDelta();
+            grid.apply(next, delta);
+            tick = frame.totalTicks();
+            occupancy = new float[width * state.population.dimensions.yAxis()];
+            density = new float[CellType.count()][occupancy.length];
+        }
+    }
+
+    @Benchmark
+    public int incremental(final Accumulation a) {
+        a.heatmaps.apply(a.delta, ++a.tick);
+        return a.heatmaps.elapsed();
+    }
+
+    @Benchmark
+    public float recompute(final Accumulation a) {
+        final FrameSnapshot frame = a.next;
+        for (int i = 0; i < frame.count(); i++) {
+            final int cell = frame.cell(i);
+            final int index = FrameSnapshot.y(cell) * a.width + FrameSnapshot.x(cell);
+            a.occupancy[index] += 1f;
+            a.density[frame.type(i)][index] += 1f;
+        }
+        return a.occupancy[0];
+    }
+}
@@ -0,0 +1,90 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.ui.PackedVertexFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filling the vertex upload buffers from a captured frame: float positions and float RGBA
+ * staged in arrays and copied into two {@link FloatBuffer}s (the legacy format) against the
+ * 6 byte {@link PackedVertexFormat} written straight into one direct buffer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackingBenchmark {
+
+    @State(Scope.Thread)
+    public static class Buffers {
+        float[] posBuf;
+        float[] colBuf;
+        FloatBuffer posFB;
+        FloatBuffer colFB;
+        ByteBuffer packed;
+
+        @Setup(Level.Trial)
+        public void setup(final FrameState state) {
+            final int count = state.population.frame.count();
+            posBuf = new float[count * 2];
+            colBuf = new float[count * 4];
+            posFB = direct(count * 2 * Float.BYTES).asFloatBuffer();
+            colFB = direct(count * 4 * Float.BYTES).asFloatBuffer();
+            packed = direct(count * PackedVertexFormat.STRIDE);
+        }
+
+        private static ByteBuffer direct(final int bytes) {
+            return ByteBuffer.allocateDirect(Math.max(bytes, 1)).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    @Benchmark
+    public int floatBuffers(final FrameState state, final Buffers b) {
+        final FrameSnapshot frame = state.population.frame;
+        final int count = frame.count();
+        int pj = 0, cj = 0;
+        for (int i = 0; i < count; i++) {
+            final int cell = frame.cell(i);
+            b.posBuf[pj++] = (float) FrameSnapshot.x(cell);
+            b.posBuf[pj++] = (float) FrameSnapshot.y(cell);
+            final CellType type = CellType.of(frame.type(i));
+            b.colBuf[cj++] = type.red;
+            b.colBuf[cj++] = type.green;
+            b.colBuf[cj++] = type.blue;
+            b.colBuf[cj++] = 1f;
+        }
+        b.posFB.clear();
+        b.posFB.put(b.posBuf, 0, count * 2).flip();
+        b.colFB.clear();
+        b.colFB.put(b.colBuf, 0, count * 4).flip();
+        return b.posFB.limit() + b.colFB.limit();
+    }
+
+    @Benchmark
+    public int packed(final FrameState state, final Buffers b) {
+        b.packed.clear();
+        return PackedVertexFormat.encode(state.population.frame, b.packed);
+    }
+}
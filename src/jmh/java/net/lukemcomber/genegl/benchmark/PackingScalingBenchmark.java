@@ -0,0 +1,113 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.ui.PackedVertexFormat;
+import net.lukemcomber.genegl.ui.VertexPacker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How packing a whole frame scales with the {@link VertexPacker}'s threads, in both vertex
+ * formats, the slices written the way the point renderer writes them. {@code threads = 1} is
+ * the serial path, and frames under {@link VertexPacker#SERIAL_BELOW} cells take it at any count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackingScalingBenchmark {
+
+    @State(Scope.Thread)
+    public static class Packer {
+
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        VertexPacker packer;
+        FrameSnapshot frame;
+        ByteBuffer packed;
+        FloatBuffer posFB;
+        FloatBuffer colFB;
+        VertexPacker.Slice packedSlice;
+        VertexPacker.Slice legacySlice;
+
+        @Setup(Level.Trial)
+        public void setup(final FrameState state) {
+            packer = new VertexPacker(threads);
+            frame = state.population.frame;
+            final int count = frame.count();
+            packed = direct(count * PackedVertexFormat.STRIDE);
+            posFB = direct(count * 2 * Float.BYTES).asFloatBuffer();
+            colFB = direct(count * 4 * Float.BYTES).asFloatBuffer();
+            packedSlice = this::packPacked;
+            legacySlice = this::packLegacy;
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            packer.close();
+        }
+
+        private void packPacked(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                final int cell = frame.cell(i);
+                PackedVertexFormat.put(packed, i, FrameSnapshot.x(cell), FrameSnapshot.y(cell), frame.type(i));
+            }
+        }
+
+        private void packLegacy(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                final int cell = frame.cell(i);
+                posFB.put(i * 2, (float) FrameSnapshot.x(cell));
+                posFB.put(i * 2 + 1, (float) FrameSnapshot.y(cell));
+                final CellType type = CellType.of(frame.type(i));
+                final int c = i * 4;
+                colFB.put(c, type.red);
+                colFB.put(c + 1, type.green);
+                colFB.put(c + 2, type.blue);
+                colFB.put(c + 3, 1f);
+            }
+        }
+
+        private static ByteBuffer direct(final int bytes) {
+            return ByteBuffer.allocateDirect(Math.max(bytes, 1)).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    @Benchmark
+    public int packed(final Packer p) {
+        final int count = p.frame.count();
+        p.packer.run(count, count, p.packedSlice);
+        return p.packed.get(0);
+    }
+
+    @Benchmark
+    public float legacy(final Packer p) {
+        final int count = p.frame.count();
+        p.packer.run(count, count, p.legacySlice);
+        return p.posFB.get(0) + p.colFB.get(0);
+    }
+}
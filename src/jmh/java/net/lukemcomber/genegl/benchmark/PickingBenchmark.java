@@ -0,0 +1,83 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.ui.CellPicker;
+import net.lukemcomber.genetics.biology.Cell;
+import net.lukemcomber.genetics.biology.Organism;
+import net.lukemcomber.genetics.io.CellHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the organism under a click: scanning every organism's cells for the position against
+ * a {@link CellPicker} lookup, and the lookup on a frame not indexed yet, which pays for filling
+ * the grid once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickingBenchmark {
+
+    @State(Scope.Thread)
+    public static class Target {
+        CellPicker picker;
+        FrameSnapshot copy;
+        int x;
+        int y;
+        boolean flip;
+
+        @Setup(Level.Trial)
+        public void setup(final PopulationState state) {
+            final FrameSnapshot frame = state.population.frame;
+            picker = new CellPicker(state.population.dimensions, null);
+            copy = new FrameSnapshot();
+            copy.copyFrom(frame);
+            // a cell from the middle of the frame, so the scan is not lucky
+            final int cell = frame.count() > 0 ? frame.cell(frame.count() / 2) : 0;
+            x = FrameSnapshot.x(cell);
+            y = FrameSnapshot.y(cell);
+        }
+    }
+
+    @Benchmark
+    public Organism scan(final PopulationState state, final Target t) {
+        for (final Organism organism : state.population.organisms) {
+            for (final Cell cell : CellHelper.getAllOrganismsCells(organism.getFirstCell())) {
+                if (cell.getCoordinates().xAxis() == t.x && cell.getCoordinates().yAxis() == t.y) {
+                    return organism;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public int lookup(final PopulationState state, final Target t) {
+        return t.picker.pick(state.population.frame, t.x, t.y);
+    }
+
+    @Benchmark
+    public int indexThenLookup(final PopulationState state, final Target t) {
+        // alternating between two frames makes every pick index its frame first
+        t.flip = !t.flip;
+        return t.picker.pick(t.flip ? t.copy : state.population.frame, t.x, t.y);
+    }
+}
@@ -0,0 +1,32 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * One grown population per fork and size, shared by all benchmark threads, for the benchmarks
+ * that walk the organisms and their cells.
+ */
+@State(Scope.Benchmark)
+public class PopulationState {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int cells;
+
+    Populations.Population population;
+
+    @Setup(Level.Trial)
+    public void grow() throws IOException {
+        population = Populations.grow(cells);
+    }
+}
@@ -0,0 +1,202 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import net.lukemcomber.genegl.EcosystemFactory;
+import net.lukemcomber.genegl.frame.CellCollector;
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.model.GeneGLConfig;
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.MultiEpochEcosystem;
+import net.lukemcomber.genetics.biology.Cell;
+import net.lukemcomber.genetics.biology.Organism;
+import net.lukemcomber.genetics.io.CellHelper;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Populations for the benchmarks, in a world sized for the requested cell count. Benchmarks
+ * that walk the organism graphs get real ones: a single epoch of {@code sim-parameters.json}
+ * is run headless until it stops ticking, so the graphs are frozen while they are measured.
+ * Benchmarks that only read frames get one built straight into a frame, which takes
+ * milliseconds instead of a simulation run per fork.
+ */
+final class Populations {
+
+    // world cells per requested live cell; flora in sim-parameters.json covers well under half the ground
+    private static final int AREA_PER_CELL = 4;
+    private static final long SETTLE_NANOS = 2_000_000_000L;
+    private static final long POLL_NANOS = 200_000_000L;
+    // what a built frame's clock reads, like a population grown for genegl.bench.days
+    private static final int BUILT_DAYS = 20;
+
+    static final class Population {
+        final SpatialCoordinates dimensions;
+        // empty for a built population
+        final List<Organism> organisms;
+        final int organismCount;
+        // every cell as gathered, including cells reachable from more than one organism
+        final List<Cell> cells;
+        // deduplicated cells as the publisher captures them
+        final FrameSnapshot frame;
+
+        Population(final SpatialCoordinates dimensions, final List<Organism> organisms, final int organismCount,
+                   final List<Cell> cells, final FrameSnapshot frame) {
+            this.dimensions = dimensions;
+            this.organisms = organisms;
+            this.organismCount = organismCount;
+            this.cells = cells;
+            this.frame = frame;
+        }
+    }
+
+    private Populations() {
+    }
+
+    static Population grow(final int targetCells) throws IOException {
+        final long start = System.nanoTime();
+        final GeneGLConfig config = load();
+        final SpatialCoordinates dimensions = world(targetCells);
+        final int width = dimensions.xAxis();
+        final int height = dimensions.yAxis();
+        config.simulation.width = width;
+        config.simulation.height = height;
+        config.simulation.epochs = 1;
+        config.simulation.tickDelayMs = 0;
+        config.simulation.maxDays = Integer.getInteger("genegl.bench.days", 20);
+        // keep the seeding density of the default 480x270 world
+        config.simulation.initialPopulationSize = Math.max(10,
+                (int) ((long) config.simulation.initialPopulationSize * width * height / (480L * 270L)));
+        config.ecosystem.configuration.put("metadata.export", false);
+
+        final MultiEpochEcosystem ecosystem = EcosystemFactory.create(config);
+        ecosystem.initialize(() -> null);
+
+        Ecosystem epoch = null;
+        long lastTicks = -1;
+        long lastProgress = System.nanoTime();
+        while (System.nanoTime() - lastProgress < SETTLE_NANOS) {
+            LockSupport.parkNanos(POLL_NANOS);
+            epoch = ecosystem.getEpochs().peekLast();
+            if (null != epoch && epoch.getTime().totalTicks() != lastTicks) {
+                lastTicks = epoch.getTime().totalTicks();
+                lastProgress = System.nanoTime();
+            }
+        }
+        if (null == epoch) {
+            throw new IllegalStateException("Simulation never started");
+        }
+
+        final List<Organism> organisms = new ArrayList<>();
+        final List<Cell> cells = new ArrayList<>();
+        final Iterator<Organism> iter = epoch.getTerrain().getOrganisms();
+        while (iter.hasNext()) {
+            final Organism organism = iter.next();
+            organisms.add(organism);
+            cells.addAll(CellHelper.getAllOrganismsCells(organism.getFirstCell()));
+        }
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin(epoch.getName(), epoch.getTime().totalTicks(), epoch.getTime().totalDays(),
+                epoch.getTime().currentTick());
+        final CellCollector collector = new CellCollector(dimensions);
+        collector.begin(frame);
+        collector.addAll(cells);
+        collector.end();
+
+        System.out.printf("%n[Populations] target %,d cells: %dx%d world, %,d organisms, %,d cells (%,d unique) after %,d ticks, grown in %.1f s%n",
+                targetCells, width, height, organisms.size(), cells.size(), frame.count(), lastTicks,
+                (System.nanoTime() - start) / 1e9);
+        return new Population(dimensions, organisms, organisms.size(), cells, frame);
+    }
+
+    /**
+     * A population written straight into a frame: plants of a stem with leaves to either side,
+     * roots below and now and then a seed on top, dropped at random until the frame holds
+     * {@code targetCells}. Cells of a plant that would land on another are left out, as the
+     * publisher's deduplication would. The same every fork; there are no organism objects.
+     */
+    static Population build(final int targetCells) {
+        final long start = System.nanoTime();
+        final SpatialCoordinates dimensions = world(targetCells);
+        final int width = dimensions.xAxis();
+        final int height = dimensions.yAxis();
+        final boolean[] taken = new boolean[width * height];
+        final Random random = new Random(targetCells);
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin("built", BUILT_DAYS * 24L, BUILT_DAYS, 0);
+        frame.ensureCapacity(targetCells);
+        int plants = 0;
+        while (frame.count() < targetCells) {
+            final int x = random.nextInt(width);
+            final int ground = random.nextInt(height);
+            final int roots = 1 + random.nextInt(4);
+            for (int i = 1; i <= roots; i++) {
+                add(frame, taken, dimensions, x, ground - i, CellType.ROOT, targetCells);
+            }
+            final int stem = 3 + random.nextInt(10);
+            for (int i = 0; i < stem; i++) {
+                add(frame, taken, dimensions, x, ground + i, CellType.STEM, targetCells);
+                if (random.nextInt(10) < 7) {
+                    add(frame, taken, dimensions, x - 1, ground + i, CellType.LEAF, targetCells);
+                }
+                if (random.nextInt(10) < 7) {
+                    add(frame, taken, dimensions, x + 1, ground + i, CellType.LEAF, targetCells);
+                }
+            }
+            if (random.nextInt(10) < 3) {
+                add(frame, taken, dimensions, x, ground + stem,
+                        random.nextBoolean() ? CellType.SEED_ACTIVE : CellType.SEED_INACTIVE, targetCells);
+            }
+            plants++;
+        }
+        System.out.printf("%n[Populations] target %,d cells: %dx%d world, %,d plants, %,d cells, built in %.1f ms%n",
+                targetCells, width, height, plants, frame.count(), (System.nanoTime() - start) / 1e6);
+        return new Population(dimensions, List.of(), plants, List.of(), frame);
+    }
+
+    private static void add(final FrameSnapshot frame, final boolean[] taken, final SpatialCoordinates dimensions,
+                            final int x, final int y, final CellType type, final int targetCells) {
+        if (frame.count() == targetCells || x < 0 || y < 0 || x >= dimensions.xAxis() || y >= dimensions.yAxis()) {
+            return;
+        }
+        final int index = y * dimensions.xAxis() + x;
+        if (!taken[index]) {
+            taken[index] = true;
+            frame.add(x, y, type);
+        }
+    }
+
+    /*
+     * AREA_PER_CELL world cells per requested cell, 16:9 like the default world.
+     */
+    private static SpatialCoordinates world(final int targetCells) {
+        final int area = Math.max(targetCells * AREA_PER_CELL, 64 * 64);
+        final int width = Math.min(0xFFFF, (int) Math.ceil(Math.sqrt(area * 16.0 / 9.0)));
+        final int height = (int) Math.ceil((double) area / width);
+        return new SpatialCoordinates(width, height, 1);
+    }
+
+    private static GeneGLConfig load() throws IOException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE);
+        try (InputStream in = Populations.class.getResourceAsStream("/sim-parameters.json")) {
+            if (null == in) {
+                throw new IOException("sim-parameters.json not found on classpath");
+            }
+            return objectMapper.readValue(in, GeneGLConfig.class);
+        }
+    }
+}
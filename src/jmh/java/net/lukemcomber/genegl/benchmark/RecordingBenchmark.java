@@ -0,0 +1,150 @@
+package net.lukemcomber.genegl.benchmark;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import net.lukemcomber.genegl.EcosystemFactory;
+import net.lukemcomber.genegl.frame.FrameExchange;
+import net.lukemcomber.genegl.frame.FramePublisher;
+import net.lukemcomber.genegl.model.GeneGLConfig;
+import net.lukemcomber.genegl.model.Recording;
+import net.lukemcomber.genegl.record.ArchiveReader;
+import net.lukemcomber.genegl.record.FrameArchive;
+import net.lukemcomber.genegl.record.FrameRecorder;
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.MultiEpochEcosystem;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Recording throughput over a whole {@code sim-parameters.json} run, 100 days per epoch for 50
+ * epochs, in the default world. The frame publisher captures every tick it can as it does in the
+ * app, with and without a {@link FrameRecorder} listening, so the difference in published frames
+ * per second is what recording costs. The recorder prints its own per-frame overhead and archive
+ * size on close; the archive is then read back to check it holds every recorded frame.
+ * <p>
+ * {@code -Dgenegl.bench.recording.epochs=N} and {@code -Dgenegl.bench.recording.days=N} size the run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordingBenchmark {
+
+    private static final long POLL_NANOS = 50_000_000L;
+    private static final long SETTLE_NANOS = 2_000_000_000L;
+
+    @Param({"true", "false"})
+    public boolean recording;
+
+    @Benchmark
+    public long run() throws IOException {
+        final GeneGLConfig config = load();
+        final int targetEpochs = Integer.getInteger("genegl.bench.recording.epochs", 50);
+        config.simulation.epochs = targetEpochs;
+        config.simulation.tickDelayMs = 0;
+        config.simulation.maxDays = Integer.getInteger("genegl.bench.recording.days", 100);
+        config.ecosystem.configuration.put("metadata.export", false);
+        final SpatialCoordinates dimensions = new SpatialCoordinates(config.simulation.width,
+                config.simulation.height, 1);
+
+        final MultiEpochEcosystem ecosystem = EcosystemFactory.create(config);
+        final ConcurrentLinkedDeque<Ecosystem> epochs = ecosystem.getEpochs();
+        final FramePublisher publisher = new FramePublisher(epochs, new FrameExchange(), dimensions);
+
+        final Path dir = Files.createTempDirectory("genegl-recording");
+        final Path archive = dir.resolve("bench" + FrameArchive.EXTENSION);
+        if (recording) {
+            publisher.addListener(new FrameRecorder(archive, dimensions, new Recording().keyframeInterval));
+        }
+
+        final long start = System.nanoTime();
+        long end = start;
+        int started = 0;
+        try {
+            ecosystem.initialize(() -> null);
+            publisher.start();
+            Ecosystem last = null;
+            long lastTicks = -1;
+            long lastProgress = System.nanoTime();
+            while (System.nanoTime() - lastProgress < SETTLE_NANOS) {
+                LockSupport.parkNanos(POLL_NANOS);
+                final Ecosystem current = epochs.peekLast();
+                if (null == current) {
+                    continue;
+                }
+                if (current != last) {
+                    last = current;
+                    started++;
+                }
+                if (current.getTime().totalTicks() != lastTicks) {
+                    lastTicks = current.getTime().totalTicks();
+                    lastProgress = System.nanoTime();
+                    end = lastProgress;
+                }
+                if (started >= targetEpochs && current.getTime().totalDays() >= config.simulation.maxDays) {
+                    break;
+                }
+            }
+        } finally {
+            // closes the recorder, which prints its overhead and archive size
+            publisher.stop();
+        }
+
+        final long published = publisher.published();
+        final double seconds = (end - start) / 1_000_000_000.0;
+        System.out.printf("%n[Recording] recording %s, %d epochs, %,d frames published (%,d torn) in %.1f s, %.0f frames/s%n",
+                recording ? "on" : "off", started, published, publisher.torn(), seconds,
+                seconds > 0 ? published / seconds : 0.0);
+        try {
+            if (recording) {
+                try (ArchiveReader reader = new ArchiveReader(archive)) {
+                    if (reader.frames() != published) {
+                        throw new IllegalStateException("Archive holds " + reader.frames() + " frames, "
+                                + published + " were published");
+                    }
+                    System.out.printf("[Recording] %,d bytes, %,d frames, %d keyframes%n",
+                            Files.size(archive), reader.frames(), reader.keyframes());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(archive);
+            Files.deleteIfExists(dir);
+        }
+        return published;
+    }
+
+    private static GeneGLConfig load() throws IOException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE);
+        try (InputStream in = RecordingBenchmark.class.getResourceAsStream("/sim-parameters.json")) {
+            if (null == in) {
+                throw new IOException("sim-parameters.json not found on classpath");
+            }
+            return objectMapper.readValue(in, GeneGLConfig.class);
+        }
+    }
+}
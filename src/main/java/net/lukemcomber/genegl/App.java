@@ -7,56 +7,255 @@ package net.lukemcomber.genegl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import net.lukemcomber.genegl.epoch.EpochRetention;
+import net.lukemcomber.genegl.frame.FrameExchange;
+import net.lukemcomber.genegl.frame.FramePublisher;
+import net.lukemcomber.genegl.heatmap.HeatmapAccumulator;
+import net.lukemcomber.genegl.heatmap.Heatmaps;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genegl.metrics.MetricsPublisher;
+import net.lukemcomber.genegl.metrics.StartupTimeline;
+import net.lukemcomber.genegl.metrics.TimingExporter;
 import net.lukemcomber.genegl.model.GeneGLConfig;
+import net.lukemcomber.genegl.model.Heatmap;
+import net.lukemcomber.genegl.model.Recording;
+import net.lukemcomber.genegl.model.Render;
+import net.lukemcomber.genegl.model.Retention;
+import net.lukemcomber.genegl.model.Server;
 import net.lukemcomber.genegl.model.Simulation;
+import net.lukemcomber.genegl.model.Sweep;
+import net.lukemcomber.genegl.record.ArchiveReader;
+import net.lukemcomber.genegl.record.FrameArchive;
+import net.lukemcomber.genegl.record.FrameRecorder;
+import net.lukemcomber.genegl.record.ReplayPlayer;
+import net.lukemcomber.genegl.server.LiveViewStream;
+import net.lukemcomber.genegl.server.MetricsServer;
+import net.lukemcomber.genegl.sweep.SweepRunner;
 import net.lukemcomber.genetics.MultiEpochEcosystem;
 import net.lukemcomber.genetics.model.SpatialCoordinates;
-import net.lukemcomber.genetics.model.ecosystem.impl.MultiEpochConfiguration;
-import net.lukemcomber.genetics.universes.CustomUniverse;
+import net.lukemcomber.genegl.ui.HeadlessViewer;
 import net.lukemcomber.genegl.ui.ViewPort;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.LogManager;
 
 public class App {
 
-    private final MultiEpochEcosystem ecosystem;
+    // built and initialized on its own thread while the main thread sets up the window
+    private final CompletableFuture<MultiEpochEcosystem> ecosystem;
+    private final StartupTimeline startup;
     private final ViewPort viewPort;
+    private final HeadlessViewer headlessViewer;
+    private final FrameExchange frames = new FrameExchange();
+    private final SpatialCoordinates dimensions;
+    private final FrameRecorder recorder;
+    private final HeatmapAccumulator heatmaps;
+    private final FrameTimings timings = new FrameTimings();
+    private final TimingExporter timingExporter;
+    private final Server server;
+    private final Retention retention;
 
-    public App(final GeneGLConfig config) throws IOException {
+    public App(final GeneGLConfig config, final StartupTimeline startup) throws IOException {
 
-        final CustomUniverse myUniverse = new CustomUniverse(config.ecosystem.configuration);
         final Simulation jsonEcosystem = config.simulation;
+        final SpatialCoordinates dimensionsSpace = EcosystemFactory.dimensions(config);
 
-        final SpatialCoordinates dimensionsSpace = new SpatialCoordinates(jsonEcosystem.width,
-                jsonEcosystem.height, 1);
-
-        ecosystem = new MultiEpochEcosystem(myUniverse,
-                MultiEpochConfiguration.builder()
-                        .ticksPerDay(jsonEcosystem.ticksPerDay)
-                        .size(dimensionsSpace)
-                        .maxDays(jsonEcosystem.maxDays)
-                        .tickDelayMs(jsonEcosystem.tickDelayMs)
-                        .name(jsonEcosystem.name)
-                        .epochs(jsonEcosystem.epochs)
-                        .reusePopulation(jsonEcosystem.reusePopulationSize)
-                        .initialPopulation(jsonEcosystem.initialPopulationSize)
-                        .build());
-        viewPort = new ViewPort(dimensionsSpace);
+        this.startup = startup;
+        ecosystem = CompletableFuture.supplyAsync(() -> {
+            long began = startup.begin();
+            final MultiEpochEcosystem built = EcosystemFactory.create(config);
+            startup.end("ecosystem build", began);
+            began = startup.begin();
+            built.initialize(() -> null);
+            startup.end("ecosystem initialize", began);
+            return built;
+        }, runnable -> {
+            // not a daemon: simulation threads started by initialize inherit that, as they did from main
+            new Thread(runnable, "genegl-ecosystem-init").start();
+        });
+        final Render render = null != config.render ? config.render : new Render();
+        if (Boolean.TRUE.equals(render.headless)) {
+            System.setProperty("java.awt.headless", "true");
+            viewPort = null;
+            headlessViewer = new HeadlessViewer(dimensionsSpace, render);
+            headlessViewer.setTimings(timings);
+        } else {
+            // GLFW wants the main thread, so the window is what overlaps with the ecosystem
+            viewPort = new ViewPort(dimensionsSpace, render, startup);
+            viewPort.setTimings(timings);
+            headlessViewer = null;
+        }
+        dimensions = dimensionsSpace;
+
+        final Recording recording = config.recording;
+        if (null != recording && Boolean.TRUE.equals(recording.enabled)) {
+            final Path dir = Path.of(recording.path);
+            Files.createDirectories(dir);
+            final Path archive = dir.resolve(jsonEcosystem.name + "-" + System.currentTimeMillis()
+                    + FrameArchive.EXTENSION);
+            recorder = new FrameRecorder(archive, dimensionsSpace, recording.keyframeInterval);
+            System.out.println("Recording to " + archive);
+        } else {
+            recorder = null;
+        }
+
+        final Heatmap heatmap = config.heatmap;
+        if (null != heatmap && Boolean.TRUE.equals(heatmap.enabled)) {
+            final Path dir = null != heatmap.path && !heatmap.path.isBlank() ? Path.of(heatmap.path) : null;
+            heatmaps = new HeatmapAccumulator(new Heatmaps(dimensionsSpace), dimensionsSpace, dir, jsonEcosystem.name);
+            if (null != viewPort) {
+                viewPort.setHeatmaps(heatmaps.heatmaps());
+            }
+            if (null != dir) {
+                System.out.println("Heatmaps to " + dir);
+            }
+        } else {
+            heatmaps = null;
+        }
+
+        // Frame timings go next to the simulation's own metadata export
+        final Object exportPath = config.ecosystem.configuration.get("metadata.export.path");
+        final boolean export = !Boolean.FALSE.equals(config.ecosystem.configuration.get("metadata.export"));
+        if (export && null != exportPath && null != render.timingExportSeconds && render.timingExportSeconds > 0) {
+            timingExporter = new TimingExporter(timings, Path.of(exportPath.toString()), render.timingExportSeconds);
+        } else {
+            timingExporter = null;
+        }
+
+        server = config.server;
+        retention = config.retention;
     }
 
     public void simulate(){
-        ecosystem.initialize(()-> null);
+        final long waiting = startup.begin();
+        final MultiEpochEcosystem ecosystem = awaitEcosystem();
+        startup.end("wait for ecosystem", waiting);
+
+        final FramePublisher publisher = new FramePublisher(ecosystem.getEpochs(), frames, dimensions);
+        publisher.setTimings(timings);
+        if (null != viewPort) {
+            publisher.setRetainedEpochs(viewPort.retainedEpochs());
+        }
+        if (null != recorder) {
+            publisher.addListener(recorder);
+        }
+        if (null != heatmaps) {
+            publisher.addListener(heatmaps);
+        }
+        LiveViewStream liveView = null;
+        if (isEnabled(server) && !Boolean.FALSE.equals(server.liveView)) {
+            liveView = new LiveViewStream(dimensions, server.maxViewers);
+            publisher.addListener(liveView);
+        }
+        publisher.start();
+        EpochRetention epochs = null;
+        if (null != retention && Boolean.TRUE.equals(retention.enabled)) {
+            try {
+                epochs = new EpochRetention(ecosystem.getEpochs(), dimensions, retention);
+            } catch (final IOException e) {
+                System.err.println("[Retention] Cannot open spill file in " + retention.path + ": " + e.getMessage());
+            }
+        }
+        MetricsPublisher metrics = null;
+        MetricsServer metricsServer = null;
+        try {
+            if (isEnabled(server)) {
+                metrics = new MetricsPublisher("simulation", publisher.stats(), timings, ecosystem.getEpochs(),
+                        null, server.publishIntervalMs);
+                metrics.setRetention(epochs);
+                metricsServer = new MetricsServer(server, metrics, liveView, epochs);
+            }
+            if (null != viewPort) {
+                viewPort.runEventLoop(frames);
+            } else {
+                headlessViewer.runEventLoop(frames);
+            }
+        } finally {
+            if (null != metricsServer) {
+                metricsServer.close();
+            }
+            if (null != metrics) {
+                metrics.stop();
+            }
+            publisher.stop();
+            if (null != epochs) {
+                epochs.close();
+            }
+            if (null != timingExporter) {
+                timingExporter.stop();
+            }
+        }
+    }
 
-        viewPort.runEventLoop(ecosystem.getEpochs());
+    private MultiEpochEcosystem awaitEcosystem() {
+        try {
+            return ecosystem.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Plays a recorded archive through the regular viewers; no simulation is built.
+     */
+    public static void replay(final Path archive, final Render render, final Server server,
+                              final StartupTimeline startup) throws IOException {
+        try (ArchiveReader reader = new ArchiveReader(archive)) {
+            System.out.printf("Replaying %s: %,d frames, %,d keyframes%n", archive, reader.frames(), reader.keyframes());
+            final SpatialCoordinates dimensions = new SpatialCoordinates(reader.width(), reader.height(), 1);
+            final FrameExchange frames = new FrameExchange();
+            final ReplayPlayer player = new ReplayPlayer(reader, frames);
+            final FrameTimings timings = new FrameTimings();
+            player.start();
+            MetricsPublisher metrics = null;
+            MetricsServer metricsServer = null;
+            try {
+                if (isEnabled(server)) {
+                    metrics = new MetricsPublisher("replay", player.stats(), timings, null, player,
+                            server.publishIntervalMs);
+                    metricsServer = new MetricsServer(server, metrics, null, null);
+                }
+                if (Boolean.TRUE.equals(render.headless)) {
+                    System.setProperty("java.awt.headless", "true");
+                    final HeadlessViewer viewer = new HeadlessViewer(dimensions, render);
+                    viewer.setTimings(timings);
+                    viewer.runEventLoop(frames);
+                } else {
+                    final ViewPort viewPort = new ViewPort(dimensions, render, startup);
+                    viewPort.setTimings(timings);
+                    viewPort.setPlayback(player);
+                    viewPort.runEventLoop(frames);
+                }
+            } finally {
+                if (null != metricsServer) {
+                    metricsServer.close();
+                }
+                if (null != metrics) {
+                    metrics.stop();
+                }
+                player.stop();
+            }
+        }
     }
 
     public static void main(final String[] args) {
+        final StartupTimeline startup = new StartupTimeline();
 
-        if (1 != args.length) {
+        final boolean replay = args.length >= 2 && "--replay".equals(args[0]);
+        final boolean sweep = args.length == 2 && "--sweep".equals(args[0]);
+        if (replay ? args.length > 3 : !sweep && 1 != args.length) {
             System.err.println("Usage: GeneGL <file>");
+            System.err.println("       GeneGL --replay <archive> [file]");
+            System.err.println("       GeneGL --sweep <sweep-file>");
             return;
         }
 
@@ -71,25 +270,26 @@ public class App {
         final ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE);
 
-        System.out.println(args[0]);
-
         try {
-            System.out.println("Loading configuration ....");
-            GeneGLConfig config;
-            File configFile = new File(args[0]);
-            if (configFile.exists()) {
-                config = objectMapper.readValue(configFile, GeneGLConfig.class);
-            } else {
-                // Try classpath fallback
-                try (InputStream resourceStream = App.class.getResourceAsStream("/" + args[0])) {
-                    if (resourceStream == null) {
-                        throw new IOException("Configuration file not found on filesystem or classpath: " + args[0]);
-                    }
-                    config = objectMapper.readValue(resourceStream, GeneGLConfig.class);
-                }
+            if (replay) {
+                // Only the render and server sections of an optional configuration apply to a replay
+                final GeneGLConfig config = 3 == args.length ? loadConfig(objectMapper, args[2]) : new GeneGLConfig();
+                replay(Path.of(args[1]), null != config.render ? config.render : new Render(), config.server, startup);
+                return;
             }
+            if (sweep) {
+                System.setProperty("java.awt.headless", "true");
+                final Sweep spec = load(objectMapper, args[1], Sweep.class);
+                new SweepRunner(spec, loadConfig(objectMapper, spec.base), objectMapper).run();
+                return;
+            }
+
+            System.out.println(args[0]);
+            final long loading = startup.begin();
+            final GeneGLConfig config = loadConfig(objectMapper, args[0]);
+            startup.end("configuration", loading);
             System.out.println("Loading App ....");
-            final App app = new App(config);
+            final App app = new App(config, startup);
             System.out.println("Running ....");
             app.simulate();
 
@@ -99,4 +299,27 @@ public class App {
 
 
     }
+
+    private static boolean isEnabled(final Server server) {
+        return null != server && Boolean.TRUE.equals(server.enabled);
+    }
+
+    private static GeneGLConfig loadConfig(final ObjectMapper objectMapper, final String name) throws IOException {
+        System.out.println("Loading configuration ....");
+        return load(objectMapper, name, GeneGLConfig.class);
+    }
+
+    private static <T> T load(final ObjectMapper objectMapper, final String name, final Class<T> type) throws IOException {
+        File configFile = new File(name);
+        if (configFile.exists()) {
+            return objectMapper.readValue(configFile, type);
+        }
+        // Try classpath fallback
+        try (InputStream resourceStream = App.class.getResourceAsStream("/" + name)) {
+            if (resourceStream == null) {
+                throw new IOException("Configuration file not found on filesystem or classpath: " + name);
+            }
+            return objectMapper.readValue(resourceStream, type);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package net.lukemcomber.genegl;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.model.GeneGLConfig;
+import net.lukemcomber.genegl.model.Simulation;
+import net.lukemcomber.genetics.MultiEpochEcosystem;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import net.lukemcomber.genetics.model.ecosystem.impl.MultiEpochConfiguration;
+import net.lukemcomber.genetics.universes.CustomUniverse;
+
+/**
+ * Builds the simulation described by a configuration file. Shared by the viewer and the
+ * headless sweep runner so both run exactly the same setup.
+ */
+public final class EcosystemFactory {
+
+    private EcosystemFactory() {
+    }
+
+    public static SpatialCoordinates dimensions(final GeneGLConfig config) {
+        return new SpatialCoordinates(config.simulation.width, config.simulation.height, 1);
+    }
+
+    public static MultiEpochEcosystem create(final GeneGLConfig config) {
+        final CustomUniverse myUniverse = new CustomUniverse(config.ecosystem.configuration);
+        final Simulation jsonEcosystem = config.simulation;
+
+        return new MultiEpochEcosystem(myUniverse,
+                MultiEpochConfiguration.builder()
+                        .ticksPerDay(jsonEcosystem.ticksPerDay)
+                        .size(dimensions(config))
+                        .maxDays(jsonEcosystem.maxDays)
+                        .tickDelayMs(jsonEcosystem.tickDelayMs)
+                        .name(jsonEcosystem.name)
+                        .epochs(jsonEcosystem.epochs)
+                        .reusePopulation(jsonEcosystem.reusePopulationSize)
+                        .initialPopulation(jsonEcosystem.initialPopulationSize)
+                        .build());
+    }
+}
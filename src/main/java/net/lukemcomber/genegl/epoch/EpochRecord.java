@@ -0,0 +1,56 @@
+package net.lukemcomber.genegl.epoch;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * One epoch as the {@link EpochRetention} knows it: not spilled yet, or spilled to the
+ * {@link EpochStore} with where its bytes are. Never modified once created.
+ */
+@JsonNaming(PropertyNamingStrategies.KebabCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class EpochRecord {
+
+    public static final String LIVE = "live";
+    public static final String SPILLED = "spilled";
+
+    // Order the epoch was started in, from 0
+    public final int index;
+    public final String name;
+    public final String state;
+    public final long totalTicks;
+    public final long totalDays;
+    // Only known once spilled
+    public final Integer organisms;
+    public final Integer cells;
+    public final Long rawBytes;
+    public final Long storedBytes;
+
+    // position in the spill file
+    final long offset;
+
+    EpochRecord(final int index, final String name, final long totalTicks, final long totalDays) {
+        this(index, name, LIVE, totalTicks, totalDays, null, null, null, null, -1);
+    }
+
+    EpochRecord(final int index, final String name, final String state, final long totalTicks,
+                final long totalDays, final Integer organisms, final Integer cells, final Long rawBytes,
+                final Long storedBytes, final long offset) {
+        this.index = index;
+        this.name = name;
+        this.state = state;
+        this.totalTicks = totalTicks;
+        this.totalDays = totalDays;
+        this.organisms = organisms;
+        this.cells = cells;
+        this.rawBytes = rawBytes;
+        this.storedBytes = storedBytes;
+        this.offset = offset;
+    }
+}
@@ -0,0 +1,202 @@
+package net.lukemcomber.genegl.epoch;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.EcosystemCapture;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.model.Retention;
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import net.lukemcomber.genetics.model.TemporalCoordinates;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the epochs GeneGL keeps reaching into. On its own daemon thread it numbers every epoch
+ * as it appears in the simulation's list and keeps the newest {@code keep-epochs} in a list of
+ * its own; the oldest finished one beyond that is captured into a frame, appended to the
+ * {@link EpochStore} and let go. A spilled epoch is only read back when someone asks for it
+ * through {@link #frame(int)}.
+ * <p>
+ * The simulation's list belongs to the genetics library and is only read here, so a spilled
+ * {@link Ecosystem} is freed only once the library drops it too. The running epoch, always the
+ * last in the list, is never spilled.
+ */
+public class EpochRetention implements AutoCloseable {
+
+    // owned by the library, read only
+    private final ConcurrentLinkedDeque<Ecosystem> epochs;
+    private final SpatialCoordinates dimensions;
+    private final EpochStore store;
+    private final int keep;
+    private final ScheduledExecutorService executor;
+
+    // epochs not spilled yet, oldest first, the running one last; changed only under this
+    private final ConcurrentLinkedDeque<Ecosystem> live = new ConcurrentLinkedDeque<>();
+    // guarded by this
+    private final EcosystemCapture capture;
+    private final FrameSnapshot scratch = new FrameSnapshot();
+
+    private final List<EpochRecord> spilled = new CopyOnWriteArrayList<>();
+    private volatile int seen = 0;
+    private volatile long spilledBytes = 0;
+    private volatile long spilledRawBytes = 0;
+
+    public EpochRetention(final ConcurrentLinkedDeque<Ecosystem> epochs, final SpatialCoordinates dimensions,
+                          final Retention config) throws IOException {
+        this.epochs = epochs;
+        this.dimensions = dimensions;
+        this.keep = Math.max(1, config.keepEpochs);
+        this.capture = new EcosystemCapture(dimensions);
+        this.store = new EpochStore(Path.of(config.path, "epochs-" + System.currentTimeMillis() + ".spill"),
+                dimensions, config.blockKb * 1024, config.compressionLevel);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "genegl-epoch-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(50, config.checkIntervalMs);
+        executor.scheduleWithFixedDelay(this::check, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Numbers new epochs and spills the oldest finished ones until at most {@code keep} are left.
+     * Runs on the retention thread; public for benchmarks that drive it themselves.
+     */
+    public synchronized void check() {
+        try {
+            // epochs started since the last check are the ones after the newest one known
+            final Ecosystem newest = live.peekLast();
+            final List<Ecosystem> started = new ArrayList<>();
+            for (final Iterator<Ecosystem> it = epochs.descendingIterator(); it.hasNext(); ) {
+                final Ecosystem ecosystem = it.next();
+                if (ecosystem == newest) {
+                    break;
+                }
+                started.add(ecosystem);
+            }
+            for (int i = started.size() - 1; i >= 0; i--) {
+                live.addLast(started.get(i));
+                seen = seen + 1;
+            }
+            while (live.size() > keep) {
+                final Ecosystem oldest = live.peekFirst();
+                if (null == oldest || oldest == live.peekLast()) {
+                    break;
+                }
+                // a finished epoch does not change any more, a torn capture is a real error
+                if (!capture.capture(oldest, scratch)) {
+                    System.err.println("[Retention] Could not capture epoch " + oldest.getName() + ", keeping it");
+                    break;
+                }
+                final EpochRecord record = store.append(seen - live.size(), scratch, capture.organisms());
+                spilled.add(record);
+                spilledBytes += record.storedBytes;
+                spilledRawBytes += record.rawBytes;
+                live.removeFirst();
+                System.out.printf("[Retention] Spilled epoch %d (%s): %,d cells, %,d -> %,d bytes%n",
+                        record.index, record.name, record.cells, record.rawBytes, record.storedBytes);
+            }
+        } catch (final IOException | RuntimeException e) {
+            // try again on the next check
+            System.err.println("[Retention] Failed to spill epoch: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Every epoch seen so far in start order: the spilled ones, then those not spilled yet.
+     */
+    public synchronized List<EpochRecord> records() {
+        final List<EpochRecord> records = new ArrayList<>(spilled);
+        int index = seen - live.size();
+        for (final Ecosystem ecosystem : live) {
+            final TemporalCoordinates time = ecosystem.getTime();
+            records.add(new EpochRecord(index++, ecosystem.getName(), time.totalTicks(), time.totalDays()));
+        }
+        return records;
+    }
+
+    /**
+     * The final frame of a finished epoch, read back from disk if it was spilled. Null for the
+     * running epoch and for indices never seen. Holds off spilling while it runs.
+     */
+    public synchronized FrameSnapshot frame(final int index) throws IOException {
+        for (final EpochRecord record : spilled) {
+            if (record.index == index) {
+                return store.load(record);
+            }
+        }
+        final Ecosystem[] kept = live.toArray(new Ecosystem[0]);
+        final int offset = index - (seen - kept.length);
+        if (offset < 0 || offset >= kept.length - 1) {
+            return null;
+        }
+        // a finished epoch not spilled yet
+        final FrameSnapshot frame = new FrameSnapshot();
+        return capture.capture(kept[offset], frame) ? frame : null;
+    }
+
+    public SpatialCoordinates dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Epochs started so far; the running one is {@code epochsSeen() - 1}.
+     */
+    public int epochsSeen() {
+        return seen;
+    }
+
+    /**
+     * Epochs not spilled yet, the running one included.
+     */
+    public int liveEpochs() {
+        return live.size();
+    }
+
+    public int spilledEpochs() {
+        return spilled.size();
+    }
+
+    /**
+     * Bytes of the spill file.
+     */
+    public long spilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * What the spilled epochs take serialized but not compressed.
+     */
+    public long spilledRawBytes() {
+        return spilledRawBytes;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        synchronized (this) {
+            if (!spilled.isEmpty()) {
+                System.out.printf("[Retention] %d epochs spilled, %,d bytes on disk (%,d serialized), %d not spilled%n",
+                        spilled.size(), spilledBytes, spilledRawBytes, live.size());
+            }
+            try {
+                store.close();
+            } catch (final IOException e) {
+                System.err.println("[Retention] Failed to remove " + store.file() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package net.lukemcomber.genegl.epoch;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only spill file for the final frames of finished epochs. A frame is written with Kryo
+ * through the {@link FrameSerializer} and the result is deflated in independent blocks:
+ * <pre>
+ * epoch: u32 raw length, u32 blocks, blocks * (u32 stored length, u32 raw length, stored bytes)
+ * </pre>
+ * Only the offsets stay in memory, in the returned {@link EpochRecord}s. Appends and loads are
+ * serialized on the store; the file is deleted on {@link #close()}.
+ */
+public class EpochStore implements AutoCloseable {
+
+    private static final int BLOCK_HEADER_BYTES = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int blockBytes;
+    private final Kryo kryo = new Kryo();
+    private final Output output = new Output(1 << 16, -1);
+    private final Deflater deflater;
+    private final Inflater inflater = new Inflater();
+    private ByteBuffer record = ByteBuffer.allocate(0);
+    private long end = 0;
+
+    public EpochStore(final Path file, final SpatialCoordinates dimensions, final int blockBytes,
+                      final int level) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.blockBytes = Math.max(4096, blockBytes);
+        this.deflater = new Deflater(Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, level)));
+        kryo.register(FrameSnapshot.class, new FrameSerializer(dimensions));
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Writes the frame behind everything spilled so far. The frame can be reused afterwards.
+     */
+    public synchronized EpochRecord append(final int index, final FrameSnapshot frame, final int organisms)
+            throws IOException {
+        output.reset();
+        kryo.writeObject(output, frame);
+        final byte[] raw = output.getBuffer();
+        final int rawLength = output.position();
+        final int blocks = (rawLength + blockBytes - 1) / blockBytes;
+
+        // deflate never grows a block by more than a few bytes per 16 KiB
+        final int bound = 8 + blocks * (BLOCK_HEADER_BYTES + blockBytes + (blockBytes >>> 4) + 64);
+        if (record.capacity() < bound) {
+            record = ByteBuffer.allocate(bound);
+        }
+        record.clear();
+        record.putInt(rawLength).putInt(blocks);
+        for (int offset = 0; offset < rawLength; offset += blockBytes) {
+            final int length = Math.min(blockBytes, rawLength - offset);
+            final int header = record.position();
+            record.position(header + BLOCK_HEADER_BYTES);
+            deflater.reset();
+            deflater.setInput(raw, offset, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflater.deflate(record);
+            }
+            record.putInt(header, record.position() - header - BLOCK_HEADER_BYTES);
+            record.putInt(header + 4, length);
+        }
+        record.flip();
+
+        final long offset = end;
+        final int stored = record.remaining();
+        while (record.hasRemaining()) {
+            end += channel.write(record, end);
+        }
+        return new EpochRecord(index, frame.name(), EpochRecord.SPILLED, frame.totalTicks(), frame.totalDays(),
+                organisms, frame.count(), (long) rawLength, (long) stored, offset);
+    }
+
+    /**
+     * Reads a spilled epoch back into a new frame.
+     */
+    public synchronized FrameSnapshot load(final EpochRecord spilled) throws IOException {
+        final ByteBuffer stored = ByteBuffer.allocate(Math.toIntExact(spilled.storedBytes));
+        long position = spilled.offset;
+        while (stored.hasRemaining()) {
+            final int read = channel.read(stored, position);
+            if (read < 0) {
+                throw new EOFException("Spill file ends inside epoch " + spilled.index);
+            }
+            position += read;
+        }
+        stored.flip();
+        final byte[] raw = new byte[stored.getInt()];
+        final int blocks = stored.getInt();
+        int offset = 0;
+        try {
+            for (int b = 0; b < blocks; b++) {
+                final int storedLength = stored.getInt();
+                final int rawLength = stored.getInt();
+                inflater.reset();
+                inflater.setInput(stored.array(), stored.position(), storedLength);
+                int inflated = 0;
+                while (inflated < rawLength && !inflater.finished()) {
+                    inflated += inflater.inflate(raw, offset + inflated, rawLength - inflated);
+                }
+                stored.position(stored.position() + storedLength);
+                offset += rawLength;
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupt block in epoch " + spilled.index, e);
+        }
+        return kryo.readObject(new Input(raw, 0, offset), FrameSnapshot.class);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        deflater.end();
+        inflater.end();
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,72 @@
+package net.lukemcomber.genegl.epoch;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.Serializer;
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.util.Arrays;
+
+/**
+ * Kryo serializer for a {@link FrameSnapshot} of a world of known size: the counters and name,
+ * then the cells in world index order as varint gaps plus a type byte. The gaps are small and
+ * repeat, which is what a deflater is good at. Keeps a sort scratch, so one per {@link Kryo}.
+ */
+public class FrameSerializer extends Serializer<FrameSnapshot> {
+
+    private final int width;
+    private long[] keys = new long[0];
+
+    public FrameSerializer(final SpatialCoordinates dimensions) {
+        this.width = dimensions.xAxis();
+    }
+
+    @Override
+    public void write(final Kryo kryo, final Output output, final FrameSnapshot frame) {
+        output.writeString(frame.name());
+        output.writeVarLong(frame.totalTicks(), true);
+        output.writeVarLong(frame.totalDays(), true);
+        output.writeVarLong(frame.currentTick(), true);
+        final int count = frame.count();
+        if (keys.length < count) {
+            keys = new long[count];
+        }
+        for (int i = 0; i < count; i++) {
+            final int cell = frame.cell(i);
+            final long index = (long) FrameSnapshot.y(cell) * width + FrameSnapshot.x(cell);
+            keys[i] = index << 8 | (frame.type(i) & 0xFF);
+        }
+        Arrays.sort(keys, 0, count);
+        output.writeVarInt(count, true);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            final long index = keys[i] >>> 8;
+            output.writeVarInt((int) (index - previous), true);
+            output.writeByte((byte) keys[i]);
+            previous = index;
+        }
+    }
+
+    @Override
+    public FrameSnapshot read(final Kryo kryo, final Input input, final Class<? extends FrameSnapshot> type) {
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin(input.readString(), input.readVarLong(true), input.readVarLong(true),
+                input.readVarLong(true));
+        final int count = input.readVarInt(true);
+        frame.ensureCapacity(count);
+        long index = 0;
+        for (int i = 0; i < count; i++) {
+            index += input.readVarInt(true);
+            frame.add((int) (index % width), (int) (index / width), CellType.of(input.readByte()));
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,76 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genetics.biology.Cell;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+/**
+ * Gathers cells straight into a {@link FrameSnapshot}, deduplicating by world position with
+ * an occupancy bitset instead of hashing {@link Cell} objects; cells outside the world are
+ * dropped. Once the frame arrays have grown to the population size, collecting a frame
+ * allocates nothing.
+ */
+public class CellCollector {
+
+    private final int width;
+    private final int height;
+    private final long[] occupied;
+
+    private FrameSnapshot frame;
+
+    public CellCollector(final SpatialCoordinates dimensions) {
+        this.width = dimensions.xAxis();
+        this.height = dimensions.yAxis();
+        this.occupied = new long[(int) (((long) width * height + 63) >>> 6)];
+    }
+
+    public void begin(final FrameSnapshot frame) {
+        this.frame = frame;
+    }
+
+    public void add(final Cell cell) {
+        final int x = cell.getCoordinates().xAxis();
+        final int y = cell.getCoordinates().yAxis();
+        // outside the world nothing can draw or index it, and it could not be deduplicated
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        final int index = y * width + x;
+        final long bit = 1L << index;
+        final int word = index >>> 6;
+        if ((occupied[word] & bit) != 0) {
+            return;
+        }
+        occupied[word] |= bit;
+        frame.add(x, y, CellType.of(cell));
+    }
+
+    public void addAll(final Iterable<Cell> cells) {
+        for (final Cell cell : cells) {
+            add(cell);
+        }
+    }
+
+    /**
+     * Clears only the bits this frame set, so the cost is O(cells) rather than O(world).
+     */
+    public void end() {
+        if (null == frame) {
+            return;
+        }
+        for (int i = 0; i < frame.count(); i++) {
+            final int cell = frame.cell(i);
+            final int x = FrameSnapshot.x(cell);
+            final int y = FrameSnapshot.y(cell);
+            if (x < width && y < height) {
+                final int index = y * width + x;
+                occupied[index >>> 6] &= ~(1L << index);
+            }
+        }
+        frame = null;
+    }
+}
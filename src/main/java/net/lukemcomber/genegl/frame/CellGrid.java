@@ -0,0 +1,192 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.util.Arrays;
+
+/**
+ * One byte per world cell: 0 for empty, {@link CellType} ordinal + 1 otherwise. Applying a
+ * frame costs O(cells in this frame + cells in the previous one) and marks every row whose
+ * bytes actually changed, so consumers only need to touch dirty rows.
+ */
+public class CellGrid {
+
+    public static final byte EMPTY = 0;
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+    private final int[] stamps;
+    private final long[] dirtyRows;
+
+    private int generation = 0;
+
+    // world indices occupied after the last apply, and scratch for the next one
+    private int[] live = new int[0];
+    private int liveCount = 0;
+    private int[] next = new int[0];
+
+    public CellGrid(final SpatialCoordinates dimensions) {
+        this(dimensions.xAxis(), dimensions.yAxis());
+    }
+
+    public CellGrid(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        this.stamps = new int[width * height];
+        this.dirtyRows = new long[(height + 63) >>> 6];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Backing row-major array; read-only for callers.
+     */
+    public byte[] cells() {
+        return cells;
+    }
+
+    public byte get(final int x, final int y) {
+        return cells[y * width + x];
+    }
+
+    public int occupied() {
+        return liveCount;
+    }
+
+    /**
+     * World index of the i-th occupied cell, in no particular order.
+     */
+    public int occupiedCell(final int i) {
+        return live[i];
+    }
+
+    public void apply(final FrameSnapshot frame) {
+        apply(frame, null);
+    }
+
+    /**
+     * Applies the frame and, when {@code delta} is given, records births, type changes and
+     * deaths relative to the previous apply.
+     */
+    public void apply(final FrameSnapshot frame, final FrameDelta delta) {
+        if (null != delta) {
+            delta.clear();
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+        final int count = frame.count();
+        if (next.length < count) {
+            next = new int[Math.max(count, next.length * 2)];
+        }
+
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            final int cell = frame.cell(i);
+            final int x = FrameSnapshot.x(cell);
+            final int y = FrameSnapshot.y(cell);
+            if (x >= width || y >= height) {
+                continue;
+            }
+            final int index = y * width + x;
+            if (stamps[index] == generation) {
+                continue;
+            }
+            stamps[index] = generation;
+            final byte value = (byte) (frame.type(i) + 1);
+            final byte previous = cells[index];
+            if (previous != value) {
+                cells[index] = value;
+                markDirty(y);
+                if (null != delta) {
+                    if (EMPTY == previous) {
+                        delta.birth(index, frame.type(i));
+                    } else {
+                        delta.change(index, frame.type(i));
+                    }
+                }
+            }
+            next[n++] = index;
+        }
+
+        for (int i = 0; i < liveCount; i++) {
+            final int index = live[i];
+            if (stamps[index] != generation) {
+                if (null != delta) {
+                    delta.death(index, (byte) (cells[index] - 1));
+                }
+                cells[index] = EMPTY;
+                markDirty(index / width);
+            }
+        }
+
+        final int[] swap = live;
+        live = next;
+        next = swap;
+        liveCount = n;
+    }
+
+    public boolean isDirty(final int row) {
+        return (dirtyRows[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * First dirty row at or after {@code from}, or -1.
+     */
+    public int nextDirtyRow(final int from) {
+        if (from >= height) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long bits = dirtyRows[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                final int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return row < height ? row : -1;
+            }
+            if (++word == dirtyRows.length) {
+                return -1;
+            }
+            bits = dirtyRows[word];
+        }
+    }
+
+    /**
+     * First clean row at or after {@code from}, or {@code height}.
+     */
+    public int nextCleanRow(final int from) {
+        int row = from;
+        while (row < height && isDirty(row)) {
+            row++;
+        }
+        return row;
+    }
+
+    public void markAllDirty() {
+        for (int row = 0; row < height; row++) {
+            markDirty(row);
+        }
+    }
+
+    public void clearDirty() {
+        Arrays.fill(dirtyRows, 0L);
+    }
+
+    private void markDirty(final int row) {
+        dirtyRows[row >>> 6] |= 1L << row;
+    }
+}
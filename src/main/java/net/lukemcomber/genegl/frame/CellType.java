@@ -0,0 +1,61 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genetics.biology.Cell;
+import net.lukemcomber.genetics.biology.plant.cells.EjectedSeedCell;
+
+/**
+ * Render-side classification of a cell. The ordinal is what frames store per cell,
+ * the color is the one from the README color key, the label the organism inspector's.
+ */
+public enum CellType {
+
+    LEAF(0x14ff14, "leaf"),
+    STEM(0x32a852, "stem"),
+    SEED_INACTIVE(0xf00505, "seed (dormant)"),
+    SEED_ACTIVE(0xf0d005, "seed"),
+    ROOT(0x7d6029, "root"),
+    UNKNOWN(0xe6e6e6, "unknown");
+
+    private static final CellType[] VALUES = values();
+
+    public final int rgb;
+    public final String label;
+    public final float red;
+    public final float green;
+    public final float blue;
+
+    CellType(final int rgb, final String label) {
+        this.rgb = rgb;
+        this.label = label;
+        this.red = ((rgb >> 16) & 0xFF) / 255f;
+        this.green = ((rgb >> 8) & 0xFF) / 255f;
+        this.blue = (rgb & 0xFF) / 255f;
+    }
+
+    public static CellType of(final Cell cell) {
+        switch (cell.getCellType()) {
+            case "leaf": return LEAF;
+            case "stem": return STEM;
+            case "seed":
+                if (cell instanceof EjectedSeedCell && !((EjectedSeedCell) cell).isActivated()) {
+                    return SEED_INACTIVE;
+                }
+                return SEED_ACTIVE;
+            case "root": return ROOT;
+            default: return UNKNOWN;
+        }
+    }
+
+    public static CellType of(final byte ordinal) {
+        return VALUES[ordinal];
+    }
+
+    public static int count() {
+        return VALUES.length;
+    }
+}
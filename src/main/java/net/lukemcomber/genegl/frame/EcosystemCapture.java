@@ -0,0 +1,85 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.biology.Organism;
+import net.lukemcomber.genetics.io.CellHelper;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import net.lukemcomber.genetics.model.TemporalCoordinates;
+
+import java.util.Iterator;
+
+/**
+ * Walks the organisms of an ecosystem into a {@link FrameSnapshot}. The simulation keeps
+ * mutating while we walk it, so a single organism is retried a few times; if it still cannot
+ * be walked, or the organism iterator itself gives up, the capture fails as a whole and the
+ * frame must not be used.
+ * Not thread safe, one capture at a time.
+ */
+public class EcosystemCapture {
+
+    public static final int MAX_ORGANISM_RETRIES = 3;
+
+    private final CellCollector collector;
+    private int organisms = 0;
+
+    public EcosystemCapture(final SpatialCoordinates dimensions) {
+        this.collector = new CellCollector(dimensions);
+    }
+
+    /**
+     * Refills the frame from the ecosystem; false when it was torn and has to be captured again.
+     */
+    public boolean capture(final Ecosystem ecosystem, final FrameSnapshot frame) {
+        return capture(ecosystem, frame, false);
+    }
+
+    /**
+     * @param owners also record which organism each cell belongs to, for picking in the viewer;
+     *               the frame then references the organisms until it is refilled
+     */
+    public boolean capture(final Ecosystem ecosystem, final FrameSnapshot frame, final boolean owners) {
+        final TemporalCoordinates time = ecosystem.getTime();
+        frame.begin(ecosystem.getName(), time.totalTicks(), time.totalDays(), time.currentTick());
+        collector.begin(frame);
+        organisms = 0;
+        try {
+            final Iterator<Organism> iter = ecosystem.getTerrain().getOrganisms();
+            while (iter.hasNext()) {
+                final Organism organism = iter.next();
+                organisms++;
+                if (owners) frame.beginOrganism(organism);
+                boolean walked = false;
+                for (int attempt = 0; attempt <= MAX_ORGANISM_RETRIES && !walked; attempt++) {
+                    try {
+                        // cells already collected on a failed attempt are deduplicated by the collector
+                        collector.addAll(CellHelper.getAllOrganismsCells(organism.getFirstCell()));
+                        walked = true;
+                    } catch (final RuntimeException e) {
+                        // torn organism, walk it again
+                    }
+                }
+                if (!walked) {
+                    // missing or half an organism: a torn frame, not one to publish
+                    return false;
+                }
+            }
+        } catch (final RuntimeException e) {
+            return false;
+        } finally {
+            collector.end();
+        }
+        return true;
+    }
+
+    /**
+     * Organisms walked by the last capture.
+     */
+    public int organisms() {
+        return organisms;
+    }
+}
@@ -0,0 +1,104 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.util.Arrays;
+
+/**
+ * Changes between two consecutive applies of a {@link CellGrid}, as world indices
+ * (y * width + x). Births and type changes carry the new {@link CellType} ordinal.
+ * The arrays are reused from one apply to the next.
+ */
+public class FrameDelta {
+
+    private int births = 0;
+    private int[] birthCells = new int[256];
+    private byte[] birthTypes = new byte[256];
+
+    private int changes = 0;
+    private int[] changeCells = new int[256];
+    private byte[] changeTypes = new byte[256];
+
+    private int deaths = 0;
+    private int[] deathCells = new int[256];
+    private byte[] deathTypes = new byte[256];
+
+    public int births() {
+        return births;
+    }
+
+    public int birthCell(final int i) {
+        return birthCells[i];
+    }
+
+    public byte birthType(final int i) {
+        return birthTypes[i];
+    }
+
+    public int changes() {
+        return changes;
+    }
+
+    public int changeCell(final int i) {
+        return changeCells[i];
+    }
+
+    public byte changeType(final int i) {
+        return changeTypes[i];
+    }
+
+    public int deaths() {
+        return deaths;
+    }
+
+    public int deathCell(final int i) {
+        return deathCells[i];
+    }
+
+    /**
+     * Type ordinal the cell had before it died.
+     */
+    public byte deathType(final int i) {
+        return deathTypes[i];
+    }
+
+    public boolean isEmpty() {
+        return 0 == births && 0 == changes && 0 == deaths;
+    }
+
+    void clear() {
+        births = 0;
+        changes = 0;
+        deaths = 0;
+    }
+
+    void birth(final int cell, final byte type) {
+        if (births == birthCells.length) {
+            birthCells = Arrays.copyOf(birthCells, births * 2);
+            birthTypes = Arrays.copyOf(birthTypes, births * 2);
+        }
+        birthCells[births] = cell;
+        birthTypes[births++] = type;
+    }
+
+    void change(final int cell, final byte type) {
+        if (changes == changeCells.length) {
+            changeCells = Arrays.copyOf(changeCells, changes * 2);
+            changeTypes = Arrays.copyOf(changeTypes, changes * 2);
+        }
+        changeCells[changes] = cell;
+        changeTypes[changes++] = type;
+    }
+
+    void death(final int cell, final byte type) {
+        if (deaths == deathCells.length) {
+            deathCells = Arrays.copyOf(deathCells, deaths * 2);
+            deathTypes = Arrays.copyOf(deathTypes, deaths * 2);
+        }
+        deathCells[deaths] = cell;
+        deathTypes[deaths++] = type;
+    }
+}
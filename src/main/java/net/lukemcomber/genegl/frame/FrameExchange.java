@@ -0,0 +1,86 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer between one writer (the publisher) and one reader (the renderer).
+ * The writer fills its back frame and swaps it into the shared slot; the reader swaps the
+ * shared slot for its front frame only when a newer frame is waiting. Neither side ever
+ * sees a frame the other one is still touching.
+ */
+public class FrameExchange {
+
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final FrameSnapshot[] frames = {new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot()};
+
+    // low bits: index of the shared frame, FRESH: shared frame has not been read yet
+    private final AtomicInteger shared = new AtomicInteger(1);
+
+    // writer-owned
+    private int back = 0;
+    private long version = 0;
+
+    // reader-owned
+    private int front = 2;
+
+    // final frames of finished epochs, oldest first; replaced, never modified, once published
+    private volatile FrameSnapshot[] retired = new FrameSnapshot[0];
+
+    /**
+     * Writer side: the frame to fill for the next {@link #publish()}.
+     */
+    public FrameSnapshot back() {
+        return frames[back];
+    }
+
+    /**
+     * Writer side: hand the back frame over to the reader.
+     */
+    public void publish() {
+        frames[back].setVersion(++version);
+        back = shared.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Reader side: the newest complete frame. Returns the previously acquired frame when
+     * nothing new has been published; version 0 means nothing was published yet.
+     */
+    public FrameSnapshot acquire() {
+        if ((shared.get() & FRESH) != 0) {
+            front = shared.getAndSet(front) & INDEX_MASK;
+        }
+        return frames[front];
+    }
+
+    /**
+     * Writer side: keeps the final frame of a finished epoch for comparison views, dropping the
+     * oldest once more than {@code keep} are kept. The frame is not one of the exchange's own
+     * and must not be written to afterwards. Call before publishing the next epoch's first
+     * frame so a reader that sees that frame also sees the retired one.
+     */
+    public void retire(final FrameSnapshot frame, final int keep) {
+        if (keep <= 0) return;
+        frame.setVersion(version);
+        final FrameSnapshot[] current = retired;
+        final int kept = Math.min(current.length, keep - 1);
+        final FrameSnapshot[] next = new FrameSnapshot[kept + 1];
+        System.arraycopy(current, current.length - kept, next, 0, kept);
+        next[kept] = frame;
+        retired = next;
+    }
+
+    /**
+     * Reader side: the retired epoch frames, oldest first. A new array whenever an epoch is
+     * retired, so comparing references tells whether anything changed.
+     */
+    public FrameSnapshot[] retired() {
+        return retired;
+    }
+}
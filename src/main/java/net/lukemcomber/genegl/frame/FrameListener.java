@@ -0,0 +1,18 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+/**
+ * Sees every frame the {@link FramePublisher} captures, on the publisher thread and before the
+ * frame is handed to the renderer. Implementations must not keep a reference to the frame.
+ */
+public interface FrameListener {
+
+    void onFrame(FrameSnapshot frame);
+
+    default void close() {
+    }
+}
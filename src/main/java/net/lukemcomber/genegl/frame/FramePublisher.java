@@ -0,0 +1,164 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Captures the newest epoch once per simulation tick and publishes it into a
+ * {@link FrameExchange}. Traversing the organism graphs happens here, off the render thread.
+ */
+public class FramePublisher implements Runnable {
+
+    private static final long IDLE_PARK_NANOS = 500_000L;
+
+    private final ConcurrentLinkedDeque<Ecosystem> epochs;
+    private final FrameExchange exchange;
+    private final EcosystemCapture capture;
+    private final List<FrameListener> listeners = new CopyOnWriteArrayList<>();
+    private final FrameStats stats = new FrameStats();
+
+    private volatile boolean running = false;
+    private volatile FrameTimings timings;
+    private Thread thread;
+
+    private Ecosystem lastEcosystem = null;
+    private Ecosystem retiredEcosystem = null;
+    private long lastTick = -1;
+    private int retainedEpochs = 0;
+
+    // Stats
+    private volatile long published = 0;
+    private volatile long torn = 0;
+
+    public FramePublisher(final ConcurrentLinkedDeque<Ecosystem> epochs, final FrameExchange exchange,
+                          final SpatialCoordinates dimensions) {
+        this.epochs = epochs;
+        this.exchange = exchange;
+        this.capture = new EcosystemCapture(dimensions);
+    }
+
+    public void addListener(final FrameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Records organism traversal time as {@link FramePhase#GATHER}.
+     */
+    public void setTimings(final FrameTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Captures each finished epoch once more when the next one starts and keeps the last
+     * {@code epochs} of them in the exchange for the comparison view; 0 (the default) keeps none.
+     * Call before {@link #start()}.
+     */
+    public void setRetainedEpochs(final int epochs) {
+        this.retainedEpochs = Math.max(0, epochs);
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this, "genegl-frame-publisher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (null != thread) {
+            thread.interrupt();
+            try {
+                thread.join(1000);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (final FrameListener listener : listeners) {
+            listener.close();
+        }
+    }
+
+    public long published() {
+        return published;
+    }
+
+    public long torn() {
+        return torn;
+    }
+
+    public FrameStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            final Ecosystem ecosystem = epochs.peekLast();
+            if (null == ecosystem) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            final long tick = ecosystem.getTime().totalTicks();
+            if (ecosystem == lastEcosystem && tick == lastTick) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            if (retainedEpochs > 0 && null != lastEcosystem && ecosystem != lastEcosystem
+                    && lastEcosystem != retiredEcosystem) {
+                retire(lastEcosystem);
+            }
+            final FrameSnapshot frame = exchange.back();
+            final FrameTimings timings = this.timings;
+            if (null != timings) timings.begin(FramePhase.GATHER);
+            // torn frames are discarded and captured again on the next pass, never published half done
+            final boolean captured = capture.capture(ecosystem, frame, true);
+            if (null != timings) timings.end(FramePhase.GATHER);
+            if (captured) {
+                for (final FrameListener listener : listeners) {
+                    try {
+                        listener.onFrame(frame);
+                    } catch (final RuntimeException e) {
+                        System.err.println("[Publisher] Frame listener failed: " + e.getMessage());
+                    }
+                }
+                stats.update(frame, capture.organisms());
+                exchange.publish();
+                published++;
+                lastEcosystem = ecosystem;
+                lastTick = tick;
+            } else {
+                torn++;
+            }
+        }
+    }
+
+    /*
+     * The epoch no longer changes, so this capture sees its final state. Once per epoch, into
+     * a frame of its own that the exchange hands to readers as is.
+     */
+    private void retire(final Ecosystem finished) {
+        retiredEcosystem = finished;
+        final FrameSnapshot frame = new FrameSnapshot();
+        for (int attempt = 0; attempt <= EcosystemCapture.MAX_ORGANISM_RETRIES; attempt++) {
+            if (capture.capture(finished, frame)) {
+                exchange.retire(frame, retainedEpochs);
+                return;
+            }
+        }
+        System.err.println("[Publisher] Could not capture finished epoch " + finished.getName()
+                + "; it is left out of the comparison view");
+    }
+}
@@ -0,0 +1,160 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genetics.biology.Organism;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * One captured simulation tick: packed cell coordinates, a type ordinal per cell and the
+ * tick/day counters. Frames are filled by the publishing thread and are read-only once
+ * handed out by {@link FrameExchange}. Live frames also know the organism each cell belongs
+ * to; recorded, spilled and copied frames do not.
+ */
+public class FrameSnapshot {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private long version;
+    private String name;
+    private long totalTicks;
+    private long totalDays;
+    private long currentTick;
+
+    private int count;
+    private int[] cells = new int[0];
+    private byte[] types = new byte[0];
+    // per cell an index into organisms, -1 when not known
+    private int[] owners = new int[0];
+    private Organism[] organisms = new Organism[0];
+    private int organismCount;
+
+    public static int pack(final int x, final int y) {
+        return (y << 16) | (x & 0xFFFF);
+    }
+
+    public static int x(final int packed) {
+        return packed & 0xFFFF;
+    }
+
+    public static int y(final int packed) {
+        return packed >>> 16;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long totalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Whether this frame starts a new epoch for a listener whose last frame had {@code lastName}
+     * and {@code lastTick}: the name changed or the ticks went back. Before any frame pass null
+     * and -1.
+     */
+    public boolean startsEpochAfter(final String lastName, final long lastTick) {
+        return !Objects.equals(lastName, name) || totalTicks < lastTick;
+    }
+
+    public long totalDays() {
+        return totalDays;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int cell(final int i) {
+        return cells[i];
+    }
+
+    public byte type(final int i) {
+        return types[i];
+    }
+
+    /**
+     * The organism cell {@code i} belongs to, or null when the frame does not know.
+     */
+    public Organism organism(final int i) {
+        final int owner = owners[i];
+        return owner >= 0 && owner < organismCount ? organisms[owner] : null;
+    }
+
+    /**
+     * Writer side: starts refilling this frame. Frames handed out by the exchange are read-only.
+     */
+    public void begin(final String name, final long totalTicks, final long totalDays, final long currentTick) {
+        this.name = name;
+        this.totalTicks = totalTicks;
+        this.totalDays = totalDays;
+        this.currentTick = currentTick;
+        this.count = 0;
+        // let the organisms of the last fill go
+        Arrays.fill(organisms, 0, organismCount, null);
+        this.organismCount = 0;
+    }
+
+    /**
+     * Writer side: the cells added from now on belong to this organism.
+     */
+    public void beginOrganism(final Organism organism) {
+        if (organismCount == organisms.length) {
+            organisms = Arrays.copyOf(organisms, Math.max(MIN_CAPACITY, organisms.length * 2));
+        }
+        organisms[organismCount++] = organism;
+    }
+
+    public void ensureCapacity(final int points) {
+        if (cells.length < points) {
+            final int capacity = Math.max(points, Math.max(MIN_CAPACITY, cells.length * 2));
+            final int[] grownCells = new int[capacity];
+            final byte[] grownTypes = new byte[capacity];
+            final int[] grownOwners = new int[capacity];
+            System.arraycopy(cells, 0, grownCells, 0, count);
+            System.arraycopy(types, 0, grownTypes, 0, count);
+            System.arraycopy(owners, 0, grownOwners, 0, count);
+            cells = grownCells;
+            types = grownTypes;
+            owners = grownOwners;
+        }
+    }
+
+    public void add(final int x, final int y, final CellType type) {
+        ensureCapacity(count + 1);
+        cells[count] = pack(x, y);
+        types[count] = (byte) type.ordinal();
+        owners[count] = organismCount - 1;
+        count++;
+    }
+
+    /**
+     * Writer side: makes this frame a copy of another, for a consumer that has to keep it. The
+     * organisms are left out, so a kept copy does not keep them alive.
+     */
+    public void copyFrom(final FrameSnapshot other) {
+        begin(other.name, other.totalTicks, other.totalDays, other.currentTick);
+        ensureCapacity(other.count);
+        System.arraycopy(other.cells, 0, cells, 0, other.count);
+        System.arraycopy(other.types, 0, types, 0, other.count);
+        count = other.count;
+    }
+
+    void setVersion(final long version) {
+        this.version = version;
+    }
+}
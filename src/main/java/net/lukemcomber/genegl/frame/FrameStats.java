@@ -0,0 +1,57 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+/**
+ * Headline numbers of the last frame a producer published. Written by the producer thread
+ * just before it publishes, read by anyone; fields are individually volatile, so a reader may
+ * see the counts of one frame next to the ticks of the following one.
+ */
+public class FrameStats {
+
+    private volatile String name;
+    private volatile long totalTicks = -1;
+    private volatile long totalDays = -1;
+    private volatile int cells = 0;
+    private volatile int organisms = -1;
+    private volatile long frames = 0;
+
+    /**
+     * @param organisms organisms walked for the frame, or -1 when the producer does not know
+     */
+    public void update(final FrameSnapshot frame, final int organisms) {
+        name = frame.name();
+        totalTicks = frame.totalTicks();
+        totalDays = frame.totalDays();
+        cells = frame.count();
+        this.organisms = organisms;
+        frames++;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long totalTicks() {
+        return totalTicks;
+    }
+
+    public long totalDays() {
+        return totalDays;
+    }
+
+    public int cells() {
+        return cells;
+    }
+
+    public int organisms() {
+        return organisms;
+    }
+
+    public long frames() {
+        return frames;
+    }
+}
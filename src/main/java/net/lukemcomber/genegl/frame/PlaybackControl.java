@@ -0,0 +1,51 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+/**
+ * Transport controls for a frame source that can be paused and repositioned, such as a replay.
+ * Positions are frame numbers on the source's timeline. Calls may come from any thread.
+ */
+public interface PlaybackControl {
+
+    void pause();
+
+    void resume();
+
+    boolean isPaused();
+
+    /**
+     * Playback speed relative to real time, clamped by the implementation.
+     */
+    double speed();
+
+    void setSpeed(double speed);
+
+    /**
+     * Wall-clock time between two frames at the current speed.
+     */
+    double tickDelayMillis();
+
+    void setTickDelayMillis(double millis);
+
+    long position();
+
+    long length();
+
+    void seek(long frame);
+
+    default void togglePause() {
+        if (isPaused()) {
+            resume();
+        } else {
+            pause();
+        }
+    }
+
+    default void seekBy(final long frames) {
+        seek(Math.max(0, Math.min(length() - 1, position() + frames)));
+    }
+}
@@ -0,0 +1,98 @@
+package net.lukemcomber.genegl.heatmap;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.FrameDelta;
+import net.lukemcomber.genegl.frame.FrameListener;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Feeds every published frame's births, type changes and deaths into {@link Heatmaps}, and
+ * exports an epoch's heatmaps once the next one starts and on close. The export blocks the
+ * publisher for the first frame of the new epoch.
+ */
+public class HeatmapAccumulator implements FrameListener {
+
+    private final Heatmaps heatmaps;
+    private final CellGrid grid;
+    private final FrameDelta delta = new FrameDelta();
+    private final Path directory;
+    private final String simulation;
+
+    private String lastName = null;
+    private long lastTick = -1;
+    private int epochs = 0;
+
+    // Stats
+    private long frames = 0;
+    private long changed = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * @param directory where each finished epoch is exported, or null to keep them in memory only
+     */
+    public HeatmapAccumulator(final Heatmaps heatmaps, final SpatialCoordinates dimensions, final Path directory,
+                              final String simulation) {
+        this.heatmaps = heatmaps;
+        this.grid = new CellGrid(dimensions);
+        this.directory = directory;
+        this.simulation = simulation;
+    }
+
+    public Heatmaps heatmaps() {
+        return heatmaps;
+    }
+
+    @Override
+    public void onFrame(final FrameSnapshot frame) {
+        final long start = System.nanoTime();
+        grid.apply(frame, delta);
+        final boolean newEpoch = frame.startsEpochAfter(lastName, lastTick);
+        if (newEpoch) {
+            if (null != lastName) {
+                export();
+            }
+            heatmaps.begin(frame.name(), frame.totalTicks(), grid);
+            epochs++;
+        } else {
+            heatmaps.apply(delta, frame.totalTicks());
+            changed += delta.births() + delta.changes() + delta.deaths();
+        }
+        lastName = frame.name();
+        lastTick = frame.totalTicks();
+        frames++;
+        final long elapsed = System.nanoTime() - start;
+        totalNanos += elapsed;
+        maxNanos = Math.max(maxNanos, elapsed);
+    }
+
+    @Override
+    public void close() {
+        if (null != lastName) {
+            export();
+        }
+        System.out.printf("[Heatmap] %d frames over %d epochs, %,d cell changes (%.1f/frame), avg %.1f us/frame, max %.2f ms%n",
+                frames, epochs, changed, frames == 0 ? 0.0 : (double) changed / frames,
+                frames == 0 ? 0.0 : totalNanos / 1_000.0 / frames, maxNanos / 1_000_000.0);
+    }
+
+    private void export() {
+        if (null == directory) return;
+        final String prefix = simulation + "-" + (null != lastName ? lastName : "epoch") + "-" + epochs;
+        try {
+            heatmaps.export(directory, prefix);
+            System.out.println("[Heatmap] Exported " + directory.resolve(prefix + ".json"));
+        } catch (final IOException e) {
+            System.err.println("[Heatmap] Cannot export to " + directory + ": " + e.getMessage());
+        }
+    }
+}
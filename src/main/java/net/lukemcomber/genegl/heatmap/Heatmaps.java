@@ -0,0 +1,328 @@
+package net.lukemcomber.genegl.heatmap;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameDelta;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Per world cell, over the current epoch: how many ticks it was occupied, how many ticks it
+ * held each {@link CellType}, and how often a cell was born or died there. Nothing is added up
+ * per tick; a cell's open interval is closed into its float when the cell dies or changes type,
+ * so applying a frame costs O(births + changes + deaths). Readers add the open interval up to
+ * the current tick themselves, the overlay shader for the texture and {@link #export(Path, String)}
+ * for the files.
+ * <p>
+ * Written on the publisher thread, read on the render thread; every method holds the lock.
+ */
+public class Heatmaps {
+
+    public static final int OCCUPANCY = 0;
+    public static final int TURNOVER = 1;
+    // layers from here on are the per-type densities, in CellType order
+    public static final int FIRST_TYPE = 2;
+
+    public static final String EXTENSION = ".f32";
+
+    private final int width;
+    private final int height;
+    private final float[] occupancy;
+    private final float[] turnover;
+    private final float[][] density;
+    // tick the cell was born and took its current type at, relative to the epoch; -1 when empty
+    private final int[] bornAt;
+    private final int[] typeSince;
+    private final byte[] types;
+    private final long[] dirtyRows;
+
+    private String epoch = null;
+    private long epochStart = 0;
+    private int now = 0;
+    private float maxTurnover = 0f;
+    private long events = 0;
+
+    public Heatmaps(final SpatialCoordinates dimensions) {
+        this.width = dimensions.xAxis();
+        this.height = dimensions.yAxis();
+        final int cells = width * height;
+        this.occupancy = new float[cells];
+        this.turnover = new float[cells];
+        this.density = new float[CellType.count()][cells];
+        this.bornAt = new int[cells];
+        this.typeSince = new int[cells];
+        this.types = new byte[cells];
+        this.dirtyRows = new long[(height + 63) >>> 6];
+        Arrays.fill(bornAt, -1);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public static int layers() {
+        return FIRST_TYPE + CellType.count();
+    }
+
+    public static String layerName(final int layer) {
+        switch (layer) {
+            case OCCUPANCY: return "occupancy";
+            case TURNOVER: return "turnover";
+            default: return CellType.of((byte) (layer - FIRST_TYPE)).label;
+        }
+    }
+
+    public synchronized String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Ticks since the epoch started, as of the last frame applied.
+     */
+    public synchronized int elapsed() {
+        return now;
+    }
+
+    /**
+     * Births and deaths applied since construction, over all epochs.
+     */
+    public synchronized long events() {
+        return events;
+    }
+
+    /**
+     * Starts a new epoch at {@code totalTicks} with the cells already in {@code grid}. Those
+     * count as occupied from now on but not as turnover. O(world cells), once per epoch.
+     */
+    public synchronized void begin(final String name, final long totalTicks, final CellGrid grid) {
+        Arrays.fill(occupancy, 0f);
+        Arrays.fill(turnover, 0f);
+        for (final float[] layer : density) {
+            Arrays.fill(layer, 0f);
+        }
+        Arrays.fill(bornAt, -1);
+        epoch = name;
+        epochStart = totalTicks;
+        now = 0;
+        maxTurnover = 0f;
+        final byte[] cells = grid.cells();
+        for (int i = 0; i < grid.occupied(); i++) {
+            final int index = grid.occupiedCell(i);
+            bornAt[index] = 0;
+            typeSince[index] = 0;
+            types[index] = (byte) (cells[index] - 1);
+        }
+        Arrays.fill(dirtyRows, -1L);
+    }
+
+    /**
+     * Closes and opens the intervals of the cells that changed in {@code delta}, which ended at
+     * {@code totalTicks}. Changes between two published frames are only seen as of the later one.
+     */
+    public synchronized void apply(final FrameDelta delta, final long totalTicks) {
+        now = (int) Math.min(Integer.MAX_VALUE, Math.max(0, totalTicks - epochStart));
+        for (int i = 0; i < delta.deaths(); i++) {
+            final int index = delta.deathCell(i);
+            if (bornAt[index] >= 0) {
+                occupancy[index] += now - bornAt[index];
+                density[types[index]][index] += now - typeSince[index];
+                bornAt[index] = -1;
+            }
+            turn(index);
+        }
+        for (int i = 0; i < delta.changes(); i++) {
+            final int index = delta.changeCell(i);
+            if (bornAt[index] >= 0) {
+                density[types[index]][index] += now - typeSince[index];
+            } else {
+                bornAt[index] = now;
+            }
+            typeSince[index] = now;
+            types[index] = delta.changeType(i);
+            markDirty(index);
+        }
+        for (int i = 0; i < delta.births(); i++) {
+            final int index = delta.birthCell(i);
+            bornAt[index] = now;
+            typeSince[index] = now;
+            types[index] = delta.birthType(i);
+            turn(index);
+        }
+        events += delta.births() + delta.deaths();
+    }
+
+    /**
+     * Hands the rows changed since the last drain, or all of them, to {@code sink} as two floats
+     * per cell: the closed total of {@code layer} and the tick its open interval started at, -1
+     * when there is none. The value at tick t is r + (g &lt; 0 ? 0 : t - g). Turnover has no
+     * open interval. Returns the current tick, relative to the epoch.
+     *
+     * @param staging direct buffer of at least {@code 2 * width} floats; several rows go in
+     *                at once when it is larger
+     */
+    public synchronized int drain(final int layer, final boolean all, final FloatBuffer staging, final RowSink sink) {
+        final int rowsPerUpload = Math.max(1, staging.capacity() / (2 * width));
+        int row = all ? 0 : nextDirtyRow(0);
+        while (row >= 0 && row < height) {
+            int end = all ? height : nextCleanRow(row);
+            end = Math.min(end, row + rowsPerUpload);
+            staging.clear();
+            for (int index = row * width; index < end * width; index++) {
+                put(staging, layer, index);
+            }
+            staging.flip();
+            sink.rows(row, end - row, staging);
+            row = all ? end : nextDirtyRow(end);
+        }
+        Arrays.fill(dirtyRows, 0L);
+        return now;
+    }
+
+    /**
+     * What the overlay divides by to get 0..1: the ticks elapsed for the tick-counting layers,
+     * the busiest cell's count for turnover.
+     */
+    public synchronized float scale(final int layer) {
+        return Math.max(1f, TURNOVER == layer ? maxTurnover : now);
+    }
+
+    /**
+     * Writes every layer as of the last frame to {@code <prefix>-<layer>.f32} in {@code directory}:
+     * width * height little-endian float32s, row-major from y = 0, ready for
+     * {@code numpy.fromfile(path, '<f4').reshape(height, width)}. Occupancy and the densities are
+     * in ticks, turnover in births plus deaths. A {@code <prefix>.json} alongside gives the shape
+     * and the epoch; each file is written to a temporary one and moved into place.
+     */
+    public synchronized void export(final Path directory, final String prefix) throws IOException {
+        Files.createDirectories(directory);
+        final ByteBuffer row = ByteBuffer.allocateDirect(width * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        final FloatBuffer values = row.asFloatBuffer();
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n  \"epoch\": \"").append(null == epoch ? "" : epoch.replace("\"", "\\\""))
+                .append("\",\n  \"start-tick\": ").append(epochStart)
+                .append(",\n  \"ticks\": ").append(now)
+                .append(",\n  \"width\": ").append(width)
+                .append(",\n  \"height\": ").append(height)
+                .append(",\n  \"dtype\": \"float32-le\",\n  \"layers\": {");
+        for (int layer = 0; layer < layers(); layer++) {
+            final String file = prefix + "-" + layerName(layer).replace(' ', '-').replace("(", "").replace(")", "")
+                    + EXTENSION;
+            final Path tmp = directory.resolve(file + ".tmp");
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (int y = 0; y < height; y++) {
+                    values.clear();
+                    for (int index = y * width; index < (y + 1) * width; index++) {
+                        values.put(value(layer, index));
+                    }
+                    row.clear();
+                    while (row.hasRemaining()) {
+                        out.write(row);
+                    }
+                }
+            }
+            Files.move(tmp, directory.resolve(file), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            json.append(layer == 0 ? "\n" : ",\n").append("    \"").append(layerName(layer)).append("\": \"")
+                    .append(file).append('"');
+        }
+        json.append("\n  }\n}\n");
+        final Path tmp = directory.resolve(prefix + ".json.tmp");
+        Files.writeString(tmp, json);
+        Files.move(tmp, directory.resolve(prefix + ".json"), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Receives consecutive rows from {@link #drain}; the buffer is only valid during the call.
+     */
+    public interface RowSink {
+        void rows(int row, int count, FloatBuffer texels);
+    }
+
+    private void put(final FloatBuffer out, final int layer, final int index) {
+        final boolean alive = bornAt[index] >= 0;
+        switch (layer) {
+            case OCCUPANCY:
+                out.put(occupancy[index]).put(alive ? bornAt[index] : -1f);
+                break;
+            case TURNOVER:
+                out.put(turnover[index]).put(-1f);
+                break;
+            default:
+                final int type = layer - FIRST_TYPE;
+                out.put(density[type][index]).put(alive && types[index] == type ? typeSince[index] : -1f);
+        }
+    }
+
+    private float value(final int layer, final int index) {
+        final boolean alive = bornAt[index] >= 0;
+        switch (layer) {
+            case OCCUPANCY:
+                return occupancy[index] + (alive ? now - bornAt[index] : 0);
+            case TURNOVER:
+                return turnover[index];
+            default:
+                final int type = layer - FIRST_TYPE;
+                return density[type][index] + (alive && types[index] == type ? now - typeSince[index] : 0);
+        }
+    }
+
+    private void turn(final int index) {
+        maxTurnover = Math.max(maxTurnover, ++turnover[index]);
+        markDirty(index);
+    }
+
+    private void markDirty(final int index) {
+        final int row = index / width;
+        dirtyRows[row >>> 6] |= 1L << row;
+    }
+
+    private boolean isDirty(final int row) {
+        return (dirtyRows[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private int nextDirtyRow(final int from) {
+        if (from >= height) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long bits = dirtyRows[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                final int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return row < height ? row : -1;
+            }
+            if (++word == dirtyRows.length) {
+                return -1;
+            }
+            bits = dirtyRows[word];
+        }
+    }
+
+    private int nextCleanRow(final int from) {
+        int row = from;
+        while (row < height && isDirty(row)) {
+            row++;
+        }
+        return row;
+    }
+}
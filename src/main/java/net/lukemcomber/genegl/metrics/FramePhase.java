@@ -0,0 +1,28 @@
+package net.lukemcomber.genegl.metrics;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+/**
+ * Timed parts of producing one frame. GATHER runs on the publisher thread, GPU_DRAW comes
+ * from GL timer queries, everything else is render thread wall time.
+ */
+public enum FramePhase {
+    GATHER("organism traversal"),
+    PACK("packing"),
+    UPLOAD("buffer upload"),
+    DRAW("draw"),
+    GPU_DRAW("draw (GPU)"),
+    HUD("HUD"),
+    SWAP("swap buffers"),
+    POLL("poll events"),
+    FRAME("whole frame");
+
+    public final String label;
+
+    FramePhase(final String label) {
+        this.label = label;
+    }
+}
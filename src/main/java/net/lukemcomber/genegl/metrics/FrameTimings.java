@@ -0,0 +1,78 @@
+package net.lukemcomber.genegl.metrics;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One {@link Histogram} per {@link FramePhase}, accumulated since start. Phases are timed with
+ * {@link #begin(FramePhase)} / {@link #end(FramePhase)} pairs; each phase must only be timed
+ * from one thread at a time. {@link #summarize()} turns the histograms into an immutable
+ * {@link TimingSummary} that other threads pick up from {@link #latest()}.
+ */
+public class FrameTimings {
+
+    private static final FramePhase[] PHASES = FramePhase.values();
+
+    private final Histogram[] histograms = new Histogram[PHASES.length];
+    private final long[] started = new long[PHASES.length];
+    private final AtomicReference<TimingSummary> latest = new AtomicReference<>();
+    private final long createdAt = System.currentTimeMillis();
+
+    public FrameTimings() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+        latest.set(summarize());
+    }
+
+    public void begin(final FramePhase phase) {
+        started[phase.ordinal()] = System.nanoTime();
+    }
+
+    public void end(final FramePhase phase) {
+        histograms[phase.ordinal()].record(System.nanoTime() - started[phase.ordinal()]);
+    }
+
+    public void record(final FramePhase phase, final long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    public Histogram histogram(final FramePhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Computes p50/p99/p999/max for every phase and publishes the result. Walks about a
+     * thousand buckets per phase, so call it about once a second, not every frame.
+     */
+    public TimingSummary summarize() {
+        final long[] values = new long[PHASES.length * TimingSummary.FIELDS];
+        for (int i = 0; i < PHASES.length; i++) {
+            final Histogram h = histograms[i];
+            final int base = i * TimingSummary.FIELDS;
+            values[base] = h.count();
+            values[base + 1] = h.percentile(0.50);
+            values[base + 2] = h.percentile(0.99);
+            values[base + 3] = h.percentile(0.999);
+            values[base + 4] = h.max();
+        }
+        final TimingSummary summary = new TimingSummary(System.currentTimeMillis(),
+                System.currentTimeMillis() - createdAt, values);
+        latest.set(summary);
+        return summary;
+    }
+
+    public TimingSummary latest() {
+        return latest.get();
+    }
+
+    public void reset() {
+        for (final Histogram h : histograms) {
+            h.reset();
+        }
+    }
+}
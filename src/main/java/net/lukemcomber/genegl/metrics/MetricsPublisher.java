@@ -0,0 +1,175 @@
+package net.lukemcomber.genegl.metrics;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.epoch.EpochRetention;
+import net.lukemcomber.genegl.frame.FrameStats;
+import net.lukemcomber.genegl.frame.PlaybackControl;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rebuilds a {@link MetricsSnapshot} on its own daemon thread at a fixed interval and publishes
+ * it through an atomic reference. Readers such as HTTP request threads only ever call
+ * {@link #latest()}; nothing here touches the terrain, it reads what the frame producer and
+ * the render loop have already published.
+ */
+public class MetricsPublisher {
+
+    private static final FramePhase[] PHASES = FramePhase.values();
+
+    private final String source;
+    private final FrameStats stats;
+    private final FrameTimings timings;
+    private final Collection<?> epochs;
+    private final PlaybackControl control;
+    private final AtomicReference<MetricsSnapshot> latest = new AtomicReference<>();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    private final long started = System.currentTimeMillis();
+    private final ScheduledExecutorService executor;
+    private volatile EpochRetention retention;
+
+    // ticks per second is measured between two publishes of the same epoch
+    private String lastName = null;
+    private long lastTicks = -1;
+    private long lastNanos = 0;
+    private double ticksPerSecond = 0.0;
+    // frames drawn per second, from the whole-frame count of two timing summaries
+    private long lastFrameCount = -1;
+    private long lastSummaryMillis = 0;
+    private double framesPerSecond = 0.0;
+
+    /**
+     * @param epochs  the ecosystem's epochs, only ever sized; null when there is no live ecosystem
+     * @param control transport controls of the frame source, null when it has none
+     */
+    public MetricsPublisher(final String source, final FrameStats stats, final FrameTimings timings,
+                            final Collection<?> epochs, final PlaybackControl control, final int intervalMs) {
+        this.source = source;
+        this.stats = stats;
+        this.timings = timings;
+        this.epochs = epochs;
+        this.control = control;
+        publish();
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "genegl-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(50, intervalMs);
+        executor.scheduleAtFixedRate(this::publish, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public MetricsSnapshot latest() {
+        return latest.get();
+    }
+
+    /**
+     * Transport controls of the frame source, or null when it cannot be paused.
+     */
+    public PlaybackControl control() {
+        return control;
+    }
+
+    /**
+     * Epoch retention to report on; it also numbers the epochs.
+     */
+    public void setRetention(final EpochRetention retention) {
+        this.retention = retention;
+    }
+
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void publish() {
+        try {
+            latest.set(build());
+        } catch (final RuntimeException e) {
+            // keep serving the previous snapshot
+            System.err.println("[Metrics] Failed to build snapshot: " + e.getMessage());
+        }
+    }
+
+    private MetricsSnapshot build() {
+        final long now = System.nanoTime();
+        final String name = stats.name();
+        final long ticks = stats.totalTicks();
+        if (null != name && name.equals(lastName) && ticks >= lastTicks && now > lastNanos) {
+            ticksPerSecond = (ticks - lastTicks) * 1_000_000_000.0 / (now - lastNanos);
+        } else {
+            ticksPerSecond = 0.0;
+        }
+        lastName = name;
+        lastTicks = ticks;
+        lastNanos = now;
+
+        final Map<String, MetricsSnapshot.PhaseTiming> phases = new LinkedHashMap<>();
+        final TimingSummary summary = null != timings ? timings.latest() : null;
+        if (null != summary) {
+            // the render loop summarizes about once a second, so only a new summary moves the rate
+            final long frameCount = summary.count(FramePhase.FRAME);
+            final long at = summary.timestampMillis();
+            if (at != lastSummaryMillis) {
+                framesPerSecond = lastFrameCount >= 0 && frameCount >= lastFrameCount && at > lastSummaryMillis
+                        ? (frameCount - lastFrameCount) * 1000.0 / (at - lastSummaryMillis) : 0.0;
+                lastFrameCount = frameCount;
+                lastSummaryMillis = at;
+            }
+            for (final FramePhase phase : PHASES) {
+                phases.put(phase.name().toLowerCase(), new MetricsSnapshot.PhaseTiming(summary.count(phase),
+                        summary.p50(phase), summary.p99(phase), summary.p999(phase), summary.max(phase)));
+            }
+        }
+
+        final MemoryUsage heap = memory.getHeapMemoryUsage();
+        long directBytes = 0, directCount = 0, mappedBytes = 0;
+        for (final BufferPoolMXBean pool : bufferPools) {
+            if ("direct".equals(pool.getName())) {
+                directBytes = pool.getMemoryUsed();
+                directCount = pool.getCount();
+            } else if ("mapped".equals(pool.getName())) {
+                mappedBytes = pool.getMemoryUsed();
+            }
+        }
+
+        final MetricsSnapshot.Playback playback = null == control ? null
+                : new MetricsSnapshot.Playback(control.isPaused(), control.speed(), control.tickDelayMillis(),
+                control.position(), control.length());
+
+        final EpochRetention retention = this.retention;
+        final int epoch;
+        MetricsSnapshot.Retention retained = null;
+        if (null != retention) {
+            epoch = retention.epochsSeen() - 1;
+            retained = new MetricsSnapshot.Retention(retention.liveEpochs(), retention.spilledEpochs(),
+                    retention.spilledBytes(), retention.spilledRawBytes());
+        } else {
+            epoch = null != epochs ? epochs.size() - 1 : -1;
+        }
+
+        final long timestamp = System.currentTimeMillis();
+        return new MetricsSnapshot(timestamp, timestamp - started, source, epoch, name, ticks,
+                stats.totalDays(), ticksPerSecond, framesPerSecond,
+                stats.organisms(), stats.cells(), stats.frames(), Collections.unmodifiableMap(phases),
+                new MetricsSnapshot.Memory(heap.getUsed(), heap.getCommitted(), heap.getMax(),
+                        directBytes, directCount, mappedBytes),
+                playback, retained);
+    }
+}
@@ -0,0 +1,150 @@
+package net.lukemcomber.genegl.metrics;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.Map;
+
+/**
+ * Everything the metrics endpoint reports, frozen at one point in time by the
+ * {@link MetricsPublisher}. Never modified after it is published.
+ */
+@JsonNaming(PropertyNamingStrategies.KebabCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class MetricsSnapshot {
+
+    public final long timestampMs;
+    public final long uptimeMs;
+
+    // "simulation" or "replay"
+    public final String source;
+
+    // Index into the ecosystem's epochs, -1 when unknown
+    public final int epoch;
+    public final String epochName;
+    public final long totalTicks;
+    public final long totalDays;
+    public final double ticksPerSecond;
+    // Frames the render loop drew, 0 when it only redraws on new ticks and nothing ticked
+    public final double framesPerSecond;
+
+    // -1 when the source does not walk organisms, e.g. a replay
+    public final int organisms;
+    public final int cells;
+    public final long framesPublished;
+
+    public final Map<String, PhaseTiming> frameTimings;
+    public final Memory memory;
+    public final Playback playback;
+    // Null unless epoch retention is on
+    public final Retention retention;
+
+    MetricsSnapshot(final long timestampMs, final long uptimeMs, final String source, final int epoch,
+                    final String epochName, final long totalTicks, final long totalDays,
+                    final double ticksPerSecond, final double framesPerSecond, final int organisms, final int cells,
+                    final long framesPublished,
+                    final Map<String, PhaseTiming> frameTimings, final Memory memory, final Playback playback,
+                    final Retention retention) {
+        this.timestampMs = timestampMs;
+        this.uptimeMs = uptimeMs;
+        this.source = source;
+        this.epoch = epoch;
+        this.epochName = epochName;
+        this.totalTicks = totalTicks;
+        this.totalDays = totalDays;
+        this.ticksPerSecond = ticksPerSecond;
+        this.framesPerSecond = framesPerSecond;
+        this.organisms = organisms;
+        this.cells = cells;
+        this.framesPublished = framesPublished;
+        this.frameTimings = frameTimings;
+        this.memory = memory;
+        this.playback = playback;
+        this.retention = retention;
+    }
+
+    @JsonNaming(PropertyNamingStrategies.KebabCaseStrategy.class)
+    public static final class PhaseTiming {
+
+        public final long count;
+        public final long p50Ns;
+        public final long p99Ns;
+        public final long p999Ns;
+        public final long maxNs;
+
+        PhaseTiming(final long count, final long p50Ns, final long p99Ns, final long p999Ns, final long maxNs) {
+            this.count = count;
+            this.p50Ns = p50Ns;
+            this.p99Ns = p99Ns;
+            this.p999Ns = p999Ns;
+            this.maxNs = maxNs;
+        }
+    }
+
+    @JsonNaming(PropertyNamingStrategies.KebabCaseStrategy.class)
+    public static final class Memory {
+
+        public final long heapUsedBytes;
+        public final long heapCommittedBytes;
+        public final long heapMaxBytes;
+        public final long directBufferBytes;
+        public final long directBufferCount;
+        public final long mappedBufferBytes;
+
+        Memory(final long heapUsedBytes, final long heapCommittedBytes, final long heapMaxBytes,
+               final long directBufferBytes, final long directBufferCount, final long mappedBufferBytes) {
+            this.heapUsedBytes = heapUsedBytes;
+            this.heapCommittedBytes = heapCommittedBytes;
+            this.heapMaxBytes = heapMaxBytes;
+            this.directBufferBytes = directBufferBytes;
+            this.directBufferCount = directBufferCount;
+            this.mappedBufferBytes = mappedBufferBytes;
+        }
+    }
+
+    @JsonNaming(PropertyNamingStrategies.KebabCaseStrategy.class)
+    public static final class Playback {
+
+        public final boolean paused;
+        public final double speed;
+        public final double tickDelayMs;
+        public final long position;
+        public final long length;
+
+        Playback(final boolean paused, final double speed, final double tickDelayMs, final long position,
+                 final long length) {
+            this.paused = paused;
+            this.speed = speed;
+            this.tickDelayMs = tickDelayMs;
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Epochs retention still reads as ecosystems against those spilled to disk. Spilled ones stay
+     * in the heap figures in {@link Memory} for as long as the library keeps them.
+     */
+    @JsonNaming(PropertyNamingStrategies.KebabCaseStrategy.class)
+    public static final class Retention {
+
+        public final int liveEpochs;
+        public final int spilledEpochs;
+        public final long spilledBytes;
+        // serialized size before compression
+        public final long spilledRawBytes;
+
+        Retention(final int liveEpochs, final int spilledEpochs, final long spilledBytes, final long spilledRawBytes) {
+            this.liveEpochs = liveEpochs;
+            this.spilledEpochs = spilledEpochs;
+            this.spilledBytes = spilledBytes;
+            this.spilledRawBytes = spilledRawBytes;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.lukemcomber.genegl.metrics;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Start and length of each startup stage, measured from JVM start, on whichever thread ran it.
+ * Stages may overlap; the report lists them by start so the overlap is visible. Printed once,
+ * when the first frame with cells is on screen.
+ */
+public class StartupTimeline {
+
+    private final long origin;
+    private final List<Stage> stages = new ArrayList<>();
+    private final AtomicBoolean reported = new AtomicBoolean(false);
+
+    public StartupTimeline() {
+        // nanoTime of the moment the JVM started, from its wall clock start time
+        final long sinceStartMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        origin = System.nanoTime() - sinceStartMillis * 1_000_000L;
+        stages.add(new Stage("jvm", "main", origin, System.nanoTime()));
+    }
+
+    public long begin() {
+        return System.nanoTime();
+    }
+
+    public void end(final String stage, final long began) {
+        final Stage recorded = new Stage(stage, Thread.currentThread().getName(), began, System.nanoTime());
+        synchronized (stages) {
+            stages.add(recorded);
+        }
+    }
+
+    /**
+     * Milliseconds since JVM start.
+     */
+    public long elapsedMillis() {
+        return (System.nanoTime() - origin) / 1_000_000L;
+    }
+
+    /**
+     * Marks the first frame with cells and prints the timeline; later calls do nothing.
+     */
+    public void firstFrame() {
+        if (!reported.compareAndSet(false, true)) return;
+        final long now = System.nanoTime();
+        final List<Stage> sorted;
+        synchronized (stages) {
+            sorted = new ArrayList<>(stages);
+        }
+        sorted.sort(Comparator.comparingLong(s -> s.start));
+        System.out.println("[Startup] stage                     start      took  thread");
+        for (final Stage stage : sorted) {
+            System.out.printf("[Startup] %-24s %6d ms %6d ms  %s%n", stage.name,
+                    (stage.start - origin) / 1_000_000L, (stage.end - stage.start) / 1_000_000L, stage.thread);
+        }
+        System.out.printf("[Startup] first frame after %,d ms%n", (now - origin) / 1_000_000L);
+    }
+
+    private static final class Stage {
+        final String name;
+        final String thread;
+        final long start;
+        final long end;
+
+        Stage(final String name, final String thread, final long start, final long end) {
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package net.lukemcomber.genegl.metrics;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically appends the latest {@link TimingSummary} to {@code frame-timings.csv} and
+ * rewrites {@code frame-timings.json} in the metadata export directory. Runs on its own
+ * daemon thread and only reads published summaries, so the render loop never waits on disk.
+ */
+public class TimingExporter {
+
+    public static final String CSV_FILE = "frame-timings.csv";
+    public static final String JSON_FILE = "frame-timings.json";
+
+    private static final FramePhase[] PHASES = FramePhase.values();
+
+    private final FrameTimings timings;
+    private final Path csv;
+    private final Path json;
+    private final ScheduledExecutorService executor;
+
+    private long lastExported = -1;
+
+    public TimingExporter(final FrameTimings timings, final Path directory, final int everySeconds) throws IOException {
+        this.timings = timings;
+        Files.createDirectories(directory);
+        this.csv = directory.resolve(CSV_FILE);
+        this.json = directory.resolve(JSON_FILE);
+        if (!Files.exists(csv)) {
+            Files.writeString(csv, "timestamp_ms,uptime_ms,phase,count,p50_ns,p99_ns,p999_ns,max_ns\n");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "genegl-timing-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final int period = Math.max(1, everySeconds);
+        executor.scheduleAtFixedRate(this::export, period, period, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        executor.shutdownNow();
+        export();
+    }
+
+    private synchronized void export() {
+        final TimingSummary summary = timings.latest();
+        if (null == summary || summary.timestampMillis() == lastExported) {
+            return;
+        }
+        lastExported = summary.timestampMillis();
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(csv, StandardOpenOption.APPEND)) {
+                for (final FramePhase phase : PHASES) {
+                    out.write(summary.timestampMillis() + "," + summary.uptimeMillis() + "," + phase.name()
+                            + "," + summary.count(phase) + "," + summary.p50(phase) + "," + summary.p99(phase)
+                            + "," + summary.p999(phase) + "," + summary.max(phase));
+                    out.newLine();
+                }
+            }
+            final StringBuilder sb = new StringBuilder();
+            sb.append("{\n  \"timestamp-ms\": ").append(summary.timestampMillis())
+                    .append(",\n  \"uptime-ms\": ").append(summary.uptimeMillis())
+                    .append(",\n  \"phases\": {");
+            for (int i = 0; i < PHASES.length; i++) {
+                final FramePhase phase = PHASES[i];
+                sb.append(i == 0 ? "\n" : ",\n")
+                        .append("    \"").append(phase.name().toLowerCase()).append("\": {")
+                        .append("\"count\": ").append(summary.count(phase))
+                        .append(", \"p50-ns\": ").append(summary.p50(phase))
+                        .append(", \"p99-ns\": ").append(summary.p99(phase))
+                        .append(", \"p999-ns\": ").append(summary.p999(phase))
+                        .append(", \"max-ns\": ").append(summary.max(phase))
+                        .append('}');
+            }
+            sb.append("\n  }\n}\n");
+            // write then move so readers never see half a file
+            final Path tmp = json.resolveSibling(JSON_FILE + ".tmp");
+            Files.writeString(tmp, sb);
+            Files.move(tmp, json, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            System.err.println("[Timings] Export failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package net.lukemcomber.genegl.metrics;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+/**
+ * Immutable percentiles of every {@link FramePhase} at one point in time, in nanoseconds.
+ */
+public final class TimingSummary {
+
+    static final int FIELDS = 5;
+
+    private final long timestampMillis;
+    private final long uptimeMillis;
+    private final long[] values;
+
+    TimingSummary(final long timestampMillis, final long uptimeMillis, final long[] values) {
+        this.timestampMillis = timestampMillis;
+        this.uptimeMillis = uptimeMillis;
+        this.values = values;
+    }
+
+    public long timestampMillis() {
+        return timestampMillis;
+    }
+
+    public long uptimeMillis() {
+        return uptimeMillis;
+    }
+
+    public long count(final FramePhase phase) {
+        return values[phase.ordinal() * FIELDS];
+    }
+
+    public long p50(final FramePhase phase) {
+        return values[phase.ordinal() * FIELDS + 1];
+    }
+
+    public long p99(final FramePhase phase) {
+        return values[phase.ordinal() * FIELDS + 2];
+    }
+
+    public long p999(final FramePhase phase) {
+        return values[phase.ordinal() * FIELDS + 3];
+    }
+
+    public long max(final FramePhase phase) {
+        return values[phase.ordinal() * FIELDS + 4];
+    }
+}
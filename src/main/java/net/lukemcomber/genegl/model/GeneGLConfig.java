@@ -14,4 +14,19 @@ public class GeneGLConfig {
 
     @JsonProperty
     public Ecosystem ecosystem;
+
+    @JsonProperty
+    public Render render = new Render();
+
+    @JsonProperty
+    public Recording recording = new Recording();
+
+    @JsonProperty
+    public Retention retention = new Retention();
+
+    @JsonProperty
+    public Heatmap heatmap = new Heatmap();
+
+    @JsonProperty
+    public Server server = new Server();
 }
@@ -0,0 +1,19 @@
+package net.lukemcomber.genegl.model;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class Heatmap {
+
+    // Accumulate occupancy, per-type density and turnover per world cell; H cycles the overlay
+    @JsonProperty
+    public Boolean enabled = false;
+
+    // Each finished epoch's heatmaps go here as raw float32 grids; empty keeps them in memory only
+    @JsonProperty
+    public String path = "./heatmaps/";
+}
@@ -0,0 +1,23 @@
+package net.lukemcomber.genegl.model;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class Recording {
+
+    // Record every published frame into a .ggla archive
+    @JsonProperty
+    public Boolean enabled = false;
+
+    // Output directory; the archive is named after the simulation
+    @JsonProperty
+    public String path = "./recordings/";
+
+    // A full keyframe every N recorded frames, deltas in between
+    @JsonProperty
+    public Integer keyframeInterval = 120;
+}
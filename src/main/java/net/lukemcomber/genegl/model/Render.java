@@ -0,0 +1,105 @@
+package net.lukemcomber.genegl.model;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class Render {
+
+    public static final String MODE_POINTS = "points";
+    public static final String MODE_GRID_TEXTURE = "grid-texture";
+
+    public static final String UPLOAD_FULL = "full";
+    public static final String UPLOAD_DELTA = "delta";
+
+    public static final String UPLOAD_BUFFER_SUBDATA = "subdata";
+    public static final String UPLOAD_BUFFER_PERSISTENT = "persistent";
+    public static final String UPLOAD_BUFFER_UNSYNCHRONIZED = "unsynchronized";
+
+    public static final String VERTEX_FORMAT_PACKED = "packed";
+    public static final String VERTEX_FORMAT_LEGACY = "legacy";
+
+    public static final String SCHEDULER_VSYNC = "vsync";
+    public static final String SCHEDULER_UNCAPPED = "uncapped";
+    public static final String SCHEDULER_FIXED = "fixed";
+    public static final String SCHEDULER_ON_TICK = "on-tick";
+
+    // "points" (one GL_POINT per cell) or "grid-texture" (type byte texture + fullscreen quad)
+    @JsonProperty
+    public String mode = MODE_POINTS;
+
+    // "packed" (6 byte interleaved, palette indexed) or "legacy" (float position + float RGBA)
+    @JsonProperty
+    public String vertexFormat = VERTEX_FORMAT_PACKED;
+
+    // "full" (re-send every cell each frame) or "delta" (slot-stable, changed ranges only; packed format)
+    @JsonProperty
+    public String upload = UPLOAD_FULL;
+
+    // How full uploads reach the GPU: "subdata" (orphan + glBufferSubData), "persistent" (fenced ring of
+    // mapped segments, per-frame mapping without buffer storage) or "unsynchronized" (always per-frame mapping)
+    @JsonProperty
+    public String uploadBuffer = UPLOAD_BUFFER_SUBDATA;
+
+    // Delta uploads compact the slot table once this fraction of slots is free
+    @JsonProperty
+    public Float compactThreshold = 0.25f;
+
+    // Full uploads only pack the world tiles of this many cells square that are on screen; unset or 0 packs every cell
+    @JsonProperty
+    public Integer cullTileSize = null;
+
+    // Below one pixel per cell, culled uploads draw blocks of the LOD pyramid instead of cells
+    @JsonProperty
+    public Boolean lod = false;
+
+    // When the window draws: "vsync" (unset), "uncapped", "fixed" (targetFps) or "on-tick" (vsync, only new ticks or input)
+    @JsonProperty
+    public String scheduler = null;
+
+    @JsonProperty
+    public Integer targetFps = 60;
+
+    // Above this much work per frame the HUD is decimated, then the LOD coarsened; unset or 0 disables
+    @JsonProperty
+    public Float frameBudgetMs = null;
+
+    // LOD levels the frame budget may drop on top of what the zoom asks for
+    @JsonProperty
+    public Integer maxDetailBias = 2;
+
+    // Threads packing vertices of large frames in point mode; 0 for one per core, 1 packs on the render thread
+    @JsonProperty
+    public Integer packThreads = 0;
+
+    // Tiles of the epoch comparison view (C in the viewer): the live epoch and the newest finished ones; unset, 0 or 1 disables
+    @JsonProperty
+    public Integer compareEpochs = null;
+
+    // Render without a window through the software rasterizer, writing PNG frames
+    @JsonProperty
+    public Boolean headless = false;
+
+    @JsonProperty
+    public String framePath = "./frames/";
+
+    @JsonProperty
+    public Integer frameEveryTicks = 24;
+
+    @JsonProperty
+    public Integer frameWidth = 1920;
+
+    @JsonProperty
+    public Integer frameHeight = 1080;
+
+    // Headless rendering stops once no new tick arrived for this long
+    @JsonProperty
+    public Integer idleTimeoutSeconds = 30;
+
+    // Frame timing percentiles are written to metadata.export.path this often; unset or 0 disables
+    @JsonProperty
+    public Integer timingExportSeconds = null;
+}
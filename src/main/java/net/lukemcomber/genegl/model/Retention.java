@@ -0,0 +1,34 @@
+package net.lukemcomber.genegl.model;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class Retention {
+
+    // Keep only the newest keep-epochs as ecosystems, spill older ones to disk
+    @JsonProperty
+    public Boolean enabled = false;
+
+    // Epochs not spilled, the running one included
+    @JsonProperty
+    public Integer keepEpochs = 3;
+
+    // Directory of the spill file; it is deleted on exit
+    @JsonProperty
+    public String path = "./epochs/";
+
+    // Spilled epochs are deflated in blocks of this many KiB
+    @JsonProperty
+    public Integer blockKb = 256;
+
+    // 1 (fastest) to 9 (smallest)
+    @JsonProperty
+    public Integer compressionLevel = 1;
+
+    @JsonProperty
+    public Integer checkIntervalMs = 1000;
+}
@@ -0,0 +1,33 @@
+package net.lukemcomber.genegl.model;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class Server {
+
+    // Serve live metrics and controls over HTTP while the simulation runs
+    @JsonProperty
+    public Boolean enabled = false;
+
+    @JsonProperty
+    public Integer port = 8080;
+
+    // Loopback only by default; the control endpoints are unauthenticated
+    @JsonProperty
+    public String address = "127.0.0.1";
+
+    // How often the metrics snapshot served to clients is rebuilt
+    @JsonProperty
+    public Integer publishIntervalMs = 500;
+
+    // Stream frames to browsers over the /live WebSocket
+    @JsonProperty
+    public Boolean liveView = true;
+
+    @JsonProperty
+    public Integer maxViewers = 64;
+}
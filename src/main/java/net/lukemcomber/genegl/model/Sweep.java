@@ -0,0 +1,41 @@
+package net.lukemcomber.genegl.model;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Sweep {
+
+    // Configuration file every run starts from (filesystem or classpath)
+    @JsonProperty
+    public String base = "sim-parameters.json";
+
+    // Reports, per-run metadata exports and the resume log go here
+    @JsonProperty
+    public String output = "./sweeps/";
+
+    // Values to try per parameter; every combination is one run. Keys naming a simulation
+    // field (e.g. initial-population-size) set that field, anything else is an ecosystem
+    // configuration property (e.g. action.seed.eject).
+    @JsonProperty
+    public Map<String, List<Object>> parameters = new LinkedHashMap<>();
+
+    // Concurrent runs; 0 sizes the pool from cores and max heap
+    @JsonProperty
+    public Integer parallelism = 0;
+
+    // Heap budget assumed per concurrent run when sizing the pool
+    @JsonProperty
+    public Integer memoryPerRunMb = 512;
+
+    // A run whose tick counter has not moved for this long is recorded as stalled and keeps its pool slot
+    @JsonProperty
+    public Integer stallTimeoutSeconds = 120;
+}
@@ -0,0 +1,242 @@
+package net.lukemcomber.genegl.record;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Random access over a {@link FrameArchive}. The file is read through memory-mapped windows,
+ * so archives larger than 2 GB work and only the pages actually touched are loaded. Seeking
+ * binary-searches the keyframe index and replays at most one keyframe interval of deltas.
+ * Archives whose recording never closed have no index; it is rebuilt by walking the records.
+ */
+public class ArchiveReader implements AutoCloseable {
+
+    private static final long WINDOW_BYTES = 64L << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final int width;
+    private final int height;
+
+    private long dataEnd;
+    private long frames;
+    private int keyframes;
+    private long[] keyframeFrames;
+    private long[] keyframeOffsets;
+
+    private MappedByteBuffer window;
+    private long windowStart = 0;
+    private long windowEnd = 0;
+
+    public ArchiveReader(final Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            if (size < FrameArchive.HEADER_BYTES) {
+                throw new IOException("Not a GeneGL archive: " + path);
+            }
+            map(0, FrameArchive.HEADER_BYTES);
+            if (window.getInt(0) != FrameArchive.MAGIC) {
+                throw new IOException("Not a GeneGL archive: " + path);
+            }
+            if (window.getShort(4) != FrameArchive.VERSION) {
+                throw new IOException("Unsupported archive version " + window.getShort(4) + ": " + path);
+            }
+            width = window.getInt(8);
+            height = window.getInt(12);
+            if (!readIndex()) {
+                System.err.println("[Replay] " + path + " has no index, scanning records");
+                scan();
+            }
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public int keyframes() {
+        return keyframes;
+    }
+
+    public ReplayState newState() {
+        return new ReplayState(width, height);
+    }
+
+    /**
+     * Decodes the frame after the one in {@code state}. Returns false at the end of the archive.
+     */
+    public boolean next(final ReplayState state) throws IOException {
+        if (state.frame + 1 >= frames || state.nextOffset >= dataEnd) {
+            return false;
+        }
+        final long offset = state.nextOffset;
+        MappedByteBuffer buf = window(offset, FrameArchive.RECORD_HEADER_BYTES);
+        final byte kind = buf.get();
+        final int length = buf.getInt();
+        buf = window(offset, FrameArchive.RECORD_HEADER_BYTES + (long) length);
+        buf.position((int) (offset - windowStart) + FrameArchive.RECORD_HEADER_BYTES);
+
+        state.totalTicks = FrameArchive.getVarLong(buf);
+        state.totalDays = FrameArchive.getVarLong(buf);
+        state.currentTick = FrameArchive.getVarLong(buf);
+        if (FrameArchive.KEYFRAME == kind) {
+            final byte[] name = new byte[FrameArchive.getVarInt(buf)];
+            buf.get(name);
+            state.name = new String(name, StandardCharsets.UTF_8);
+            state.clear();
+        }
+        final int upserts = FrameArchive.getVarInt(buf);
+        int cell = 0;
+        for (int i = 0; i < upserts; i++) {
+            cell += FrameArchive.getVarInt(buf);
+            state.upsert(cell, buf.get());
+        }
+        if (FrameArchive.DELTA == kind) {
+            final int deaths = FrameArchive.getVarInt(buf);
+            cell = 0;
+            for (int i = 0; i < deaths; i++) {
+                cell += FrameArchive.getVarInt(buf);
+                state.remove(cell);
+            }
+        }
+        state.nextOffset = offset + FrameArchive.RECORD_HEADER_BYTES + length;
+        state.frame++;
+        return true;
+    }
+
+    /**
+     * Brings {@code state} to frame {@code target}, clamped to the archive. Moving forward
+     * within the current keyframe interval only applies the deltas in between.
+     */
+    public void seek(final ReplayState state, final long target) throws IOException {
+        final long frame = Math.max(0, Math.min(frames - 1, target));
+        if (frame == state.frame) return;
+
+        int k = Arrays.binarySearch(keyframeFrames, 0, keyframes, frame);
+        if (k < 0) {
+            k = -k - 2;
+        }
+        if (k < 0) {
+            throw new IOException("Archive does not start with a keyframe: " + path);
+        }
+        if (state.frame < keyframeFrames[k] || state.frame > frame) {
+            state.frame = keyframeFrames[k] - 1;
+            state.nextOffset = keyframeOffsets[k];
+        }
+        while (state.frame < frame && next(state)) {
+            // apply deltas up to the target
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean readIndex() throws IOException {
+        if (size < FrameArchive.HEADER_BYTES + Integer.BYTES + FrameArchive.TRAILER_BYTES) {
+            return false;
+        }
+        final long trailer = size - FrameArchive.TRAILER_BYTES;
+        MappedByteBuffer buf = window(trailer, FrameArchive.TRAILER_BYTES);
+        final long indexOffset = buf.getLong();
+        final long frameCount = buf.getLong();
+        final int count = buf.getInt();
+        if (buf.getInt() != FrameArchive.INDEX_MAGIC || indexOffset < FrameArchive.HEADER_BYTES
+                || indexOffset + Integer.BYTES + (long) count * FrameArchive.INDEX_ENTRY_BYTES != trailer) {
+            return false;
+        }
+        buf = window(indexOffset, Integer.BYTES + (long) count * FrameArchive.INDEX_ENTRY_BYTES);
+        if (buf.getInt() != count) {
+            return false;
+        }
+        keyframeFrames = new long[Math.max(1, count)];
+        keyframeOffsets = new long[Math.max(1, count)];
+        for (int i = 0; i < count; i++) {
+            keyframeFrames[i] = buf.getLong();
+            buf.getLong(); // totalTicks, not needed for frame based seeking
+            keyframeOffsets[i] = buf.getLong();
+        }
+        keyframes = count;
+        frames = frameCount;
+        dataEnd = indexOffset;
+        return true;
+    }
+
+    /*
+     * Walks the record headers of an archive whose writer never closed. The mapped tail of
+     * such a file is zero filled, so the walk stops at the first record that is not valid.
+     */
+    private void scan() throws IOException {
+        keyframeFrames = new long[64];
+        keyframeOffsets = new long[64];
+        long offset = FrameArchive.HEADER_BYTES;
+        long frame = 0;
+        while (offset + FrameArchive.RECORD_HEADER_BYTES <= size) {
+            final MappedByteBuffer buf = window(offset, FrameArchive.RECORD_HEADER_BYTES);
+            final byte kind = buf.get();
+            final int length = buf.getInt();
+            if ((FrameArchive.KEYFRAME != kind && FrameArchive.DELTA != kind) || length < 0
+                    || offset + FrameArchive.RECORD_HEADER_BYTES + length > size) {
+                break;
+            }
+            if (FrameArchive.KEYFRAME == kind) {
+                if (keyframes == keyframeFrames.length) {
+                    keyframeFrames = Arrays.copyOf(keyframeFrames, keyframes * 2);
+                    keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframes * 2);
+                }
+                keyframeFrames[keyframes] = frame;
+                keyframeOffsets[keyframes] = offset;
+                keyframes++;
+            }
+            offset += FrameArchive.RECORD_HEADER_BYTES + length;
+            frame++;
+        }
+        frames = frame;
+        dataEnd = offset;
+    }
+
+    /*
+     * A mapped window covering [offset, offset + length), positioned at offset.
+     */
+    private MappedByteBuffer window(final long offset, final long length) throws IOException {
+        if (null == window || offset < windowStart || offset + length > windowEnd) {
+            map(offset, Math.min(size - offset, Math.max(WINDOW_BYTES, length)));
+        }
+        window.position((int) (offset - windowStart));
+        return window;
+    }
+
+    private void map(final long start, final long length) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = start;
+        windowEnd = start + length;
+    }
+}
@@ -0,0 +1,130 @@
+package net.lukemcomber.genegl.record;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only writer for {@link FrameArchive} files. Records are written straight into a
+ * memory-mapped window of the file; when a record does not fit, the next window is mapped at
+ * the current end. Close appends the keyframe index and trailer and trims the file to size.
+ */
+public class ArchiveWriter implements AutoCloseable {
+
+    private static final long REGION_BYTES = 64L << 20;
+
+    private final FileChannel channel;
+
+    private MappedByteBuffer region;
+    private long regionStart = 0;
+
+    private long recordStart = -1;
+    private long closedSize = -1;
+    private long frames = 0;
+
+    // keyframe index: frame number, totalTicks, offset
+    private long[] index = new long[3 * 64];
+    private int keyframes = 0;
+
+    public ArchiveWriter(final Path path, final int width, final int height) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(0, REGION_BYTES);
+        region.putInt(FrameArchive.MAGIC);
+        region.putShort(FrameArchive.VERSION);
+        region.putShort((short) 0);
+        region.putInt(width);
+        region.putInt(height);
+    }
+
+    /**
+     * Starts a record and guarantees room for {@code maxPayloadBytes} of payload. The payload
+     * is written through {@link #buffer()} and finished with {@link #endRecord()}.
+     */
+    public void beginRecord(final byte kind, final long totalTicks, final int maxPayloadBytes) throws IOException {
+        ensure(FrameArchive.RECORD_HEADER_BYTES + maxPayloadBytes);
+        recordStart = position();
+        if (FrameArchive.KEYFRAME == kind) {
+            if (index.length < (keyframes + 1) * 3) {
+                index = Arrays.copyOf(index, index.length * 2);
+            }
+            index[keyframes * 3] = frames;
+            index[keyframes * 3 + 1] = totalTicks;
+            index[keyframes * 3 + 2] = recordStart;
+            keyframes++;
+        }
+        region.put(kind);
+        region.putInt(0); // patched in endRecord
+    }
+
+    public MappedByteBuffer buffer() {
+        return region;
+    }
+
+    public void endRecord() {
+        final int start = (int) (recordStart - regionStart);
+        region.putInt(start + 1, region.position() - start - FrameArchive.RECORD_HEADER_BYTES);
+        recordStart = -1;
+        frames++;
+    }
+
+    /**
+     * Bytes written so far; the final file size once closed.
+     */
+    public long position() {
+        return null == region ? closedSize : regionStart + region.position();
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public int keyframes() {
+        return keyframes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            ensure(Integer.BYTES + keyframes * FrameArchive.INDEX_ENTRY_BYTES + FrameArchive.TRAILER_BYTES);
+            final long indexOffset = position();
+            region.putInt(keyframes);
+            for (int i = 0; i < keyframes * 3; i++) {
+                region.putLong(index[i]);
+            }
+            region.putLong(indexOffset);
+            region.putLong(frames);
+            region.putInt(keyframes);
+            region.putInt(FrameArchive.INDEX_MAGIC);
+            final long end = position();
+            region.force();
+            region = null;
+            closedSize = end;
+            channel.truncate(end);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensure(final long bytes) throws IOException {
+        if (region.remaining() < bytes) {
+            region.force();
+            map(position(), Math.max(REGION_BYTES, bytes));
+        }
+    }
+
+    private void map(final long start, final long size) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        regionStart = start;
+    }
+}
@@ -0,0 +1,184 @@
+package net.lukemcomber.genegl.record;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.FrameDelta;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Layout of a recorded run (.ggla), all little-endian:
+ * <pre>
+ * header   magic "GGLA", u16 version, u16 flags, i32 width, i32 height
+ * record   u8 kind, i32 payload length, payload
+ *   payload  varlong totalTicks, varlong totalDays, varlong currentTick, then
+ *   KEYFRAME varint name length, UTF-8 name, varint n, n x (varint index gap, u8 type)
+ *   DELTA    varint n, n x (varint index gap, u8 type), varint d, d x varint index gap
+ * index    i32 n, n x (i64 frame number, i64 totalTicks, i64 record offset), keyframes only
+ * trailer  i64 index offset, i64 frames, i32 keyframes, magic "GGLI"
+ * </pre>
+ * Cell indices are y * width + x, sorted and stored as gaps from the previous index. A delta
+ * lists births and type changes (new type) followed by deaths. The index and trailer are
+ * written on close; an archive without them can still be read front to back. The live view
+ * sends its cells in the same encoding, through {@link DeltaEncoder}.
+ */
+public final class FrameArchive {
+
+    public static final int MAGIC = 0x414C4747;        // "GGLA"
+    public static final int INDEX_MAGIC = 0x494C4747;  // "GGLI"
+    public static final short VERSION = 1;
+
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_HEADER_BYTES = 5;
+    public static final int INDEX_ENTRY_BYTES = 24;
+    public static final int TRAILER_BYTES = 24;
+
+    public static final byte KEYFRAME = 1;
+    public static final byte DELTA = 2;
+
+    public static final String EXTENSION = ".ggla";
+
+    // Worst case encoded sizes, used to reserve space before writing a record
+    public static final int MAX_VARINT_BYTES = 5;
+    public static final int MAX_VARLONG_BYTES = 10;
+
+    private FrameArchive() {
+    }
+
+    public static void putVarInt(final ByteBuffer dst, int value) {
+        while ((value & ~0x7F) != 0) {
+            dst.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        dst.put((byte) value);
+    }
+
+    public static void putVarLong(final ByteBuffer dst, long value) {
+        while ((value & ~0x7FL) != 0) {
+            dst.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        dst.put((byte) value);
+    }
+
+    public static int getVarInt(final ByteBuffer src) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = src.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint at " + src.position());
+    }
+
+    public static long getVarLong(final ByteBuffer src) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte b = src.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varlong at " + src.position());
+    }
+
+    /**
+     * Cell lists in record order: upserts as {@code varint n, n x (varint index gap, u8 type)},
+     * deaths as {@code varint d, d x varint index gap}. Keeps its sort scratch between frames.
+     */
+    public static final class DeltaEncoder {
+
+        // index << 8 | type for upserts, plain index for deaths
+        private long[] upserts = new long[1024];
+        private int[] deaths = new int[1024];
+        private int upsertCount = 0;
+        private int deathCount = 0;
+
+        /**
+         * Sorts the births and type changes of {@code delta}, and its deaths, into index order.
+         */
+        public void sort(final FrameDelta delta) {
+            upsertCount = delta.births() + delta.changes();
+            if (upserts.length < upsertCount) {
+                upserts = new long[Math.max(upsertCount, upserts.length * 2)];
+            }
+            int n = 0;
+            for (int i = 0; i < delta.births(); i++) {
+                upserts[n++] = ((long) delta.birthCell(i) << 8) | delta.birthType(i);
+            }
+            for (int i = 0; i < delta.changes(); i++) {
+                upserts[n++] = ((long) delta.changeCell(i) << 8) | delta.changeType(i);
+            }
+            Arrays.sort(upserts, 0, n);
+
+            deathCount = delta.deaths();
+            if (deaths.length < deathCount) {
+                deaths = new int[Math.max(deathCount, deaths.length * 2)];
+            }
+            for (int i = 0; i < deathCount; i++) {
+                deaths[i] = delta.deathCell(i);
+            }
+            Arrays.sort(deaths, 0, deathCount);
+        }
+
+        /**
+         * Every occupied cell of {@code grid} as an upsert, for a keyframe; no deaths.
+         */
+        public void sortOccupied(final CellGrid grid) {
+            upsertCount = grid.occupied();
+            if (upserts.length < upsertCount) {
+                upserts = new long[Math.max(upsertCount, upserts.length * 2)];
+            }
+            final byte[] types = grid.cells();
+            for (int i = 0; i < upsertCount; i++) {
+                final int index = grid.occupiedCell(i);
+                upserts[i] = ((long) index << 8) | (types[index] - 1);
+            }
+            Arrays.sort(upserts, 0, upsertCount);
+            deathCount = 0;
+        }
+
+        public int upserts() {
+            return upsertCount;
+        }
+
+        public int deaths() {
+            return deathCount;
+        }
+
+        /**
+         * Worst case of {@link #putUpserts} and {@link #putDeaths} together.
+         */
+        public int maxBytes() {
+            return 2 * MAX_VARINT_BYTES + upsertCount * (MAX_VARINT_BYTES + 1) + deathCount * MAX_VARINT_BYTES;
+        }
+
+        public void putUpserts(final ByteBuffer out) {
+            putVarInt(out, upsertCount);
+            int previous = 0;
+            for (int i = 0; i < upsertCount; i++) {
+                final int index = (int) (upserts[i] >>> 8);
+                putVarInt(out, index - previous);
+                out.put((byte) upserts[i]);
+                previous = index;
+            }
+        }
+
+        public void putDeaths(final ByteBuffer out) {
+            putVarInt(out, deathCount);
+            int previous = 0;
+            for (int i = 0; i < deathCount; i++) {
+                putVarInt(out, deaths[i] - previous);
+                previous = deaths[i];
+            }
+        }
+    }
+}
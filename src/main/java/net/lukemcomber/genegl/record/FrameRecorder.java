@@ -0,0 +1,125 @@
+package net.lukemcomber.genegl.record;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.FrameDelta;
+import net.lukemcomber.genegl.frame.FrameListener;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Records every published frame into a {@link FrameArchive}: a keyframe every
+ * {@code keyframeInterval} frames and whenever the epoch changes, deltas in between. Runs on
+ * the publisher thread, so the time spent per frame is measured and reported on close.
+ */
+public class FrameRecorder implements FrameListener {
+
+    private final Path path;
+    private final ArchiveWriter writer;
+    private final CellGrid grid;
+    private final FrameDelta delta = new FrameDelta();
+    private final int keyframeInterval;
+
+    private final FrameArchive.DeltaEncoder encoder = new FrameArchive.DeltaEncoder();
+
+    private String lastName = null;
+    private long lastTick = -1;
+    private long sinceKeyframe = 0;
+    private boolean failed = false;
+
+    // Stats
+    private long cells = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    public FrameRecorder(final Path path, final SpatialCoordinates dimensions, final int keyframeInterval)
+            throws IOException {
+        this.path = path;
+        this.grid = new CellGrid(dimensions);
+        this.writer = new ArchiveWriter(path, grid.width(), grid.height());
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    @Override
+    public void onFrame(final FrameSnapshot frame) {
+        if (failed) return;
+        final long start = System.nanoTime();
+        try {
+            grid.apply(frame, delta);
+            final boolean newEpoch = frame.startsEpochAfter(lastName, lastTick);
+            if (newEpoch || sinceKeyframe >= keyframeInterval) {
+                writeKeyframe(frame);
+                sinceKeyframe = 0;
+            } else {
+                writeDelta(frame);
+            }
+            sinceKeyframe++;
+            lastName = frame.name();
+            lastTick = frame.totalTicks();
+            cells += grid.occupied();
+        } catch (final IOException e) {
+            failed = true;
+            System.err.println("[Recorder] Recording stopped, cannot write " + path + ": " + e.getMessage());
+        }
+        final long elapsed = System.nanoTime() - start;
+        totalNanos += elapsed;
+        maxNanos = Math.max(maxNanos, elapsed);
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (final IOException e) {
+            System.err.println("[Recorder] Failed to finish " + path + ": " + e.getMessage());
+            return;
+        }
+        final long frames = writer.frames();
+        final long bytes = writer.position();
+        System.out.printf("[Recorder] %s: %d frames (%d keyframes), %.1f MB, %.2f bytes/cell, avg %.1f us/frame, max %.2f ms, %.0f frames/s%n",
+                path, frames, writer.keyframes(), bytes / (1024.0 * 1024.0),
+                cells == 0 ? 0.0 : (double) bytes / cells,
+                frames == 0 ? 0.0 : totalNanos / 1_000.0 / frames,
+                maxNanos / 1_000_000.0,
+                totalNanos == 0 ? 0.0 : frames * 1_000_000_000.0 / totalNanos);
+    }
+
+    private void writeKeyframe(final FrameSnapshot frame) throws IOException {
+        final byte[] name = null == frame.name() ? new byte[0] : frame.name().getBytes(StandardCharsets.UTF_8);
+        encoder.sortOccupied(grid);
+        writer.beginRecord(FrameArchive.KEYFRAME, frame.totalTicks(),
+                3 * FrameArchive.MAX_VARLONG_BYTES + FrameArchive.MAX_VARINT_BYTES + name.length + encoder.maxBytes());
+        final ByteBuffer out = writer.buffer();
+        putTime(out, frame);
+        FrameArchive.putVarInt(out, name.length);
+        out.put(name);
+        encoder.putUpserts(out);
+        writer.endRecord();
+    }
+
+    private void writeDelta(final FrameSnapshot frame) throws IOException {
+        encoder.sort(delta);
+        writer.beginRecord(FrameArchive.DELTA, frame.totalTicks(),
+                3 * FrameArchive.MAX_VARLONG_BYTES + encoder.maxBytes());
+        final ByteBuffer out = writer.buffer();
+        putTime(out, frame);
+        encoder.putUpserts(out);
+        encoder.putDeaths(out);
+        writer.endRecord();
+    }
+
+    private void putTime(final ByteBuffer out, final FrameSnapshot frame) {
+        FrameArchive.putVarLong(out, frame.totalTicks());
+        FrameArchive.putVarLong(out, frame.totalDays());
+        FrameArchive.putVarLong(out, frame.currentTick());
+    }
+}
@@ -0,0 +1,175 @@
+package net.lukemcomber.genegl.record;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameExchange;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.frame.FrameStats;
+import net.lukemcomber.genegl.frame.PlaybackControl;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays an archive into a {@link FrameExchange} in place of the live publisher. Decoding runs
+ * on its own thread ahead of the renderer: at high speeds several recorded frames are applied
+ * per publish and only the newest one is handed over. At 1x one recorded frame is shown per
+ * {@link #BASE_FRAMES_PER_SECOND}th of a second.
+ */
+public class ReplayPlayer implements Runnable, PlaybackControl {
+
+    public static final double BASE_FRAMES_PER_SECOND = 30.0;
+    public static final double MIN_SPEED = 1.0;
+    public static final double MAX_SPEED = 1000.0;
+
+    private static final long PUBLISH_INTERVAL_NANOS = 1_000_000_000L / 60;
+
+    private final ArchiveReader reader;
+    private final ReplayState state;
+    private final FrameExchange exchange;
+    private final FrameStats stats = new FrameStats();
+
+    private volatile boolean running = false;
+    private volatile boolean paused = false;
+    private volatile double speed = MIN_SPEED;
+    // frame to seek to before playing on, -1 when none; taken with getAndSet so no seek is lost
+    private final AtomicLong seekTarget = new AtomicLong(0);
+    private volatile long position = -1;
+    private Thread thread;
+
+    // fractional frames owed to the playback clock
+    private double owed = 0.0;
+
+    public ReplayPlayer(final ArchiveReader reader, final FrameExchange exchange) {
+        this.reader = reader;
+        this.state = reader.newState();
+        this.exchange = exchange;
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this, "genegl-replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (null != thread) {
+            thread.interrupt();
+            try {
+                thread.join(1000);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public FrameStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void pause() {
+        paused = true;
+    }
+
+    @Override
+    public void resume() {
+        paused = false;
+    }
+
+    @Override
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @Override
+    public double speed() {
+        return speed;
+    }
+
+    @Override
+    public void setSpeed(final double speed) {
+        this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+
+    @Override
+    public double tickDelayMillis() {
+        return 1000.0 / (speed * BASE_FRAMES_PER_SECOND);
+    }
+
+    @Override
+    public void setTickDelayMillis(final double millis) {
+        setSpeed(millis <= 0 ? MAX_SPEED : 1000.0 / (millis * BASE_FRAMES_PER_SECOND));
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public long length() {
+        return reader.frames();
+    }
+
+    @Override
+    public void seek(final long frame) {
+        seekTarget.set(Math.max(0, Math.min(reader.frames() - 1, frame)));
+    }
+
+    @Override
+    public void run() {
+        long last = System.nanoTime();
+        try {
+            while (running) {
+                final long now = System.nanoTime();
+                final long elapsed = now - last;
+                last = now;
+
+                boolean moved = false;
+                final long target = seekTarget.getAndSet(-1);
+                if (target >= 0) {
+                    final long start = System.nanoTime();
+                    reader.seek(state, target);
+                    final long took = System.nanoTime() - start;
+                    if (took > 50_000_000L) {
+                        System.err.printf("[Replay] Seek to frame %,d took %.1f ms%n", target, took / 1_000_000.0);
+                    }
+                    owed = 0.0;
+                    moved = true;
+                } else if (!paused) {
+                    // never owe more than a quarter second, so a slow disk cannot build up a backlog
+                    final double rate = speed * BASE_FRAMES_PER_SECOND;
+                    owed = Math.min(owed + rate * elapsed / 1_000_000_000.0, Math.max(1.0, rate / 4));
+                    while (owed >= 1.0) {
+                        owed -= 1.0;
+                        if (!reader.next(state)) {
+                            // hold the last frame
+                            paused = true;
+                            owed = 0.0;
+                            break;
+                        }
+                        moved = true;
+                    }
+                }
+
+                if (moved) {
+                    final FrameSnapshot frame = exchange.back();
+                    state.fill(frame);
+                    stats.update(frame, -1);
+                    exchange.publish();
+                    position = state.frame();
+                }
+                LockSupport.parkNanos(PUBLISH_INTERVAL_NANOS);
+            }
+        } catch (final IOException | RuntimeException e) {
+            System.err.println("[Replay] Playback stopped: " + e.getMessage());
+        }
+    }
+}
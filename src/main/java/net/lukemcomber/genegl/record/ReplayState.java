@@ -0,0 +1,111 @@
+package net.lukemcomber.genegl.record;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * The world as of one decoded archive frame. Live cells are kept densely packed with a
+ * world index to slot map, so births, deaths and type changes are all O(1).
+ */
+public class ReplayState {
+
+    private final int width;
+    private final int[] slotOfCell;
+
+    private int[] cells = new int[1024];
+    private byte[] types = new byte[1024];
+    private int count = 0;
+
+    // position in the archive
+    long frame = -1;
+    long nextOffset = FrameArchive.HEADER_BYTES;
+
+    String name;
+    long totalTicks;
+    long totalDays;
+    long currentTick;
+
+    public ReplayState(final int width, final int height) {
+        this.width = width;
+        this.slotOfCell = new int[width * height];
+        Arrays.fill(slotOfCell, -1);
+    }
+
+    /**
+     * Frame number of the decoded state, -1 before the first frame.
+     */
+    public long frame() {
+        return frame;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long totalTicks() {
+        return totalTicks;
+    }
+
+    public long totalDays() {
+        return totalDays;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public void fill(final FrameSnapshot frame) {
+        frame.begin(name, totalTicks, totalDays, currentTick);
+        frame.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            final int cell = cells[i];
+            frame.add(cell % width, cell / width, CellType.of(types[i]));
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            slotOfCell[cells[i]] = -1;
+        }
+        count = 0;
+    }
+
+    void upsert(final int cell, final byte type) {
+        final int slot = slotOfCell[cell];
+        if (slot >= 0) {
+            types[slot] = type;
+            return;
+        }
+        if (count == cells.length) {
+            cells = Arrays.copyOf(cells, count * 2);
+            types = Arrays.copyOf(types, count * 2);
+        }
+        slotOfCell[cell] = count;
+        cells[count] = cell;
+        types[count] = type;
+        count++;
+    }
+
+    void remove(final int cell) {
+        final int slot = slotOfCell[cell];
+        if (slot < 0) return;
+        slotOfCell[cell] = -1;
+        final int last = --count;
+        if (slot != last) {
+            cells[slot] = cells[last];
+            types[slot] = types[last];
+            slotOfCell[cells[slot]] = slot;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package net.lukemcomber.genegl.server;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.PlaybackControl;
+import net.lukemcomber.genegl.metrics.MetricsPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pause, resume and tick delay for the frame source. Calls go straight to its
+ * {@link PlaybackControl}, which only flips volatile fields the source polls. A source without
+ * controls answers 501.
+ */
+@RestController
+@RequestMapping("/control")
+public class ControlController {
+
+    private final MetricsPublisher metrics;
+
+    public ControlController(final MetricsPublisher metrics) {
+        this.metrics = metrics;
+    }
+
+    @GetMapping
+    public Map<String, Object> state() {
+        return state(control());
+    }
+
+    @PostMapping("/pause")
+    public Map<String, Object> pause() {
+        final PlaybackControl control = control();
+        control.pause();
+        return state(control);
+    }
+
+    @PostMapping("/resume")
+    public Map<String, Object> resume() {
+        final PlaybackControl control = control();
+        control.resume();
+        return state(control);
+    }
+
+    @PutMapping("/tick-delay")
+    public Map<String, Object> tickDelay(@RequestParam("ms") final double millis) {
+        if (millis < 0 || Double.isNaN(millis)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tick delay must be zero or positive");
+        }
+        final PlaybackControl control = control();
+        control.setTickDelayMillis(millis);
+        return state(control);
+    }
+
+    private PlaybackControl control() {
+        final PlaybackControl control = metrics.control();
+        if (null == control) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                    "This frame source cannot be paused or slowed down");
+        }
+        return control;
+    }
+
+    private static Map<String, Object> state(final PlaybackControl control) {
+        final Map<String, Object> state = new LinkedHashMap<>();
+        state.put("paused", control.isPaused());
+        state.put("speed", control.speed());
+        state.put("tick-delay-ms", control.tickDelayMillis());
+        state.put("position", control.position());
+        state.put("length", control.length());
+        return state;
+    }
+}
@@ -0,0 +1,58 @@
+package net.lukemcomber.genegl.server;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.epoch.EpochRecord;
+import net.lukemcomber.genegl.epoch.EpochRetention;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Lists the epochs the {@link EpochRetention} knows and serves the final frame of a finished one,
+ * reading a spilled one back from the spill file. The frame is a keyframe in
+ * the {@link LiveViewStream} format, so {@code live.html}'s decoder reads it as is.
+ */
+@RestController
+public class EpochController {
+
+    private final EpochRetention retention;
+
+    public EpochController(final EpochRetention retention) {
+        this.retention = retention;
+    }
+
+    @GetMapping("/epochs")
+    public List<EpochRecord> epochs() {
+        return retention.records();
+    }
+
+    @GetMapping(value = "/epochs/{index}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> epoch(@PathVariable("index") final int index) {
+        final FrameSnapshot frame;
+        try {
+            frame = retention.frame(index);
+        } catch (final IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read epoch " + index, e);
+        }
+        if (null == frame) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No finished epoch " + index);
+        }
+        final ByteBuffer keyframe = LiveViewStream.keyframe(frame, retention.dimensions());
+        final byte[] body = new byte[keyframe.remaining()];
+        keyframe.get(body);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(body);
+    }
+}
@@ -0,0 +1,96 @@
+package net.lukemcomber.genegl.server;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.Session;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Binary WebSocket endpoint at {@code /live} feeding viewers from a {@link LiveViewStream}.
+ * Messages go out through the container's asynchronous remote, so a slow viewer holds neither
+ * a thread nor the publisher; the stream decides what it gets next.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableWebSocket
+public class LiveViewSocket extends BinaryWebSocketHandler implements WebSocketConfigurer {
+
+    private static final String VIEWER = "genegl.viewer";
+
+    private final LiveViewStream stream;
+
+    public LiveViewSocket(final LiveViewStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(final WebSocketHandlerRegistry registry) {
+        registry.addHandler(this, "/live");
+    }
+
+    @Override
+    public void afterConnectionEstablished(final WebSocketSession session) throws IOException {
+        final Session nativeSession = ((NativeWebSocketSession) session).getNativeSession(Session.class);
+        if (null == nativeSession) {
+            session.close(CloseStatus.SERVER_ERROR.withReason("No asynchronous transport"));
+            return;
+        }
+        final LiveViewStream.Viewer viewer = stream.connect(new AsyncSink(session, nativeSession.getAsyncRemote()));
+        if (null == viewer) {
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("Too many viewers"));
+            return;
+        }
+        session.getAttributes().put(VIEWER, viewer);
+    }
+
+    @Override
+    public void afterConnectionClosed(final WebSocketSession session, final CloseStatus status) {
+        final Object viewer = session.getAttributes().remove(VIEWER);
+        if (viewer instanceof LiveViewStream.Viewer) {
+            stream.disconnect((LiveViewStream.Viewer) viewer);
+        }
+    }
+
+    private static final class AsyncSink implements LiveViewStream.Sink {
+
+        private final WebSocketSession session;
+        private final RemoteEndpoint.Async remote;
+
+        AsyncSink(final WebSocketSession session, final RemoteEndpoint.Async remote) {
+            this.session = session;
+            this.remote = remote;
+        }
+
+        @Override
+        public void send(final ByteBuffer message, final Consumer<Throwable> done) {
+            try {
+                remote.sendBinary(message, result -> done.accept(result.isOK() ? null : result.getException()));
+            } catch (final RuntimeException e) {
+                done.accept(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                session.close(CloseStatus.GOING_AWAY);
+            } catch (final IOException e) {
+                // already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package net.lukemcomber.genegl.server;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameDelta;
+import net.lukemcomber.genegl.frame.FrameListener;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.record.FrameArchive;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Turns published frames into binary live-view messages for remote viewers. Each frame is
+ * diffed and encoded once, the encoded deltas of the last {@link #CATCH_UP_FRAMES} frames are
+ * kept in a ring, and every viewer has at most one message in flight:
+ * <ul>
+ *     <li>a viewer that is idle gets every delta it has not seen, batched into one message;</li>
+ *     <li>a viewer still sending is skipped, its missed deltas are coalesced into its next message;</li>
+ *     <li>a viewer that fell further behind than the ring, or just connected, gets a keyframe.</li>
+ * </ul>
+ * Sends are asynchronous, so the publisher thread never waits on a socket, and server memory
+ * stays at the ring plus one keyframe however slow the viewers are.
+ * <p>
+ * A message is one or more records, little-endian, cells as world indices (y * width + x),
+ * gap encoded like {@link FrameArchive} records by its {@link FrameArchive.DeltaEncoder}:
+ * <pre>
+ * keyframe: u8 1, u16 width, u16 height, f64 ticks, f64 days, u8 n, n * u32 rgb palette,
+ *           u16 name length, name (UTF-8), varint count, count * (varint gap, u8 type)
+ * delta:    u8 2, f64 ticks, f64 days, varint upserts, upserts * (varint gap, u8 type),
+ *           varint deaths, deaths * varint gap
+ * </pre>
+ */
+public class LiveViewStream implements FrameListener {
+
+    public static final byte KEYFRAME = 1;
+    public static final byte DELTA = 2;
+    public static final int CATCH_UP_FRAMES = 8;
+
+    /**
+     * One viewer's transport. {@link #send} must not block; {@code done} gets null on success.
+     */
+    public interface Sink {
+
+        void send(ByteBuffer message, Consumer<Throwable> done);
+
+        void close();
+    }
+
+    private final CellGrid grid;
+    private final FrameDelta delta = new FrameDelta();
+    private final int maxViewers;
+    private final List<Viewer> viewers = new CopyOnWriteArrayList<>();
+
+    // encoded deltas by sequence number; ring[seq % CATCH_UP_FRAMES] is valid for seq >= oldest
+    private final ByteBuffer[] ring = new ByteBuffer[CATCH_UP_FRAMES];
+    private long seq = 0;
+    private long oldest = 1;
+    private ByteBuffer keyframe = null;
+
+    private String lastName = null;
+    private long lastTick = -1;
+    private double ticks = 0;
+    private double days = 0;
+
+    private final FrameArchive.DeltaEncoder encoder = new FrameArchive.DeltaEncoder();
+
+    // Stats
+    private volatile long messages = 0;
+    private volatile long keyframes = 0;
+    private volatile long coalesced = 0;
+
+    public LiveViewStream(final SpatialCoordinates dimensions, final int maxViewers) {
+        this.grid = new CellGrid(dimensions);
+        this.maxViewers = maxViewers;
+    }
+
+    /**
+     * Registers a viewer and sends it the current state, or returns null when the stream is full.
+     */
+    public synchronized Viewer connect(final Sink sink) {
+        if (viewers.size() >= maxViewers) {
+            return null;
+        }
+        final Viewer viewer = new Viewer(sink);
+        viewers.add(viewer);
+        if (seq > 0) {
+            deliver(viewer);
+        }
+        return viewer;
+    }
+
+    public void disconnect(final Viewer viewer) {
+        viewers.remove(viewer);
+    }
+
+    public int viewers() {
+        return viewers.size();
+    }
+
+    public long messages() {
+        return messages;
+    }
+
+    public long keyframes() {
+        return keyframes;
+    }
+
+    public long coalesced() {
+        return coalesced;
+    }
+
+    @Override
+    public synchronized void onFrame(final FrameSnapshot frame) {
+        grid.apply(frame, delta);
+        final boolean newEpoch = frame.startsEpochAfter(lastName, lastTick);
+        lastName = frame.name();
+        lastTick = frame.totalTicks();
+        ticks = frame.totalTicks();
+        days = frame.totalDays();
+        keyframe = null;
+        seq++;
+        if (newEpoch) {
+            // deltas across an epoch boundary are meaningless, everyone starts over
+            oldest = seq + 1;
+        } else {
+            ring[(int) (seq % CATCH_UP_FRAMES)] = encodeDelta();
+            oldest = Math.max(oldest, seq - CATCH_UP_FRAMES + 1);
+        }
+        for (final Viewer viewer : viewers) {
+            deliver(viewer);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (final Viewer viewer : viewers) {
+            viewer.sink.close();
+        }
+        viewers.clear();
+        System.out.printf("[LiveView] %,d messages sent, %,d keyframes, %,d frames coalesced%n",
+                messages, keyframes, coalesced);
+    }
+
+    /*
+     * Called with the lock held, whenever there is something new for the viewer.
+     */
+    private void deliver(final Viewer viewer) {
+        if (!viewer.busy.compareAndSet(false, true)) {
+            coalesced++;
+            return;
+        }
+        final long from = viewer.seen + 1;
+        final ByteBuffer message;
+        if (from < oldest) {
+            if (null == keyframe) {
+                keyframe = encodeKeyframe(grid, lastName, ticks, days);
+            }
+            message = keyframe.duplicate();
+            keyframes++;
+        } else if (from == seq) {
+            message = ring[(int) (seq % CATCH_UP_FRAMES)].duplicate();
+        } else {
+            int size = 0;
+            for (long s = from; s <= seq; s++) {
+                size += ring[(int) (s % CATCH_UP_FRAMES)].remaining();
+            }
+            message = ByteBuffer.allocate(size);
+            for (long s = from; s <= seq; s++) {
+                message.put(ring[(int) (s % CATCH_UP_FRAMES)].duplicate());
+            }
+            message.flip();
+        }
+        viewer.seen = seq;
+        messages++;
+        viewer.sink.send(message, error -> {
+            viewer.busy.set(false);
+            if (null != error) {
+                disconnect(viewer);
+                viewer.sink.close();
+            } else {
+                catchUp(viewer);
+            }
+        });
+    }
+
+    /*
+     * A viewer that skipped frames while sending gets them as soon as it is free, not only
+     * when the next frame is published.
+     */
+    private synchronized void catchUp(final Viewer viewer) {
+        if (viewer.seen < seq && viewers.contains(viewer)) {
+            deliver(viewer);
+        }
+    }
+
+    /**
+     * A keyframe of any frame, e.g. a finished epoch read back from disk, in the same format
+     * the stream sends.
+     */
+    public static ByteBuffer keyframe(final FrameSnapshot frame, final SpatialCoordinates dimensions) {
+        final CellGrid grid = new CellGrid(dimensions);
+        grid.apply(frame);
+        return encodeKeyframe(grid, frame.name(), frame.totalTicks(), frame.totalDays());
+    }
+
+    private static ByteBuffer encodeKeyframe(final CellGrid grid, final String lastName, final double ticks,
+                                             final double days) {
+        final byte[] name = null == lastName ? new byte[0] : lastName.getBytes(StandardCharsets.UTF_8);
+        final int count = grid.occupied();
+        final ByteBuffer out = ByteBuffer.allocate(1 + 4 + 16 + 1 + CellType.count() * 4 + 2 + name.length
+                        + FrameArchive.MAX_VARINT_BYTES + count * (FrameArchive.MAX_VARINT_BYTES + 1))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        out.put(KEYFRAME);
+        out.putShort((short) grid.width());
+        out.putShort((short) grid.height());
+        out.putDouble(ticks);
+        out.putDouble(days);
+        out.put((byte) CellType.count());
+        for (int i = 0; i < CellType.count(); i++) {
+            out.putInt(CellType.of((byte) i).rgb);
+        }
+        out.putShort((short) name.length);
+        out.put(name);
+        FrameArchive.putVarInt(out, count);
+        // the grid is already in index order
+        final byte[] cells = grid.cells();
+        int previous = 0;
+        for (int index = 0; index < cells.length; index++) {
+            if (CellGrid.EMPTY != cells[index]) {
+                FrameArchive.putVarInt(out, index - previous);
+                out.put((byte) (cells[index] - 1));
+                previous = index;
+            }
+        }
+        return out.flip().asReadOnlyBuffer();
+    }
+
+    private ByteBuffer encodeDelta() {
+        encoder.sort(delta);
+        final ByteBuffer out = ByteBuffer.allocate(1 + 16 + encoder.maxBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        out.put(DELTA);
+        out.putDouble(ticks);
+        out.putDouble(days);
+        encoder.putUpserts(out);
+        encoder.putDeaths(out);
+        return out.flip().asReadOnlyBuffer();
+    }
+
+    public static final class Viewer {
+
+        private final Sink sink;
+        private final AtomicBoolean busy = new AtomicBoolean(false);
+        // last sequence number sent, 0 before the first keyframe
+        private long seen = 0;
+
+        private Viewer(final Sink sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package net.lukemcomber.genegl.server;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.metrics.MetricsPublisher;
+import net.lukemcomber.genegl.metrics.MetricsSnapshot;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves the last published {@link MetricsSnapshot}; a request never does more than read a reference.
+ */
+@RestController
+public class MetricsController {
+
+    private final MetricsPublisher metrics;
+
+    public MetricsController(final MetricsPublisher metrics) {
+        this.metrics = metrics;
+    }
+
+    @GetMapping("/metrics")
+    public MetricsSnapshot metrics() {
+        final MetricsSnapshot snapshot = metrics.latest();
+        if (null == snapshot) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No metrics published yet");
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,88 @@
+package net.lukemcomber.genegl.server;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.epoch.EpochRetention;
+import net.lukemcomber.genegl.metrics.MetricsPublisher;
+import net.lukemcomber.genegl.model.Server;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded HTTP server for a running simulation or replay. Started programmatically next to
+ * the viewer rather than as the application's entry point: the main thread stays with GLFW and
+ * the controllers only see the {@link MetricsPublisher}, {@link LiveViewStream} and {@link EpochRetention} handed in here.
+ */
+public class MetricsServer implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * @param liveView  stream for the {@code /live} WebSocket, or null to leave it out
+     * @param retention epochs behind {@code /epochs}, or null to leave it out
+     */
+    public MetricsServer(final Server config, final MetricsPublisher metrics, final LiveViewStream liveView,
+                         final EpochRetention retention) {
+        // The devtools restarter would relaunch main() in a new class loader, window and all
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", config.port);
+        properties.put("server.address", config.address);
+        properties.put("spring.devtools.livereload.enabled", false);
+        properties.put("spring.jmx.enabled", false);
+        properties.put("logging.level.org.springframework", "WARN");
+        properties.put("logging.level.org.apache", "WARN");
+
+        final SpringApplication application = new SpringApplication(Endpoints.class);
+        application.setWebApplicationType(WebApplicationType.SERVLET);
+        application.setBannerMode(Banner.Mode.OFF);
+        application.setLogStartupInfo(false);
+        application.setRegisterShutdownHook(false);
+        application.setDefaultProperties(properties);
+        application.addInitializers(ctx -> ctx.getBeanFactory().registerSingleton("metricsPublisher", metrics));
+        if (null != liveView) {
+            application.addPrimarySources(List.of(LiveViewSocket.class));
+            application.addInitializers(ctx -> ctx.getBeanFactory().registerSingleton("liveViewStream", liveView));
+        }
+        if (null != retention) {
+            application.addPrimarySources(List.of(EpochController.class));
+            application.addInitializers(ctx -> ctx.getBeanFactory().registerSingleton("epochRetention", retention));
+        }
+        context = application.run();
+        final String base = "http://" + config.address + ":" + config.port;
+        System.out.println("Metrics at " + base + "/metrics");
+        if (null != liveView) {
+            System.out.println("Live view at " + base + "/live.html");
+        }
+        if (null != retention) {
+            System.out.println("Epochs at " + base + "/epochs");
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    /*
+     * Only the controllers, no component scan: the rest of the code base is not Spring managed.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableAutoConfiguration
+    @Import({MetricsController.class, ControlController.class})
+    static class Endpoints {
+    }
+}
@@ -0,0 +1,55 @@
+package net.lukemcomber.genegl.sweep;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Summary of one sweep run, one line of the resume log and one row of the report.
+ */
+public class SweepResult {
+
+    public static final String COMPLETED = "completed";
+    public static final String STALLED = "stalled";
+    public static final String FAILED = "failed";
+
+    @JsonProperty
+    public String id;
+
+    // Canonical "key=value,..." string; identifies the run when resuming
+    @JsonProperty
+    public String key;
+
+    @JsonProperty
+    public Map<String, Object> parameters = new LinkedHashMap<>();
+
+    @JsonProperty
+    public String status;
+
+    @JsonProperty
+    public Integer epochs;
+
+    @JsonProperty
+    public Long totalTicks;
+
+    @JsonProperty
+    public Long finalDay;
+
+    @JsonProperty
+    public Integer finalPopulation;
+
+    @JsonProperty
+    public Double wallSeconds;
+
+    @JsonProperty
+    public Double ticksPerSecond;
+
+    @JsonProperty
+    public String error;
+}
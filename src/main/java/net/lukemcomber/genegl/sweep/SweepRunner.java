@@ -0,0 +1,372 @@
+package net.lukemcomber.genegl.sweep;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.lukemcomber.genegl.EcosystemFactory;
+import net.lukemcomber.genegl.model.GeneGLConfig;
+import net.lukemcomber.genegl.model.Sweep;
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.MultiEpochEcosystem;
+import net.lukemcomber.genetics.biology.Organism;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs every combination of a {@link Sweep}'s parameters headless, several at a time on a pool
+ * sized to the machine. Each finished run is appended to {@code results.jsonl} straight away,
+ * so an interrupted sweep picks up where it stopped; the CSV and JSON reports are rewritten
+ * from all results at the end.
+ * <p>
+ * A stalled run cannot be stopped, its ecosystem's threads go on in the background, so it keeps
+ * its slot: the next run only starts in a slot a completed or failed one gave back. Once stalled
+ * runs hold every slot the sweep fails rather than oversubscribe the machine.
+ */
+public class SweepRunner {
+
+    public static final String RESULTS_LOG = "results.jsonl";
+    public static final String REPORT_CSV = "report.csv";
+    public static final String REPORT_JSON = "report.json";
+
+    private static final String SIMULATION_PREFIX = "simulation.";
+    private static final String EXPORT_PATH = "metadata.export.path";
+    private static final long POLL_NANOS = 200_000_000L;
+    // Once every epoch exists, a run that stops ticking for this long is finished
+    private static final long SETTLE_NANOS = 2_000_000_000L;
+
+    private final Sweep sweep;
+    private final ObjectMapper mapper;
+    private final JsonNode base;
+    private final Path output;
+
+    private static final class Run {
+        final String id;
+        final String key;
+        final Map<String, Object> parameters;
+        final GeneGLConfig config;
+
+        Run(final String id, final String key, final Map<String, Object> parameters, final GeneGLConfig config) {
+            this.id = id;
+            this.key = key;
+            this.parameters = parameters;
+            this.config = config;
+        }
+    }
+
+    public SweepRunner(final Sweep sweep, final GeneGLConfig base, final ObjectMapper mapper) {
+        this.sweep = sweep;
+        this.mapper = mapper;
+        this.base = mapper.valueToTree(base);
+        this.output = Path.of(sweep.output);
+    }
+
+    public List<SweepResult> run() throws IOException {
+        Files.createDirectories(output);
+        final List<Run> runs = expand();
+        final Map<String, SweepResult> results = readLog();
+
+        final List<Run> pending = new ArrayList<>();
+        for (final Run run : runs) {
+            final SweepResult previous = results.get(run.key);
+            if (null == previous || !SweepResult.COMPLETED.equals(previous.status)) {
+                pending.add(run);
+            }
+        }
+        final int threads = poolSize();
+        System.out.printf("[Sweep] %d runs, %d already completed, %d threads%n",
+                runs.size(), runs.size() - pending.size(), threads);
+
+        if (!pending.isEmpty()) {
+            final AtomicInteger threadIds = new AtomicInteger();
+            final ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+                final Thread thread = new Thread(r, "genegl-sweep-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            final CompletionService<SweepResult> completion = new ExecutorCompletionService<>(pool);
+            final Semaphore slots = new Semaphore(threads);
+            int stalled = 0;
+            try (BufferedWriter log = Files.newBufferedWriter(output.resolve(RESULTS_LOG),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (final Run run : pending) {
+                    completion.submit(() -> {
+                        slots.acquire();
+                        final SweepResult result = execute(run);
+                        // a stalled run's threads are still going, so its slot is never given back
+                        if (!SweepResult.STALLED.equals(result.status)) {
+                            slots.release();
+                        }
+                        return result;
+                    });
+                }
+                for (int done = 1; done <= pending.size(); done++) {
+                    final SweepResult result = completion.take().get();
+                    results.put(result.key, result);
+                    log.write(mapper.writeValueAsString(result));
+                    log.newLine();
+                    log.flush();
+                    System.out.printf("[Sweep] %d/%d %s %s: %s, %.0f ticks/s, population %d%n", done, pending.size(),
+                            result.id, result.key, result.status, result.ticksPerSecond, result.finalPopulation);
+                    if (SweepResult.STALLED.equals(result.status)) {
+                        stalled++;
+                        System.err.printf("[Sweep] %s stalled and keeps running in the background; %d of %d slots left%n",
+                                result.id, threads - stalled, threads);
+                        if (stalled == threads && done < pending.size()) {
+                            throw new IllegalStateException("Every sweep slot is held by a stalled run, "
+                                    + (pending.size() - done) + " runs not started; finished runs are kept in "
+                                    + output.resolve(RESULTS_LOG));
+                        }
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("[Sweep] Interrupted; finished runs are kept in " + output.resolve(RESULTS_LOG));
+            } catch (final ExecutionException e) {
+                throw new IllegalStateException("Sweep run crashed", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        final List<SweepResult> report = new ArrayList<>();
+        for (final Run run : runs) {
+            final SweepResult result = results.get(run.key);
+            if (null != result) {
+                report.add(result);
+            }
+        }
+        writeCsv(report);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(output.resolve(REPORT_JSON).toFile(), report);
+        System.out.println("[Sweep] Report written to " + output.resolve(REPORT_CSV));
+        return report;
+    }
+
+    private int poolSize() {
+        if (null != sweep.parallelism && sweep.parallelism > 0) {
+            return sweep.parallelism;
+        }
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final long perRun = Math.max(1, null != sweep.memoryPerRunMb ? sweep.memoryPerRunMb : 512) * 1024L * 1024L;
+        final long byMemory = Runtime.getRuntime().maxMemory() / perRun;
+        return (int) Math.max(1, Math.min(cores, byMemory));
+    }
+
+    /*
+     * Cartesian product of the parameter values in spec order, so run ids stay stable as long
+     * as the spec does.
+     */
+    private List<Run> expand() throws IOException {
+        final List<String> keys = new ArrayList<>(sweep.parameters.keySet());
+        final List<Run> runs = new ArrayList<>();
+        final int[] choice = new int[keys.size()];
+        for (final String key : keys) {
+            if (sweep.parameters.get(key).isEmpty()) {
+                throw new IOException("Sweep parameter " + key + " has no values");
+            }
+        }
+        while (true) {
+            final Map<String, Object> parameters = new LinkedHashMap<>();
+            final StringBuilder runKey = new StringBuilder();
+            for (int i = 0; i < keys.size(); i++) {
+                final Object value = sweep.parameters.get(keys.get(i)).get(choice[i]);
+                parameters.put(keys.get(i), value);
+                if (runKey.length() > 0) runKey.append(',');
+                runKey.append(keys.get(i)).append('=').append(value);
+            }
+            final String id = String.format("run-%03d", runs.size());
+            runs.add(new Run(id, runKey.toString(), parameters, configure(id, parameters)));
+
+            // odometer increment, last key fastest
+            int i = keys.size() - 1;
+            while (i >= 0 && ++choice[i] == sweep.parameters.get(keys.get(i)).size()) {
+                choice[i--] = 0;
+            }
+            if (i < 0) {
+                return runs;
+            }
+        }
+    }
+
+    private GeneGLConfig configure(final String id, final Map<String, Object> parameters) throws IOException {
+        final ObjectNode tree = base.deepCopy();
+        final ObjectNode simulation = (ObjectNode) tree.get("simulation");
+        final ObjectNode configuration = (ObjectNode) tree.get("ecosystem").get("configuration");
+        for (final Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            String key = parameter.getKey();
+            final JsonNode value = mapper.valueToTree(parameter.getValue());
+            if (key.startsWith(SIMULATION_PREFIX)) {
+                key = key.substring(SIMULATION_PREFIX.length());
+                simulation.set(key, value);
+            } else if (simulation.has(key)) {
+                simulation.set(key, value);
+            } else {
+                configuration.set(key, value);
+            }
+        }
+        // keep runs from overwriting each other's output
+        simulation.put("name", simulation.path("name").asText("sweep") + "-" + id);
+        if (configuration.has(EXPORT_PATH)) {
+            configuration.put(EXPORT_PATH, output.resolve(id).toString() + "/");
+        }
+        return mapper.treeToValue(tree, GeneGLConfig.class);
+    }
+
+    private SweepResult execute(final Run run) {
+        final SweepResult result = new SweepResult();
+        result.id = run.id;
+        result.key = run.key;
+        result.parameters = run.parameters;
+
+        final int targetEpochs = run.config.simulation.epochs;
+        final long maxDays = run.config.simulation.maxDays;
+        final long stallNanos = Math.max(1, null != sweep.stallTimeoutSeconds ? sweep.stallTimeoutSeconds : 120)
+                * 1_000_000_000L;
+        final long start = System.nanoTime();
+        long lastProgress = start;
+        try {
+            final MultiEpochEcosystem ecosystem = EcosystemFactory.create(run.config);
+            ecosystem.initialize(() -> null);
+            final ConcurrentLinkedDeque<Ecosystem> epochs = ecosystem.getEpochs();
+
+            Ecosystem lastEpoch = null;
+            long lastTicks = -1;
+            while (true) {
+                LockSupport.parkNanos(POLL_NANOS);
+                final long now = System.nanoTime();
+                final Ecosystem current = epochs.peekLast();
+                if (null != current) {
+                    final long ticks = current.getTime().totalTicks();
+                    if (current != lastEpoch || ticks != lastTicks) {
+                        lastEpoch = current;
+                        lastTicks = ticks;
+                        lastProgress = now;
+                    }
+                    final boolean lastEpochStarted = epochs.size() >= targetEpochs;
+                    if (lastEpochStarted && (current.getTime().totalDays() >= maxDays
+                            || now - lastProgress > SETTLE_NANOS)) {
+                        result.status = SweepResult.COMPLETED;
+                        break;
+                    }
+                }
+                if (now - lastProgress > stallNanos) {
+                    result.status = SweepResult.STALLED;
+                    break;
+                }
+            }
+            summarize(result, epochs);
+        } catch (final RuntimeException e) {
+            result.status = SweepResult.FAILED;
+            result.error = e.toString();
+        }
+        // idle time spent detecting the end is not simulation time
+        result.wallSeconds = (lastProgress - start) / 1_000_000_000.0;
+        result.ticksPerSecond = null == result.totalTicks || result.wallSeconds <= 0
+                ? 0.0 : result.totalTicks / result.wallSeconds;
+        return result;
+    }
+
+    private static void summarize(final SweepResult result, final ConcurrentLinkedDeque<Ecosystem> epochs) {
+        long ticks = 0;
+        int count = 0;
+        Ecosystem last = null;
+        for (final Ecosystem epoch : epochs) {
+            ticks += epoch.getTime().totalTicks();
+            count++;
+            last = epoch;
+        }
+        result.epochs = count;
+        result.totalTicks = ticks;
+        if (null != last) {
+            result.finalDay = last.getTime().totalDays();
+            int population = 0;
+            final Iterator<Organism> organisms = last.getTerrain().getOrganisms();
+            while (organisms.hasNext()) {
+                organisms.next();
+                population++;
+            }
+            result.finalPopulation = population;
+        }
+    }
+
+    private Map<String, SweepResult> readLog() throws IOException {
+        final Map<String, SweepResult> results = new LinkedHashMap<>();
+        final Path log = output.resolve(RESULTS_LOG);
+        if (!Files.exists(log)) {
+            return results;
+        }
+        for (final String line : Files.readAllLines(log)) {
+            if (line.isBlank()) continue;
+            try {
+                final SweepResult result = mapper.readValue(line, SweepResult.class);
+                results.put(result.key, result);
+            } catch (final IOException e) {
+                // a run that was being written when the sweep died
+                System.err.println("[Sweep] Skipping unreadable result line: " + e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private void writeCsv(final List<SweepResult> report) throws IOException {
+        final List<String> keys = new ArrayList<>(sweep.parameters.keySet());
+        try (BufferedWriter out = Files.newBufferedWriter(output.resolve(REPORT_CSV))) {
+            final StringBuilder line = new StringBuilder("id,status");
+            for (final String key : keys) {
+                line.append(',').append(csv(key));
+            }
+            line.append(",epochs,total_ticks,final_day,final_population,wall_seconds,ticks_per_second,error");
+            out.write(line.toString());
+            out.newLine();
+            for (final SweepResult result : report) {
+                line.setLength(0);
+                line.append(result.id).append(',').append(result.status);
+                for (final String key : keys) {
+                    line.append(',').append(csv(result.parameters.get(key)));
+                }
+                line.append(',').append(csv(result.epochs))
+                        .append(',').append(csv(result.totalTicks))
+                        .append(',').append(csv(result.finalDay))
+                        .append(',').append(csv(result.finalPopulation))
+                        .append(',').append(csv(result.wallSeconds))
+                        .append(',').append(csv(result.ticksPerSecond))
+                        .append(',').append(csv(result.error));
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+    }
+
+    private static String csv(final Object value) {
+        if (null == value) {
+            return "";
+        }
+        final String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,38 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+/**
+ * View state shared by the renderers: screen = world * zoom + pan, in framebuffer pixels.
+ */
+public class Camera {
+
+    public float zoom = 1.0f;        // 1 = 1:1, >1 zooms in, <1 zooms out
+    public float panX = 0.0f;        // screen-space pan in pixels
+    public float panY = 0.0f;
+    public float basePointSize = 6.0f; // bumped default size for visibility
+    public boolean gridMode = true;  // draw each world cell as a colored square (snap to grid)
+    public int detailBias = 0;       // LOD levels coarser than the zoom needs, set under load
+
+    public int framebufferW;
+    public int framebufferH;
+
+    /**
+     * World column of the cell drawn at a framebuffer x; a cell spans [x, x + 1) in grid mode
+     * and is centered on x otherwise.
+     */
+    public int cellX(final double screenX) {
+        return toCell((screenX - panX) / zoom);
+    }
+
+    public int cellY(final double screenY) {
+        return toCell((screenY - panY) / zoom);
+    }
+
+    private int toCell(final double world) {
+        return (int) Math.floor(gridMode ? world : world + 0.5);
+    }
+}
@@ -0,0 +1,77 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+/**
+ * Which cell of a frame is at a world position, in constant time. An int per world cell holds
+ * the frame index of the cell there, written for a frame the first time something is picked
+ * from it, so it costs nothing while nobody points at cells. Entries of older frames are not
+ * cleared; a lookup checks the index against the frame instead. Render thread only.
+ */
+public class CellPicker {
+
+    public static final int NONE = -1;
+
+    private final int width;
+    private final int height;
+    private final VertexPacker packer;
+    private final VertexPacker.Slice fill = this::fill;
+    private int[] grid;
+    private FrameSnapshot indexed;
+    private long indexedVersion = -1;
+
+    /**
+     * @param packer splits filling the grid for large frames, or null to fill it serially
+     */
+    public CellPicker(final SpatialCoordinates dimensions, final VertexPacker packer) {
+        this.width = dimensions.xAxis();
+        this.height = dimensions.yAxis();
+        this.packer = packer;
+    }
+
+    /**
+     * The frame index of the cell at world (x, y), or {@link #NONE} for empty and outside.
+     */
+    public int pick(final FrameSnapshot frame, final int x, final int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height || frame.count() == 0) {
+            return NONE;
+        }
+        if (frame != indexed || frame.version() != indexedVersion) {
+            index(frame);
+        }
+        final int i = grid[y * width + x];
+        return i < frame.count() && frame.cell(i) == FrameSnapshot.pack(x, y) ? i : NONE;
+    }
+
+    private void index(final FrameSnapshot frame) {
+        if (null == grid) {
+            grid = new int[width * height];
+        }
+        indexed = frame;
+        indexedVersion = frame.version();
+        // cells are unique per position, so slices never write the same entry
+        if (null != packer) {
+            packer.run(frame.count(), frame.count(), fill);
+        } else {
+            fill(0, frame.count());
+        }
+    }
+
+    private void fill(final int from, final int to) {
+        final FrameSnapshot frame = indexed;
+        for (int i = from; i < to; i++) {
+            final int cell = frame.cell(i);
+            final int x = FrameSnapshot.x(cell);
+            final int y = FrameSnapshot.y(cell);
+            if (x < width && y < height) {
+                grid[y * width + x] = i;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+
+/**
+ * Draws the cells of a frame. {@link #upload(FrameSnapshot)} is only called when a new frame
+ * arrives, {@link #draw(Camera)} every rendered frame.
+ */
+public interface CellRenderer {
+
+    /**
+     * Waits for the shader programs the constructor submitted, reports compile and link
+     * failures, and sets up uniforms. Called once, before the first upload or draw.
+     */
+    default void link() {
+    }
+
+    void upload(FrameSnapshot frame);
+
+    void draw(Camera camera);
+
+    /**
+     * Called every rendered frame before {@link #draw(Camera)}, outside the draw timing.
+     * Renderers whose buffers depend on the view, such as culling ones, pack and upload here.
+     */
+    default void prepare(final Camera camera) {
+    }
+
+    UploadCounter uploads();
+
+    /**
+     * Times the packing and buffer upload parts of {@link #upload(FrameSnapshot)} separately.
+     */
+    default void setTimings(final FrameTimings timings) {
+    }
+
+    void dispose();
+}
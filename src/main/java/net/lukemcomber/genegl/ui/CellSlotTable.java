@@ -0,0 +1,207 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameDelta;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Keeps every live cell in the same vertex slot for its whole lifetime and mirrors the packed
+ * vertices on the CPU. Each {@link #apply(FrameDelta)} only rewrites the slots of cells that
+ * were born, died or changed type and marks them dirty; dead slots are hidden with the
+ * {@link #HIDDEN} palette index until reused. When too many slots are free the table is
+ * compacted and everything is re-uploaded once.
+ */
+public class CellSlotTable {
+
+    public static final int HIDDEN = 0xFF;
+
+    // Dirty slots closer than this are uploaded in one call
+    private static final int MERGE_GAP = 64;
+    private static final int MIN_COMPACT_SLOTS = 4096;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int width;
+    private final float compactThreshold;
+    private final int[] slotOfCell;
+
+    private int capacity;
+    private int[] cellOfSlot;
+    private int[] freeSlots;
+    private int freeCount = 0;
+    private int highWater = 0;
+    private long[] dirty;
+    private ByteBuffer vertices;
+
+    private boolean reallocated = true;
+    private long compactions = 0;
+
+    public CellSlotTable(final int width, final int height, final float compactThreshold) {
+        this.width = width;
+        this.compactThreshold = compactThreshold;
+        this.slotOfCell = new int[width * height];
+        Arrays.fill(slotOfCell, -1);
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Slots to draw; hidden slots below this are skipped by the shader.
+     */
+    public int highWater() {
+        return highWater;
+    }
+
+    public int live() {
+        return highWater - freeCount;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long compactions() {
+        return compactions;
+    }
+
+    /**
+     * CPU mirror of the vertex buffer, {@link PackedVertexFormat} layout, native order.
+     */
+    public ByteBuffer vertices() {
+        return vertices;
+    }
+
+    /**
+     * True when the capacity grew or the table was compacted since the last
+     * {@link #clearDirty()}: the GPU buffer has to be re-specified and fully re-uploaded.
+     */
+    public boolean needsFullUpload() {
+        return reallocated;
+    }
+
+    public void apply(final FrameDelta delta) {
+        for (int i = 0; i < delta.deaths(); i++) {
+            final int cell = delta.deathCell(i);
+            final int slot = slotOfCell[cell];
+            if (slot < 0) continue;
+            slotOfCell[cell] = -1;
+            cellOfSlot[slot] = -1;
+            PackedVertexFormat.put(vertices, slot, 0, 0, HIDDEN);
+            freeSlots[freeCount++] = slot;
+            markDirty(slot);
+        }
+        for (int i = 0; i < delta.changes(); i++) {
+            final int cell = delta.changeCell(i);
+            final int slot = slotOfCell[cell];
+            if (slot < 0) continue;
+            PackedVertexFormat.put(vertices, slot, cell % width, cell / width, delta.changeType(i));
+            markDirty(slot);
+        }
+        for (int i = 0; i < delta.births(); i++) {
+            final int cell = delta.birthCell(i);
+            final int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot();
+            slotOfCell[cell] = slot;
+            cellOfSlot[slot] = cell;
+            PackedVertexFormat.put(vertices, slot, cell % width, cell / width, delta.birthType(i));
+            markDirty(slot);
+        }
+
+        if (highWater >= MIN_COMPACT_SLOTS && freeCount > highWater * compactThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * First dirty slot at or after {@code from}, or -1.
+     */
+    public int nextDirty(final int from) {
+        if (from >= highWater) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long bits = dirty[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                final int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return slot < highWater ? slot : -1;
+            }
+            if (++word == dirty.length) {
+                return -1;
+            }
+            bits = dirty[word];
+        }
+    }
+
+    /**
+     * End (exclusive) of the coalesced dirty range starting at {@code start}: dirty slots
+     * separated by fewer than {@link #MERGE_GAP} clean ones are merged into one range.
+     */
+    public int rangeEnd(final int start) {
+        int end = start + 1;
+        while (true) {
+            final int next = nextDirty(end);
+            if (next < 0 || next - end >= MERGE_GAP) {
+                return end;
+            }
+            end = next + 1;
+        }
+    }
+
+    public void clearDirty() {
+        Arrays.fill(dirty, 0L);
+        reallocated = false;
+    }
+
+    private int nextSlot() {
+        if (highWater == capacity) {
+            allocate(capacity * 2);
+        }
+        return highWater++;
+    }
+
+    private void allocate(final int newCapacity) {
+        final ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity * PackedVertexFormat.STRIDE)
+                .order(ByteOrder.nativeOrder());
+        if (null != vertices) {
+            final ByteBuffer old = vertices.duplicate().order(ByteOrder.nativeOrder());
+            old.clear().limit(highWater * PackedVertexFormat.STRIDE);
+            grown.put(old).clear();
+        }
+        vertices = grown;
+        cellOfSlot = null == cellOfSlot ? new int[newCapacity] : Arrays.copyOf(cellOfSlot, newCapacity);
+        freeSlots = null == freeSlots ? new int[newCapacity] : Arrays.copyOf(freeSlots, newCapacity);
+        dirty = null == dirty ? new long[(newCapacity + 63) >>> 6] : Arrays.copyOf(dirty, (newCapacity + 63) >>> 6);
+        capacity = newCapacity;
+        reallocated = true;
+    }
+
+    private void compact() {
+        int packed = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            final int cell = cellOfSlot[slot];
+            if (cell < 0) continue;
+            if (slot != packed) {
+                for (int b = 0; b < PackedVertexFormat.STRIDE; b++) {
+                    vertices.put(packed * PackedVertexFormat.STRIDE + b,
+                            vertices.get(slot * PackedVertexFormat.STRIDE + b));
+                }
+                cellOfSlot[packed] = cell;
+                slotOfCell[cell] = packed;
+            }
+            packed++;
+        }
+        highWater = packed;
+        freeCount = 0;
+        compactions++;
+        reallocated = true;
+    }
+
+    private void markDirty(final int slot) {
+        dirty[slot >>> 6] |= 1L << slot;
+    }
+}
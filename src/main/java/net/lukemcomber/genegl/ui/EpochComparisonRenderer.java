@@ -0,0 +1,202 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL31.*;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+
+/**
+ * Several epochs side by side in one instanced draw. The {@link EpochMosaic} buffer is a single
+ * GL buffer used twice: its instance table feeds the per-instance offset and vertex range, and
+ * the whole buffer is an R16UI texture buffer the vertex shader fetches the packed cells from
+ * (three texels per 6 byte vertex). Every instance runs as many vertices as the largest epoch
+ * has cells; vertices past the instance's own count are pushed out of the clip volume.
+ * <p>
+ * One buffer upload per new frame: the instance table and the live epoch, or everything when
+ * the set of epochs changed. Packed vertex format only.
+ */
+public class EpochComparisonRenderer implements CellRenderer {
+
+    private final EpochMosaic mosaic;
+    private final UploadCounter uploads = new UploadCounter();
+    private FrameTimings timings;
+    private FrameSnapshot[] retired = new FrameSnapshot[0];
+
+    private final int vao, vbo, texture, prog;
+    private final int maxTexels;
+    private int uResolution, uScale, uPan, uPointSize, uGridMode;
+    private boolean tooLargeReported = false;
+
+    /**
+     * @param tiles epochs to show at most, the live one included
+     */
+    public EpochComparisonRenderer(final SpatialCoordinates dimensions, final int tiles) {
+        mosaic = new EpochMosaic(dimensions.xAxis(), dimensions.yAxis(), tiles);
+
+        // Per instance: tile offset and vertex range; per vertex: nothing but gl_VertexID
+        String vsSrc = "#version 330 core\n" +
+                "layout(location=0) in vec2 aOffset;\n" +
+                "layout(location=1) in uvec2 aRange;\n" +
+                "uniform usamplerBuffer uCells;\n" +
+                "uniform vec4 uPalette[" + PackedVertexFormat.PALETTE_SIZE + "];\n" +
+                "uniform vec2 uResolution;\n" +
+                "uniform float uScale;\n" +
+                "uniform vec2 uPan;\n" +
+                "uniform float uPointSize;\n" +
+                "uniform float uGridMode;\n" +
+                "out vec4 vColor;\n" +
+                "void main(){\n" +
+                "  // This epoch has fewer cells than the largest: push outside the clip volume\n" +
+                "  if (uint(gl_VertexID) >= aRange.y) { gl_Position = vec4(2.0, 2.0, 2.0, 1.0); gl_PointSize = 1.0; vColor = vec4(0.0); return; }\n" +
+                "  int texel = int(aRange.x + uint(gl_VertexID)) * 3;\n" +
+                "  vec2 aPos = vec2(texelFetch(uCells, texel).r, texelFetch(uCells, texel + 1).r);\n" +
+                "  uint palette = texelFetch(uCells, texel + 2).r & 0xFFu;\n" +
+                "  vec2 world = mix(aPos, aPos + vec2(0.5), uGridMode) + aOffset;\n" +
+                "  float pointPx = max(1.0, mix(uPointSize * uScale, uScale, uGridMode));\n" +
+                "  vec2 screen = world * uScale + uPan;\n" +
+                "  vec2 clip = (screen / uResolution) * 2.0 - 1.0;\n" +
+                "  gl_Position = vec4(clip * vec2(1.0,-1.0), 0.0, 1.0);\n" +
+                "  gl_PointSize = pointPx;\n" +
+                "  vColor = uPalette[palette];\n" +
+                "}";
+
+        String fsSrc = "#version 330 core\n" +
+                "in vec4 vColor;\n" +
+                "out vec4 fragColor;\n" +
+                "void main(){ fragColor = vColor; }";
+
+        prog = Shaders.createProgram(vsSrc, fsSrc);
+        maxTexels = glGetInteger(GL_MAX_TEXTURE_BUFFER_SIZE);
+
+        vao = glGenVertexArrays();
+        glBindVertexArray(vao);
+        vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, mosaic.buffer().capacity(), GL_DYNAMIC_DRAW);
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, EpochMosaic.INSTANCE_STRIDE, EpochMosaic.INSTANCE_OFFSET);
+        glVertexAttribDivisor(0, 1);
+        glEnableVertexAttribArray(1);
+        glVertexAttribIPointer(1, 2, GL_UNSIGNED_INT, EpochMosaic.INSTANCE_STRIDE, EpochMosaic.INSTANCE_RANGE_OFFSET);
+        glVertexAttribDivisor(1, 1);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        glBindVertexArray(0);
+
+        // The same buffer, read as 16 bit texels; it follows the buffer when it is re-specified
+        texture = glGenTextures();
+        glBindTexture(GL_TEXTURE_BUFFER, texture);
+        glTexBuffer(GL_TEXTURE_BUFFER, GL_R16UI, vbo);
+        glBindTexture(GL_TEXTURE_BUFFER, 0);
+    }
+
+    /**
+     * The finished epochs to show next to the live one, oldest first; called every frame, only
+     * a different array re-packs them.
+     */
+    public void setRetired(final FrameSnapshot[] frames) {
+        retired = frames;
+    }
+
+    /**
+     * The packed tiles, for labels and for fitting the camera.
+     */
+    public EpochMosaic mosaic() {
+        return mosaic;
+    }
+
+    @Override
+    public void link() {
+        Shaders.finish(prog);
+        uResolution = glGetUniformLocation(prog, "uResolution");
+        uScale = glGetUniformLocation(prog, "uScale");
+        uPan = glGetUniformLocation(prog, "uPan");
+        uPointSize = glGetUniformLocation(prog, "uPointSize");
+        uGridMode = glGetUniformLocation(prog, "uGridMode");
+        glUseProgram(prog);
+        glUniform4fv(glGetUniformLocation(prog, "uPalette"), PackedVertexFormat.palette());
+        glUniform1i(glGetUniformLocation(prog, "uCells"), 0);
+        glUseProgram(0);
+    }
+
+    @Override
+    public void upload(final FrameSnapshot frame) {
+        begin(FramePhase.PACK);
+        final boolean full = mosaic.update(frame, retired);
+        end(FramePhase.PACK);
+
+        begin(FramePhase.UPLOAD);
+        final ByteBuffer bytes = mosaic.buffer();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        if (full) {
+            // Re-specify at the mosaic's capacity, then one upload of everything packed
+            if (mosaic.totalBytes() / 2 > maxTexels && !tooLargeReported) {
+                tooLargeReported = true;
+                System.err.printf("[Compare] %,d cells exceed the driver's texture buffer limit of %,d; some are not drawn%n",
+                        mosaic.totalBytes() / PackedVertexFormat.STRIDE, maxTexels / 3);
+            }
+            glBufferData(GL_ARRAY_BUFFER, bytes.capacity(), GL_DYNAMIC_DRAW);
+        }
+        // Instance table and live epoch are one range from offset 0
+        glBufferSubData(GL_ARRAY_BUFFER, 0, bytes);
+        uploads.add(bytes.remaining());
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        end(FramePhase.UPLOAD);
+        uploads.endFrame();
+    }
+
+    @Override
+    public void draw(final Camera camera) {
+        if (mosaic.maxCount() == 0) return;
+        glUseProgram(prog);
+        glBindVertexArray(vao);
+        glActiveTexture(GL_TEXTURE0);
+        glBindTexture(GL_TEXTURE_BUFFER, texture);
+        glUniform2f(uResolution, (float) camera.framebufferW, (float) camera.framebufferH);
+        glUniform1f(uScale, camera.zoom);
+        glUniform2f(uPan, camera.panX, camera.panY);
+        glUniform1f(uPointSize, camera.basePointSize);
+        glUniform1f(uGridMode, camera.gridMode ? 1.0f : 0.0f);
+
+        glDrawArraysInstanced(GL_POINTS, 0, mosaic.maxCount(), mosaic.tiles());
+
+        glBindTexture(GL_TEXTURE_BUFFER, 0);
+        glBindVertexArray(0);
+        glUseProgram(0);
+    }
+
+    @Override
+    public UploadCounter uploads() {
+        return uploads;
+    }
+
+    @Override
+    public void setTimings(final FrameTimings timings) {
+        this.timings = timings;
+    }
+
+    private void begin(final FramePhase phase) {
+        if (null != timings) timings.begin(phase);
+    }
+
+    private void end(final FramePhase phase) {
+        if (null != timings) timings.end(phase);
+    }
+
+    @Override
+    public void dispose() {
+        if (prog != 0) glDeleteProgram(prog);
+        if (texture != 0) glDeleteTextures(texture);
+        if (vbo != 0) glDeleteBuffers(vbo);
+        if (vao != 0) glDeleteVertexArrays(vao);
+    }
+}
@@ -0,0 +1,207 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * CPU side of the epoch comparison view: the live epoch and the newest retired ones tiled in
+ * a grid, all in one buffer. The buffer starts with the instance table (per tile a float x/y
+ * offset in cells, the first vertex and the vertex count), followed by the live epoch and then
+ * the retired epochs, every cell in {@link PackedVertexFormat}.
+ * <p>
+ * Retired epochs never change, so they are only packed when the set of epochs changes. The
+ * live epoch has room to grow behind the table; a normal frame re-packs the live cells only
+ * and the bytes to upload are one range from the start of the buffer, which
+ * {@link EpochComparisonRenderer} hands to GL.
+ */
+public class EpochMosaic {
+
+    public static final int MAX_TILES = 16;
+    public static final int INSTANCE_STRIDE = 16;
+    public static final int INSTANCE_OFFSET = 0;
+    public static final int INSTANCE_RANGE_OFFSET = 8;
+    // the table fills the first vertex slots, so cells start on a vertex boundary
+    public static final int TABLE_VERTICES =
+            (MAX_TILES * INSTANCE_STRIDE + PackedVertexFormat.STRIDE - 1) / PackedVertexFormat.STRIDE;
+
+    private static final int MIN_LIVE_CAPACITY = 1024;
+
+    private final int width;
+    private final int height;
+    private final int columns;
+    private final int rows;
+    private final int gap;
+    private final int[] first;
+    private final int[] counts;
+    private final HudText[] labels;
+
+    private ByteBuffer buffer;
+    // the retired frames the layout was built for
+    private FrameSnapshot[] laidOut = null;
+    private int shown = 0;
+    private int liveCapacity = 0;
+    private int totalVertices = TABLE_VERTICES;
+    private int maxCount = 0;
+    private int cellCount = 0;
+    private boolean full = true;
+
+    /**
+     * @param tiles how many epochs to show at most, the live one included; 1 to {@link #MAX_TILES}
+     */
+    public EpochMosaic(final int width, final int height, final int tiles) {
+        final int n = Math.max(1, Math.min(MAX_TILES, tiles));
+        this.width = width;
+        this.height = height;
+        this.columns = (int) Math.ceil(Math.sqrt(n));
+        this.rows = (n + columns - 1) / columns;
+        this.gap = Math.max(4, Math.max(width, height) / 32);
+        this.first = new int[n];
+        this.counts = new int[n];
+        this.labels = new HudText[n];
+        for (int t = 0; t < n; t++) {
+            labels[t] = new HudText(64);
+        }
+        buffer = allocate((TABLE_VERTICES + MIN_LIVE_CAPACITY) * PackedVertexFormat.STRIDE);
+    }
+
+    /**
+     * Packs a new live frame, and every retired epoch as well when {@code retired} is not the
+     * array of the last call or the live epoch outgrew its room. Afterwards the buffer's
+     * position to limit is what has to be uploaded at offset 0.
+     *
+     * @param retired finished epochs, oldest first, as {@code FrameExchange.retired()} returns them
+     * @return whether the whole buffer changed, including its size
+     */
+    public boolean update(final FrameSnapshot live, final FrameSnapshot[] retired) {
+        full = retired != laidOut || live.count() > liveCapacity;
+        if (full) {
+            layout(live, retired);
+        }
+        buffer.clear();
+        PackedVertexFormat.encode(live, buffer, TABLE_VERTICES);
+        counts[0] = live.count();
+
+        labels[0].begin().append(live.name()).append("  |  live");
+        labels[0].end();
+
+        maxCount = 0;
+        cellCount = 0;
+        for (int t = 0; t < shown; t++) {
+            final int base = t * INSTANCE_STRIDE;
+            buffer.putFloat(base + INSTANCE_OFFSET, tileX(t));
+            buffer.putFloat(base + INSTANCE_OFFSET + 4, tileY(t));
+            buffer.putInt(base + INSTANCE_RANGE_OFFSET, first[t]);
+            buffer.putInt(base + INSTANCE_RANGE_OFFSET + 4, counts[t]);
+            maxCount = Math.max(maxCount, counts[t]);
+            cellCount += counts[t];
+        }
+        buffer.position(0).limit((full ? totalVertices : TABLE_VERTICES + live.count()) * PackedVertexFormat.STRIDE);
+        return full;
+    }
+
+    /*
+     * Live epoch first, then the newest retired ones in reading order; the retired cells go
+     * behind the room reserved for the live epoch.
+     */
+    private void layout(final FrameSnapshot live, final FrameSnapshot[] retired) {
+        laidOut = retired;
+        shown = Math.min(first.length, 1 + retired.length);
+        liveCapacity = Math.max(MIN_LIVE_CAPACITY, live.count() + live.count() / 4);
+        int next = TABLE_VERTICES + liveCapacity;
+        first[0] = TABLE_VERTICES;
+        for (int t = 1; t < shown; t++) {
+            final FrameSnapshot frame = retired[retired.length - t];
+            first[t] = next;
+            counts[t] = frame.count();
+            next += frame.count();
+
+            final StringBuilder label = labels[t].begin().append(frame.name()).append("  |  day ");
+            HudText.appendGrouped(label, frame.totalDays());
+            labels[t].end();
+        }
+        totalVertices = next;
+
+        final int needBytes = totalVertices * PackedVertexFormat.STRIDE;
+        if (buffer.capacity() < needBytes) {
+            buffer = allocate(Math.max(needBytes, buffer.capacity() * 2));
+        }
+        for (int t = 1; t < shown; t++) {
+            buffer.clear();
+            PackedVertexFormat.encode(retired[retired.length - t], buffer, first[t]);
+        }
+    }
+
+    private static ByteBuffer allocate(final int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Whether the last {@link #update} re-packed everything.
+     */
+    public boolean full() {
+        return full;
+    }
+
+    public int totalBytes() {
+        return totalVertices * PackedVertexFormat.STRIDE;
+    }
+
+    /**
+     * Tiles with an epoch in them, at most the number asked for.
+     */
+    public int tiles() {
+        return shown;
+    }
+
+    /**
+     * Cells of the largest epoch shown, the vertex count of the instanced draw.
+     */
+    public int maxCount() {
+        return maxCount;
+    }
+
+    public int cellCount() {
+        return cellCount;
+    }
+
+    public int count(final int tile) {
+        return counts[tile];
+    }
+
+    /**
+     * World offset of a tile's top left corner, in cells.
+     */
+    public float tileX(final int tile) {
+        return (float) (tile % columns) * (width + gap);
+    }
+
+    public float tileY(final int tile) {
+        return (float) (tile / columns) * (height + gap);
+    }
+
+    public HudText label(final int tile) {
+        return labels[tile];
+    }
+
+    /**
+     * Size of the whole grid in cells, gaps included.
+     */
+    public int mosaicWidth() {
+        return columns * width + (columns - 1) * gap;
+    }
+
+    public int mosaicHeight() {
+        return rows * height + (rows - 1) * gap;
+    }
+}
@@ -0,0 +1,159 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import org.lwjgl.BufferUtils;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL30.*;
+
+/**
+ * Keeps one type byte per world cell in an R8 texture and draws a single fullscreen quad that
+ * looks the byte up in the palette. Only rows that changed since the last frame are uploaded,
+ * so the cost follows the churn of the world rather than the number of cells.
+ */
+public class GridTextureRenderer implements CellRenderer {
+
+    private final CellGrid grid;
+    private final ByteBuffer staging;
+    private final UploadCounter uploads = new UploadCounter();
+    private FrameTimings timings;
+
+    private int vao, texture, prog;
+    private int uResolution, uScale, uPan;
+    private boolean hasFrame = false;
+
+    public GridTextureRenderer(final SpatialCoordinates dimensions) {
+        grid = new CellGrid(dimensions);
+        staging = BufferUtils.createByteBuffer(grid.width() * grid.height());
+
+        // Fullscreen quad from gl_VertexID, no vertex buffer needed
+        String vsSrc = "#version 330 core\n" +
+                "void main(){\n" +
+                "  vec2 p = vec2(gl_VertexID & 1, gl_VertexID >> 1);\n" +
+                "  gl_Position = vec4(p * 2.0 - 1.0, 0.0, 1.0);\n" +
+                "}";
+
+        // Map the fragment back to a world cell with the same transform the point path uses
+        String fsSrc = "#version 330 core\n" +
+                "uniform sampler2D uGrid;\n" +
+                "uniform vec4 uPalette[" + PackedVertexFormat.PALETTE_SIZE + "];\n" +
+                "uniform vec2 uResolution;\n" +
+                "uniform float uScale;\n" +
+                "uniform vec2 uPan;\n" +
+                "uniform ivec2 uWorld;\n" +
+                "out vec4 fragColor;\n" +
+                "void main(){\n" +
+                "  vec2 screen = vec2(gl_FragCoord.x, uResolution.y - gl_FragCoord.y);\n" +
+                "  ivec2 cell = ivec2(floor((screen - uPan) / uScale));\n" +
+                "  if (any(lessThan(cell, ivec2(0))) || any(greaterThanEqual(cell, uWorld))) discard;\n" +
+                "  int v = int(texelFetch(uGrid, cell, 0).r * 255.0 + 0.5);\n" +
+                "  if (v == 0) discard;\n" +
+                "  fragColor = uPalette[v - 1];\n" +
+                "}";
+
+        prog = Shaders.createProgram(vsSrc, fsSrc);
+
+        // Core profile still wants a VAO bound for the draw
+        vao = glGenVertexArrays();
+
+        texture = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_R8, grid.width(), grid.height(), 0, GL_RED, GL_UNSIGNED_BYTE,
+                (ByteBuffer) null);
+        glBindTexture(GL_TEXTURE_2D, 0);
+
+        // First upload covers the whole (empty) texture
+        grid.markAllDirty();
+    }
+
+    @Override
+    public void upload(final FrameSnapshot frame) {
+        if (null != timings) timings.begin(FramePhase.PACK);
+        grid.apply(frame);
+        hasFrame = true;
+        if (null != timings) timings.end(FramePhase.PACK);
+
+        if (null != timings) timings.begin(FramePhase.UPLOAD);
+        final int width = grid.width();
+        final byte[] cells = grid.cells();
+
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        // One glTexSubImage2D per run of consecutive dirty rows
+        int row = grid.nextDirtyRow(0);
+        while (row >= 0) {
+            final int end = grid.nextCleanRow(row);
+            staging.clear();
+            staging.put(cells, row * width, (end - row) * width).flip();
+            glTexSubImage2D(GL_TEXTURE_2D, 0, 0, row, width, end - row, GL_RED, GL_UNSIGNED_BYTE, staging);
+            uploads.add((long) (end - row) * width);
+            row = grid.nextDirtyRow(end);
+        }
+        glBindTexture(GL_TEXTURE_2D, 0);
+        grid.clearDirty();
+        uploads.endFrame();
+        if (null != timings) timings.end(FramePhase.UPLOAD);
+    }
+
+    @Override
+    public void setTimings(final FrameTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public void link() {
+        Shaders.finish(prog);
+        glUseProgram(prog);
+        glUniform1i(glGetUniformLocation(prog, "uGrid"), 0);
+        glUniform4fv(glGetUniformLocation(prog, "uPalette"), PackedVertexFormat.palette());
+        glUniform2i(glGetUniformLocation(prog, "uWorld"), grid.width(), grid.height());
+        glUseProgram(0);
+        uResolution = glGetUniformLocation(prog, "uResolution");
+        uScale = glGetUniformLocation(prog, "uScale");
+        uPan = glGetUniformLocation(prog, "uPan");
+    }
+
+    @Override
+    public UploadCounter uploads() {
+        return uploads;
+    }
+
+    @Override
+    public void draw(final Camera camera) {
+        if (!hasFrame) return;
+        glUseProgram(prog);
+        glUniform2f(uResolution, (float) camera.framebufferW, (float) camera.framebufferH);
+        glUniform1f(uScale, camera.zoom);
+        glUniform2f(uPan, camera.panX, camera.panY);
+
+        glActiveTexture(GL_TEXTURE0);
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glBindVertexArray(vao);
+        glDrawArrays(GL_TRIANGLE_STRIP, 0, 4);
+        glBindVertexArray(0);
+        glBindTexture(GL_TEXTURE_2D, 0);
+        glUseProgram(0);
+    }
+
+    @Override
+    public void dispose() {
+        if (prog != 0) glDeleteProgram(prog);
+        if (texture != 0) glDeleteTextures(texture);
+        if (vao != 0) glDeleteVertexArrays(vao);
+    }
+}
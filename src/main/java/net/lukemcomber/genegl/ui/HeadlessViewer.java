@@ -0,0 +1,116 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameExchange;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genegl.model.Render;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Window-less counterpart of {@link ViewPort}: renders frames with the {@link SoftwareRenderer}
+ * and writes a PNG whenever N ticks have passed since the last one written, and at the start
+ * of each epoch. The publisher skips ticks when a capture takes longer than one, so the frames
+ * written are not always exact multiples of N apart. Returns once no new frame has arrived for the idle
+ * timeout, which is how a finished simulation looks from here.
+ */
+public class HeadlessViewer {
+
+    private final SoftwareRenderer renderer = new SoftwareRenderer();
+    private final Camera camera = new Camera();
+    private final Path framePath;
+    private final int everyTicks;
+    private final long idleTimeoutNanos;
+    private String lastWrittenName = null;
+    private long lastWrittenTick = -1;
+    private FrameTimings timings = new FrameTimings();
+
+    public HeadlessViewer(final SpatialCoordinates dimensions, final Render render) throws IOException {
+        camera.framebufferW = null != render.frameWidth ? render.frameWidth : 1920;
+        camera.framebufferH = null != render.frameHeight ? render.frameHeight : 1080;
+        // Fit the world into the frame
+        camera.zoom = Math.min((float) camera.framebufferW / dimensions.xAxis(),
+                (float) camera.framebufferH / dimensions.yAxis());
+
+        framePath = Paths.get(null != render.framePath ? render.framePath : "./frames/");
+        Files.createDirectories(framePath);
+        everyTicks = Math.max(1, null != render.frameEveryTicks ? render.frameEveryTicks : 24);
+        idleTimeoutNanos = (null != render.idleTimeoutSeconds ? render.idleTimeoutSeconds : 30) * 1_000_000_000L;
+        renderer.setTimings(timings);
+    }
+
+    public void setTimings(final FrameTimings frameTimings) {
+        timings = frameTimings;
+        renderer.setTimings(frameTimings);
+    }
+
+    public FrameTimings timings() {
+        return timings;
+    }
+
+    public void runEventLoop(final FrameExchange exchange) {
+        long lastVersion = 0;
+        long lastFrameAt = System.nanoTime();
+        long written = 0;
+        long lastSummary = System.nanoTime();
+        try {
+            while (System.nanoTime() - lastFrameAt < idleTimeoutNanos) {
+                final FrameSnapshot frame = exchange.acquire();
+                if (0 == frame.version() || frame.version() == lastVersion) {
+                    LockSupport.parkNanos(1_000_000L);
+                    continue;
+                }
+                lastVersion = frame.version();
+                lastFrameAt = System.nanoTime();
+                if (lastFrameAt - lastSummary >= 1_000_000_000L) {
+                    timings.summarize();
+                    lastSummary = lastFrameAt;
+                }
+                if (!due(frame)) {
+                    continue;
+                }
+                timings.begin(FramePhase.FRAME);
+                renderer.upload(frame);
+                timings.begin(FramePhase.DRAW);
+                renderer.draw(camera);
+                timings.end(FramePhase.DRAW);
+                try {
+                    renderer.writePng(framePath.resolve(String.format("%s-%010d.png", frame.name(), frame.totalTicks())));
+                    written++;
+                } catch (final IOException e) {
+                    System.err.println("[Headless] Failed to write frame: " + e.getMessage());
+                }
+                timings.end(FramePhase.FRAME);
+            }
+        } finally {
+            renderer.dispose();
+            timings.summarize();
+            System.out.printf("Wrote %,d frames to %s%n", written, framePath);
+        }
+    }
+
+    /**
+     * Whether the frame is to be written, the first of an epoch or at least N ticks after the
+     * last one; if so it counts as written from here on, even if writing it fails.
+     */
+    boolean due(final FrameSnapshot frame) {
+        if (!frame.startsEpochAfter(lastWrittenName, lastWrittenTick)
+                && frame.totalTicks() - lastWrittenTick < everyTicks) {
+            return false;
+        }
+        lastWrittenName = frame.name();
+        lastWrittenTick = frame.totalTicks();
+        return true;
+    }
+}
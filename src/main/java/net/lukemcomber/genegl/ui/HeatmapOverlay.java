@@ -0,0 +1,137 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.heatmap.Heatmaps;
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL30.*;
+
+/**
+ * Draws one layer of the {@link Heatmaps} over the cells, blended, with a fullscreen quad that
+ * maps fragments to world cells like {@link GridTextureRenderer}. The layer lives in an RG32F
+ * texture, closed total and open-interval start per cell, and the shader adds the ticks since
+ * the start, so cells that are still alive grow without being uploaded. Only rows the
+ * accumulator touched since the last draw are uploaded; switching layers uploads all of them.
+ */
+public class HeatmapOverlay {
+
+    // rows per glTexSubImage2D at most
+    private static final int STAGING_ROWS = 64;
+
+    private final Heatmaps heatmaps;
+    private final FloatBuffer staging;
+    private final Heatmaps.RowSink upload = this::upload;
+    private final UploadCounter uploads = new UploadCounter();
+
+    private int vao, texture, prog;
+    private int uResolution, uScale, uPan, uHalf, uNow, uMax;
+    private int uploadedLayer = -1;
+
+    public HeatmapOverlay(final Heatmaps heatmaps) {
+        this.heatmaps = heatmaps;
+        staging = BufferUtils.createFloatBuffer(2 * heatmaps.width() * Math.min(STAGING_ROWS, heatmaps.height()));
+
+        String vsSrc = "#version 330 core\n" +
+                "void main(){\n" +
+                "  vec2 p = vec2(gl_VertexID & 1, gl_VertexID >> 1);\n" +
+                "  gl_Position = vec4(p * 2.0 - 1.0, 0.0, 1.0);\n" +
+                "}";
+
+        // Transparent when nothing happened there, then blue through yellow to red
+        String fsSrc = "#version 330 core\n" +
+                "uniform sampler2D uHeat;\n" +
+                "uniform vec2 uResolution;\n" +
+                "uniform float uScale;\n" +
+                "uniform vec2 uPan;\n" +
+                "uniform float uHalf;\n" +
+                "uniform ivec2 uWorld;\n" +
+                "uniform float uNow;\n" +
+                "uniform float uMax;\n" +
+                "out vec4 fragColor;\n" +
+                "void main(){\n" +
+                "  vec2 screen = vec2(gl_FragCoord.x, uResolution.y - gl_FragCoord.y);\n" +
+                "  ivec2 cell = ivec2(floor((screen - uPan) / uScale + uHalf));\n" +
+                "  if (any(lessThan(cell, ivec2(0))) || any(greaterThanEqual(cell, uWorld))) discard;\n" +
+                "  vec2 h = texelFetch(uHeat, cell, 0).rg;\n" +
+                "  float v = clamp((h.r + (h.g < 0.0 ? 0.0 : uNow - h.g)) / uMax, 0.0, 1.0);\n" +
+                "  if (v <= 0.0) discard;\n" +
+                "  vec3 c = v < 0.5 ? mix(vec3(0.1, 0.2, 1.0), vec3(1.0, 0.9, 0.1), v * 2.0)\n" +
+                "                   : mix(vec3(1.0, 0.9, 0.1), vec3(1.0, 0.1, 0.05), v * 2.0 - 1.0);\n" +
+                "  fragColor = vec4(c, 0.35 + 0.5 * v);\n" +
+                "}";
+
+        prog = Shaders.createProgram(vsSrc, fsSrc);
+        vao = glGenVertexArrays();
+
+        texture = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RG32F, heatmaps.width(), heatmaps.height(), 0, GL_RG, GL_FLOAT,
+                (FloatBuffer) null);
+        glBindTexture(GL_TEXTURE_2D, 0);
+    }
+
+    public void link() {
+        Shaders.finish(prog);
+        glUseProgram(prog);
+        glUniform1i(glGetUniformLocation(prog, "uHeat"), 0);
+        glUniform2i(glGetUniformLocation(prog, "uWorld"), heatmaps.width(), heatmaps.height());
+        glUseProgram(0);
+        uResolution = glGetUniformLocation(prog, "uResolution");
+        uScale = glGetUniformLocation(prog, "uScale");
+        uPan = glGetUniformLocation(prog, "uPan");
+        uHalf = glGetUniformLocation(prog, "uHalf");
+        uNow = glGetUniformLocation(prog, "uNow");
+        uMax = glGetUniformLocation(prog, "uMax");
+    }
+
+    public UploadCounter uploads() {
+        return uploads;
+    }
+
+    /**
+     * Uploads what changed of {@code layer} and draws it over whatever is in the framebuffer.
+     */
+    public void draw(final Camera camera, final int layer) {
+        glBindTexture(GL_TEXTURE_2D, texture);
+        final int now = heatmaps.drain(layer, layer != uploadedLayer, staging, upload);
+        uploadedLayer = layer;
+        uploads.endFrame();
+
+        glUseProgram(prog);
+        glUniform2f(uResolution, (float) camera.framebufferW, (float) camera.framebufferH);
+        glUniform1f(uScale, camera.zoom);
+        glUniform2f(uPan, camera.panX, camera.panY);
+        // points are centered on their cell outside grid mode, see Camera.cellX
+        glUniform1f(uHalf, camera.gridMode ? 0f : 0.5f);
+        glUniform1f(uNow, (float) now);
+        glUniform1f(uMax, heatmaps.scale(layer));
+
+        glActiveTexture(GL_TEXTURE0);
+        glBindVertexArray(vao);
+        glDrawArrays(GL_TRIANGLE_STRIP, 0, 4);
+        glBindVertexArray(0);
+        glBindTexture(GL_TEXTURE_2D, 0);
+        glUseProgram(0);
+    }
+
+    public void dispose() {
+        if (prog != 0) glDeleteProgram(prog);
+        if (texture != 0) glDeleteTextures(texture);
+        if (vao != 0) glDeleteVertexArrays(vao);
+    }
+
+    private void upload(final int row, final int count, final FloatBuffer texels) {
+        glTexSubImage2D(GL_TEXTURE_2D, 0, 0, row, heatmaps.width(), count, GL_RG, GL_FLOAT, texels);
+        uploads.add((long) count * heatmaps.width() * 2 * Float.BYTES);
+    }
+}
@@ -0,0 +1,123 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.frame.PlaybackControl;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.TimingSummary;
+
+/**
+ * Text of the viewer's HUD and window title, appended into reused {@link HudText}s so that the
+ * render loop formats without allocating. {@link ViewPort} hands the UTF-8 to NanoVG and the
+ * title to GLFW; no GL calls here.
+ */
+public class HudLines {
+
+    public static final int TIMING_COLUMNS = 4;
+
+    private static final FramePhase[] PHASES = FramePhase.values();
+
+    private final HudText time = new HudText(96);
+    private final HudText view = new HudText(128);
+    private final HudText replay = new HudText(96);
+    private final HudText[][] timings = new HudText[PHASES.length][TIMING_COLUMNS];
+    private final StringBuilder title = new StringBuilder(160);
+    private TimingSummary summary = null;
+
+    public HudLines() {
+        for (final HudText[] row : timings) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new HudText(12);
+            }
+        }
+    }
+
+    /**
+     * Ticks and day of the frame.
+     */
+    public HudText time() {
+        return time;
+    }
+
+    /**
+     * Epoch name and camera.
+     */
+    public HudText view() {
+        return view;
+    }
+
+    /**
+     * Replay position, speed and state; empty until a replay is shown.
+     */
+    public HudText replay() {
+        return replay;
+    }
+
+    /**
+     * p50, p99, p99.9 and max of a phase in milliseconds, for columns 0 to 3.
+     */
+    public HudText timing(final FramePhase phase, final int column) {
+        return timings[phase.ordinal()][column];
+    }
+
+    public void update(final FrameSnapshot frame, final Camera camera, final PlaybackControl playback) {
+        StringBuilder line = time.begin().append("Total Ticks ");
+        HudText.appendGrouped(line, frame.totalTicks()).append("  |  Day ");
+        HudText.appendGrouped(line, frame.totalDays()).append("  |  Tick ").append(frame.currentTick()).append(' ');
+        time.end();
+
+        line = view.begin().append(frame.name()).append("  |  zoom ");
+        HudText.appendFixed(line, camera.zoom, 2).append("x  |  pan(");
+        HudText.appendFixed(line, camera.panX, 0).append(',');
+        HudText.appendFixed(line, camera.panY, 0).append(")  |  grid ").append(camera.gridMode ? "ON" : "OFF");
+        view.end();
+
+        if (null != playback) {
+            line = replay.begin().append("Replay frame ");
+            HudText.appendGrouped(line, playback.position()).append(" / ");
+            HudText.appendGrouped(line, playback.length()).append("  |  ");
+            HudText.appendFixed(line, playback.speed(), 0).append("x  |  ")
+                    .append(playback.isPaused() ? "PAUSED" : "PLAYING");
+            replay.end();
+        }
+    }
+
+    /**
+     * Rebuilds the timing columns, only when this is a summary not seen before.
+     */
+    public void updateTimings(final TimingSummary latest) {
+        if (latest == summary) return;
+        summary = latest;
+        for (final FramePhase phase : PHASES) {
+            final HudText[] row = timings[phase.ordinal()];
+            HudText.appendFixed(row[0].begin(), latest.p50(phase) / 1e6, 2);
+            HudText.appendFixed(row[1].begin(), latest.p99(phase) / 1e6, 2);
+            HudText.appendFixed(row[2].begin(), latest.p999(phase) / 1e6, 2);
+            HudText.appendFixed(row[3].begin(), latest.max(phase) / 1e6, 2);
+            for (final HudText cell : row) {
+                cell.end();
+            }
+        }
+    }
+
+    /**
+     * The window title; the returned builder is reused by the next call.
+     */
+    public CharSequence title(final int cells, final double fps, final double ticksPerSecond, final long skipped,
+                              final long uploadBytes, final int degradation) {
+        title.setLength(0);
+        HudText.appendGrouped(title.append("GeneGL — cells "), cells);
+        HudText.appendFixed(title.append(" | FPS "), fps, 1);
+        HudText.appendFixed(title.append(" | sim "), ticksPerSecond, 1).append(" ticks/s | ");
+        HudText.appendGrouped(title, skipped).append(" skipped | upload ");
+        HudText.appendGrouped(title, uploadBytes).append(" B/frame");
+        if (degradation > 0) {
+            title.append(" | degraded ").append(degradation);
+        }
+        return title;
+    }
+}
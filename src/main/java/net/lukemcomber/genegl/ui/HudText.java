@@ -0,0 +1,162 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * One line of HUD text, kept as UTF-8 in a direct buffer that NanoVG draws from. The line is
+ * rebuilt between {@link #begin()} and {@link #end()}; the bytes are only re-encoded when the
+ * text differs from what is shown. The number appenders stand in for {@code String.format}
+ * without boxing or intermediate strings, so once the buffers have grown to fit, rebuilding
+ * a line allocates nothing.
+ */
+public class HudText {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    private final StringBuilder text;
+    private final StringBuilder shown;
+    private ByteBuffer utf8;
+    private long encodes = 0;
+
+    public HudText(final int capacity) {
+        text = new StringBuilder(capacity);
+        shown = new StringBuilder(capacity);
+        utf8 = ByteBuffer.allocateDirect(capacity * 3).order(ByteOrder.nativeOrder());
+        utf8.flip();
+    }
+
+    public HudText(final String constant) {
+        this(constant.length());
+        begin().append(constant);
+        end();
+    }
+
+    /**
+     * Clears the line and returns the builder to append the new text to.
+     */
+    public StringBuilder begin() {
+        text.setLength(0);
+        return text;
+    }
+
+    /**
+     * Shows the text built since {@link #begin()}; returns whether it changed.
+     */
+    public boolean end() {
+        if (shown.compareTo(text) == 0) {
+            return false;
+        }
+        shown.setLength(0);
+        shown.append(text);
+        encode();
+        return true;
+    }
+
+    /**
+     * The shown text as UTF-8, position to limit; not null terminated.
+     */
+    public ByteBuffer utf8() {
+        return utf8;
+    }
+
+    public CharSequence text() {
+        return shown;
+    }
+
+    /**
+     * How often the line was re-encoded because its text changed.
+     */
+    public long encodes() {
+        return encodes;
+    }
+
+    private void encode() {
+        if (utf8.capacity() < shown.length() * 3) {
+            utf8 = ByteBuffer.allocateDirect(shown.length() * 3).order(ByteOrder.nativeOrder());
+        }
+        utf8.clear();
+        for (int i = 0; i < shown.length(); i++) {
+            final char c = shown.charAt(i);
+            if (c < 0x80) {
+                utf8.put((byte) c);
+            } else if (c < 0x800) {
+                utf8.put((byte) (0xC0 | c >> 6));
+                utf8.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < shown.length()
+                    && Character.isLowSurrogate(shown.charAt(i + 1))) {
+                // surrogate pair: four bytes, within the six reserved for its two chars
+                final int cp = Character.toCodePoint(c, shown.charAt(++i));
+                utf8.put((byte) (0xF0 | cp >> 18));
+                utf8.put((byte) (0x80 | cp >> 12 & 0x3F));
+                utf8.put((byte) (0x80 | cp >> 6 & 0x3F));
+                utf8.put((byte) (0x80 | cp & 0x3F));
+            } else {
+                utf8.put((byte) (0xE0 | c >> 12));
+                utf8.put((byte) (0x80 | c >> 6 & 0x3F));
+                utf8.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        utf8.flip();
+        encodes++;
+    }
+
+    /**
+     * Appends {@code value} with thousands separators, like {@code %,d} in an English locale.
+     */
+    public static StringBuilder appendGrouped(final StringBuilder out, final long value) {
+        if (value == Long.MIN_VALUE) {
+            return out.append(value);
+        }
+        long v = value;
+        if (v < 0) {
+            out.append('-');
+            v = -v;
+        }
+        long divisor = 1;
+        while (v / divisor >= 1000) {
+            divisor *= 1000;
+        }
+        out.append(v / divisor);
+        while (divisor > 1) {
+            v %= divisor;
+            divisor /= 1000;
+            final long group = v / divisor;
+            out.append(',');
+            if (group < 100) out.append('0');
+            if (group < 10) out.append('0');
+            out.append(group);
+        }
+        return out;
+    }
+
+    /**
+     * Appends {@code value} rounded half up to {@code decimals} places (at most 6), like
+     * {@code %.Nf}.
+     */
+    public static StringBuilder appendFixed(final StringBuilder out, final double value, final int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return out.append(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+        }
+        final long scale = POWERS_OF_TEN[Math.max(0, Math.min(decimals, POWERS_OF_TEN.length - 1))];
+        final long rounded = Math.round(Math.abs(value) * scale);
+        if (value < 0 && rounded != 0) {
+            out.append('-');
+        }
+        out.append(rounded / scale);
+        if (scale > 1) {
+            out.append('.');
+            final long fraction = rounded % scale;
+            for (long pad = scale / 10; pad > 1 && fraction < pad; pad /= 10) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+        return out;
+    }
+}
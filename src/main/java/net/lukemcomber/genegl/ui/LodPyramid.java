@@ -0,0 +1,167 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameDelta;
+
+/**
+ * Mip pyramid over the world grid for views below one pixel per cell. Level {@code l} splits
+ * the world into blocks of {@code 2^l x 2^l} cells and keeps, per block, how many cells of
+ * each {@link CellType} it holds. Births, deaths and type changes update one block per level,
+ * so a frame costs its churn times the number of levels. The majority type and occupancy of a
+ * block are read off those counts when a level is drawn.
+ */
+public class LodPyramid {
+
+    private static final int TYPES = CellType.count();
+    private static final int MAX_LEVELS = 16;
+
+    private final int width;
+    private final int levels;
+    private final int[] levelWidth;
+    private final int[] levelHeight;
+    // counts[l][block * TYPES + type] and occupancy[l][block], index 0 unused
+    private final int[][] counts;
+    private final int[][] occupancy;
+    // type + 1 of every world cell, 0 when empty: needed to retract the old type on a change
+    private final byte[] types;
+
+    public LodPyramid(final int width, final int height) {
+        this.width = width;
+        int top = 0;
+        while (top < MAX_LEVELS && (1 << top) < Math.max(width, height)) {
+            top++;
+        }
+        this.levels = top + 1;
+        this.levelWidth = new int[levels];
+        this.levelHeight = new int[levels];
+        this.counts = new int[levels][];
+        this.occupancy = new int[levels][];
+        for (int l = 0; l < levels; l++) {
+            levelWidth[l] = (width + (1 << l) - 1) >> l;
+            levelHeight[l] = (height + (1 << l) - 1) >> l;
+            if (l > 0) {
+                counts[l] = new int[levelWidth[l] * levelHeight[l] * TYPES];
+                occupancy[l] = new int[levelWidth[l] * levelHeight[l]];
+            }
+        }
+        this.types = new byte[width * height];
+    }
+
+    /**
+     * Levels including level 0, the world itself.
+     */
+    public int levels() {
+        return levels;
+    }
+
+    public int levelWidth(final int level) {
+        return levelWidth[level];
+    }
+
+    public int levelHeight(final int level) {
+        return levelHeight[level];
+    }
+
+    /**
+     * Finest level whose blocks are at least a pixel wide at this zoom, so no detail is drawn
+     * that would fall below a pixel: 0 at or above one pixel per cell, the coarsest level when
+     * even its blocks are smaller.
+     */
+    public int levelFor(final float zoom) {
+        int level = 0;
+        while (level < levels - 1 && (1 << level) * zoom < 1.0f) {
+            level++;
+        }
+        return level;
+    }
+
+    public int occupancy(final int level, final int bx, final int by) {
+        if (level == 0) {
+            return types[by * width + bx] != 0 ? 1 : 0;
+        }
+        return occupancy[level][by * levelWidth[level] + bx];
+    }
+
+    /**
+     * Most common cell type in the block, ties going to the lower ordinal; -1 when empty.
+     */
+    public int majority(final int level, final int bx, final int by) {
+        if (level == 0) {
+            return types[by * width + bx] - 1;
+        }
+        final int block = by * levelWidth[level] + bx;
+        if (occupancy[level][block] == 0) {
+            return -1;
+        }
+        final int[] c = counts[level];
+        final int base = block * TYPES;
+        int best = 0;
+        for (int t = 1; t < TYPES; t++) {
+            if (c[base + t] > c[base + best]) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    public void apply(final FrameDelta delta) {
+        for (int i = 0; i < delta.deaths(); i++) {
+            set(delta.deathCell(i), -1);
+        }
+        for (int i = 0; i < delta.changes(); i++) {
+            set(delta.changeCell(i), delta.changeType(i));
+        }
+        for (int i = 0; i < delta.births(); i++) {
+            set(delta.birthCell(i), delta.birthType(i));
+        }
+    }
+
+    /**
+     * Sets the type of one world cell, -1 to empty it, and updates every level above it.
+     */
+    public void set(final int cell, final int type) {
+        final int previous = types[cell] - 1;
+        if (previous == type) return;
+        types[cell] = (byte) (type + 1);
+        final int x = cell % width;
+        final int y = cell / width;
+        for (int l = 1; l < levels; l++) {
+            final int block = (y >> l) * levelWidth[l] + (x >> l);
+            if (previous >= 0) {
+                counts[l][block * TYPES + previous]--;
+            } else {
+                occupancy[l][block]++;
+            }
+            if (type >= 0) {
+                counts[l][block * TYPES + type]++;
+            } else {
+                occupancy[l][block]--;
+            }
+        }
+    }
+
+    /**
+     * Writes the occupied blocks of {@code [bx0, bx1) x [by0, by1)} at {@code level} as
+     * {@code by << 16 | bx} with their majority type, and returns how many there were. The
+     * output arrays need room for the whole rectangle.
+     */
+    public int collect(final int level, final int bx0, final int by0, final int bx1, final int by1,
+                       final int[] blocks, final byte[] majorities) {
+        int n = 0;
+        for (int by = by0; by < by1; by++) {
+            for (int bx = bx0; bx < bx1; bx++) {
+                final int type = majority(level, bx, by);
+                if (type < 0) continue;
+                blocks[n] = (by << 16) | bx;
+                majorities[n] = (byte) type;
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,118 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.biology.Organism;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+
+/**
+ * What the viewer's inspector panel shows: the cell under the cursor and, once one is clicked,
+ * the organism it belongs to. Cells are found through a {@link CellPicker}; the organism's
+ * energy, age and genome are only read for the selected organism, once per new frame, and the
+ * text goes into reused {@link HudText}s like the rest of the HUD.
+ */
+public class OrganismInspector {
+
+    private final CellPicker picker;
+    private final HudText hover = new HudText(96);
+    private final HudText identity = new HudText(96);
+    private final HudText cell = new HudText(96);
+    private final HudText vitals = new HudText(96);
+    private final HudText genome = new HudText(96);
+    private final HudText[] lines = {identity, cell, vitals, genome};
+
+    private Organism selected;
+    private int selectedX;
+    private int selectedY;
+    private long refreshedVersion = -1;
+
+    public OrganismInspector(final SpatialCoordinates dimensions, final VertexPacker packer) {
+        this.picker = new CellPicker(dimensions, packer);
+    }
+
+    /**
+     * The cell under the cursor, at world (x, y).
+     */
+    public void hover(final FrameSnapshot frame, final int x, final int y) {
+        final int i = picker.pick(frame, x, y);
+        final StringBuilder line = hover.begin().append("Cell (").append(x).append(", ").append(y).append(")  |  ");
+        if (CellPicker.NONE == i) {
+            line.append("empty");
+        } else {
+            line.append(CellType.of(frame.type(i)).label);
+            if (null == frame.organism(i)) line.append("  |  organism not known");
+        }
+        hover.end();
+    }
+
+    /**
+     * Selects the organism owning the cell at world (x, y); an empty cell clears the selection.
+     * Returns whether an organism is selected.
+     */
+    public boolean select(final FrameSnapshot frame, final int x, final int y) {
+        final int i = picker.pick(frame, x, y);
+        selected = CellPicker.NONE != i ? frame.organism(i) : null;
+        selectedX = x;
+        selectedY = y;
+        refreshedVersion = -1;
+        if (null != selected) {
+            identity.begin().append("Organism ").append(selected.getUniqueID());
+            identity.end();
+        }
+        update(frame);
+        return null != selected;
+    }
+
+    public void clear() {
+        selected = null;
+    }
+
+    public boolean hasSelection() {
+        return null != selected;
+    }
+
+    /**
+     * Reads the selected organism again when a new frame arrived. While the cell it was selected
+     * at still belongs to it the values are current; otherwise the last ones stay, marked as such.
+     */
+    public void update(final FrameSnapshot frame) {
+        if (null == selected || frame.version() == refreshedVersion) return;
+        refreshedVersion = frame.version();
+        final int i = picker.pick(frame, selectedX, selectedY);
+        final boolean present = CellPicker.NONE != i && frame.organism(i) == selected;
+
+        StringBuilder line = cell.begin().append("Selected at (").append(selectedX).append(", ").append(selectedY).append(")  |  ");
+        if (present) {
+            line.append(CellType.of(frame.type(i)).label);
+        } else {
+            line.append("no longer there");
+        }
+        cell.end();
+        if (!present) return;
+
+        line = vitals.begin().append("Energy ");
+        HudText.appendGrouped(line, selected.getEnergy()).append("  |  age ");
+        HudText.appendGrouped(line, Math.max(0, frame.totalTicks() - selected.getBirthTick())).append(" ticks");
+        vitals.end();
+
+        line = genome.begin().append("Genome ");
+        HudText.appendGrouped(line, selected.getGenome().getNumberOfGenes()).append(" genes");
+        genome.end();
+    }
+
+    public HudText hoverLine() {
+        return hover;
+    }
+
+    /**
+     * Organism ID, the selected cell, energy and age, genome; only meaningful with a selection.
+     */
+    public HudText[] selectionLines() {
+        return lines;
+    }
+}
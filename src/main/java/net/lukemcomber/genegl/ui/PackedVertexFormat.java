@@ -0,0 +1,88 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interleaved 6 byte vertex: x and y as unsigned 16 bit grid coordinates, a one byte palette
+ * index and one spare byte. Colors live in the {@code uPalette} shader uniform, indexed by
+ * {@link CellType} ordinal.
+ */
+public final class PackedVertexFormat {
+
+    public static final int STRIDE = 6;
+    public static final int POSITION_OFFSET = 0;
+    public static final int PALETTE_OFFSET = 4;
+    public static final int SPARE_OFFSET = 5;
+
+    public static final int MAX_COORDINATE = 0xFFFF;
+    public static final int PALETTE_SIZE = 8;
+
+    private PackedVertexFormat() {
+    }
+
+    public static void put(final ByteBuffer dst, final int vertex, final int x, final int y, final int palette) {
+        final int base = vertex * STRIDE;
+        dst.putShort(base + POSITION_OFFSET, (short) x);
+        dst.putShort(base + POSITION_OFFSET + 2, (short) y);
+        dst.put(base + PALETTE_OFFSET, (byte) palette);
+        dst.put(base + SPARE_OFFSET, (byte) 0);
+    }
+
+    /**
+     * Encodes every cell of the frame starting at vertex 0. Uses absolute puts, so the buffer
+     * position is untouched; the limit is set to the encoded byte count.
+     */
+    public static int encode(final FrameSnapshot frame, final ByteBuffer dst) {
+        return encode(frame, dst, 0);
+    }
+
+    /**
+     * Encodes every cell of the frame starting at {@code firstVertex}, leaving the vertices
+     * before it alone. The limit is set to the end of the last vertex; returns the bytes encoded.
+     */
+    public static int encode(final FrameSnapshot frame, final ByteBuffer dst, final int firstVertex) {
+        final int count = frame.count();
+        for (int i = 0; i < count; i++) {
+            final int cell = frame.cell(i);
+            put(dst, firstVertex + i, FrameSnapshot.x(cell), FrameSnapshot.y(cell), frame.type(i));
+        }
+        final int bytes = count * STRIDE;
+        dst.limit(firstVertex * STRIDE + bytes);
+        return bytes;
+    }
+
+    public static int x(final ByteBuffer src, final int vertex) {
+        return src.getShort(vertex * STRIDE + POSITION_OFFSET) & 0xFFFF;
+    }
+
+    public static int y(final ByteBuffer src, final int vertex) {
+        return src.getShort(vertex * STRIDE + POSITION_OFFSET + 2) & 0xFFFF;
+    }
+
+    public static int palette(final ByteBuffer src, final int vertex) {
+        return src.get(vertex * STRIDE + PALETTE_OFFSET) & 0xFF;
+    }
+
+    /**
+     * RGBA palette for the {@code uPalette} uniform, one vec4 per {@link CellType}.
+     */
+    public static float[] palette() {
+        final float[] rgba = new float[PALETTE_SIZE * 4];
+        for (int i = 0; i < CellType.count(); i++) {
+            final CellType type = CellType.of((byte) i);
+            rgba[i * 4] = type.red;
+            rgba[i * 4 + 1] = type.green;
+            rgba[i * 4 + 2] = type.blue;
+            rgba[i * 4 + 3] = 1f;
+        }
+        return rgba;
+    }
+}
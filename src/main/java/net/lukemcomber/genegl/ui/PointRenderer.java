@@ -0,0 +1,688 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameDelta;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import org.lwjgl.BufferUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+import static org.lwjgl.opengl.GL30.*;
+
+/**
+ * One GL_POINT per cell, either in the packed interleaved format or the legacy float format.
+ * The packed format can also be kept slot-stable and updated with deltas only. With culling,
+ * cells are kept in a {@link TileIndex} and only the tiles the camera sees are packed and
+ * uploaded, again whenever the frame or the visible tile range changes. Every path packs
+ * straight into the direct upload buffer, large frames in parallel through a {@link VertexPacker}.
+ * Full uploads can also go through a {@link StreamRing}, packing into mapped buffer memory.
+ */
+public class PointRenderer implements CellRenderer {
+
+    static final int INITIAL_POINT_CAPACITY = 1024;
+    private static final VertexPacker SERIAL = new VertexPacker(1);
+
+    private final boolean packedVertices;
+    private final UploadCounter uploads = new UploadCounter();
+    private FrameTimings timings;
+
+    private int vao, vboPos, vboColor, vboPacked, prog;
+    // uniform locations, looked up once in link()
+    private int uResolution, uScale, uPan, uPointSize, uGridMode, uCellScale;
+
+    // Streaming buffer bookkeeping
+    private int posCapacityFloats = 0;
+    private int colCapacityFloats = 0;
+    private int pointCount = 0;
+    // Reusable native buffers to avoid per-frame stack allocations, packed in place
+    private FloatBuffer posFB = null;
+    private FloatBuffer colFB = null;
+    // Packed interleaved path (see PackedVertexFormat)
+    private int packedCapacityBytes = 0;
+    private ByteBuffer packedBB = null;
+    // Delta path: births/deaths against the last uploaded frame, slot-stable vertices
+    private final CellGrid grid;
+    private final FrameDelta delta;
+    private final CellSlotTable slots;
+    // Culling path: the grid and delta above keep the tile index current
+    private final TileIndex tiles;
+    private final int[] visibleTiles = new int[4];
+    private boolean tilesChanged = false;
+    // Below one pixel per cell, or coarser under load (Camera.detailBias): pyramid blocks, or null
+    private final LodPyramid lod;
+    private int[] lodBlocks = new int[0];
+    private byte[] lodTypes = new byte[0];
+    // level, then the tile range (level 0) or block range that is in the buffers
+    private final int[] view = new int[5];
+    private final int[] packedView = {-1, 0, 0, 0, 0};
+    private int packedLevel = 0;
+    // Packing slices: the frame being packed, and the first vertex of each visible tile row
+    private VertexPacker packer = SERIAL;
+    private FrameSnapshot packing;
+    private int[] rowStarts = new int[0];
+    private final VertexPacker.Slice packCells = this::packCells;
+    private final VertexPacker.Slice packTileRows = this::packTileRows;
+    private final VertexPacker.Slice packBlocks = this::packBlocks;
+    // Mapped upload ring, or null for orphan + subdata; legacy colors have their own ring
+    private StreamRing ring;
+    private StreamRing colorRing;
+
+    public PointRenderer(final boolean packedVertices) {
+        this(packedVertices, null, 0f, 0, false);
+    }
+
+    /**
+     * @param deltaDimensions world size to enable delta uploads (packed format only), or null
+     */
+    public PointRenderer(final boolean packedVertices, final SpatialCoordinates deltaDimensions,
+                         final float compactThreshold) {
+        this(packedVertices, deltaDimensions, compactThreshold, 0, false);
+    }
+
+    /**
+     * Full uploads of the visible tiles only, in either vertex format.
+     *
+     * @param lod draw pyramid blocks instead of cells when zoomed out below one pixel per cell
+     */
+    public static PointRenderer culled(final boolean packedVertices, final SpatialCoordinates dimensions,
+                                       final int tileSize, final boolean lod) {
+        return new PointRenderer(packedVertices, dimensions, 0f, tileSize, lod);
+    }
+
+    private PointRenderer(final boolean packedVertices, final SpatialCoordinates dimensions,
+                          final float compactThreshold, final int cullTileSize, final boolean lod) {
+        this.packedVertices = packedVertices;
+        if (null != dimensions && cullTileSize > 0) {
+            grid = new CellGrid(dimensions);
+            delta = new FrameDelta();
+            slots = null;
+            tiles = new TileIndex(grid.width(), grid.height(), cullTileSize);
+            this.lod = lod ? new LodPyramid(grid.width(), grid.height()) : null;
+        } else if (packedVertices && null != dimensions) {
+            grid = new CellGrid(dimensions);
+            delta = new FrameDelta();
+            slots = new CellSlotTable(dimensions.xAxis(), dimensions.yAxis(), compactThreshold);
+            tiles = null;
+            this.lod = null;
+        } else {
+            grid = null;
+            delta = null;
+            slots = null;
+            tiles = null;
+            this.lod = null;
+        }
+        if (packedVertices) {
+            initPacked();
+        } else {
+            initLegacy();
+        }
+    }
+
+    /**
+     * Packs large frames in parallel on this packer's pool; the renderer does not close it.
+     */
+    public void setPacker(final VertexPacker packer) {
+        this.packer = null != packer ? packer : SERIAL;
+    }
+
+    /**
+     * Full uploads through a {@link StreamRing} instead of re-specifying the buffers every frame.
+     * Ignored with delta uploads, whose vertices stay in their slots.
+     *
+     * @param persistent map the ring persistently where the driver has buffer storage
+     * @return whether the ring is persistently mapped
+     */
+    public boolean streamThroughRing(final boolean persistent) {
+        if (null != slots) return false;
+        if (packedVertices) {
+            ring = new StreamRing(PackedVertexFormat.STRIDE, INITIAL_POINT_CAPACITY, persistent);
+        } else {
+            ring = new StreamRing(2 * Float.BYTES, INITIAL_POINT_CAPACITY, persistent);
+            colorRing = new StreamRing(4 * Float.BYTES, INITIAL_POINT_CAPACITY, persistent);
+        }
+        return ring.persistent();
+    }
+
+    /**
+     * Times mapping the upload ring waited for the GPU, 0 without a ring.
+     */
+    public long ringWaits() {
+        return null != ring ? ring.waits() : 0;
+    }
+
+    @Override
+    public void upload(final FrameSnapshot frame) {
+        if (null != tiles) {
+            // packed and uploaded in prepare(), once the camera is known
+            begin(FramePhase.PACK);
+            grid.apply(frame, delta);
+            tiles.apply(delta);
+            if (null != lod) lod.apply(delta);
+            tilesChanged = true;
+            end(FramePhase.PACK);
+            return;
+        } else if (null != slots) {
+            updateAndUploadDelta(frame);
+        } else {
+            updateAndUploadFromCells(frame);
+        }
+        uploads.endFrame();
+    }
+
+    @Override
+    public void prepare(final Camera camera) {
+        if (null == tiles) return;
+        tiles.visibleTiles(camera, visibleTiles);
+        final int level = null != lod
+                ? Math.min(lod.levels() - 1, lod.levelFor(camera.zoom) + Math.max(0, camera.detailBias)) : 0;
+        view[0] = level;
+        if (level == 0) {
+            System.arraycopy(visibleTiles, 0, view, 1, 4);
+        } else {
+            // the tile range in cells, rounded out to whole blocks
+            final int ts = tiles.tileSize();
+            final int block = 1 << level;
+            view[1] = visibleTiles[0] * ts / block;
+            view[2] = visibleTiles[1] * ts / block;
+            view[3] = Math.min(lod.levelWidth(level), (visibleTiles[2] * ts + block - 1) / block);
+            view[4] = Math.min(lod.levelHeight(level), (visibleTiles[3] * ts + block - 1) / block);
+        }
+        if (!tilesChanged && Arrays.equals(view, packedView)) return;
+        System.arraycopy(view, 0, packedView, 0, view.length);
+        tilesChanged = false;
+        packedLevel = level;
+        uploadVisible();
+        uploads.endFrame();
+    }
+
+    /*
+     * Occupied blocks of the packed view into lodBlocks / lodTypes, returns how many.
+     */
+    private int collectBlocks() {
+        final int area = (view[3] - view[1]) * (view[4] - view[2]);
+        if (lodBlocks.length < area) {
+            lodBlocks = new int[Math.max(area, lodBlocks.length * 2)];
+            lodTypes = new byte[lodBlocks.length];
+        }
+        return lod.collect(packedLevel, view[1], view[2], view[3], view[4], lodBlocks, lodTypes);
+    }
+
+    @Override
+    public UploadCounter uploads() {
+        return uploads;
+    }
+
+    @Override
+    public void setTimings(final FrameTimings timings) {
+        this.timings = timings;
+    }
+
+    private void initLegacy() {
+        // --- shaders ---
+        String vsSrc = "#version 330 core\n" +
+                "layout(location=0) in vec2 aPos;\n" +
+                "layout(location=1) in vec4 aColor;\n" +
+                "uniform vec2 uResolution;\n" +
+                "uniform float uScale;\n" +
+                "uniform vec2 uPan;\n" +
+                "uniform float uPointSize;\n" +
+                "uniform float uGridMode;\n" +
+                "uniform float uCellScale;\n" +
+                "out vec4 vColor;\n" +
+                "void main(){\n" +
+                "  // When grid mode is on, snap to the center of the integer world cell and size = 1 cell in pixels.\n" +
+                "  // Pyramid levels draw blocks of uCellScale cells.\n" +
+                "  vec2 world = mix(aPos, floor(aPos) + vec2(0.5), uGridMode) * uCellScale;\n" +
+                "  float pointPx = max(1.0, mix(uPointSize * uScale, uScale * uCellScale, uGridMode));\n" +
+                "  vec2 screen = world * uScale + uPan;\n" +
+                "  vec2 zeroToOne = screen / uResolution;\n" +
+                "  vec2 zeroToTwo = zeroToOne * 2.0;\n" +
+                "  vec2 clip = zeroToTwo - 1.0;\n" +
+                "  gl_Position = vec4(clip * vec2(1.0,-1.0), 0.0, 1.0);\n" +
+                "  gl_PointSize = pointPx;\n" +
+                "  vColor = aColor;\n" +
+                "}";
+
+        String fsSrc = "#version 330 core\n" +
+                "in vec4 vColor;\n" +
+                "out vec4 fragColor;\n" +
+                "void main(){ fragColor = vColor; }";
+
+        prog = Shaders.createProgram(vsSrc, fsSrc);
+
+        // --- buffers ---
+        vao = glGenVertexArrays();
+        glBindVertexArray(vao);
+
+        vboPos = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vboPos);
+
+        glBufferData(GL_ARRAY_BUFFER,
+                (long) INITIAL_POINT_CAPACITY * 2L * Float.BYTES,  // capacity for N points * 2 floats
+                GL_STREAM_DRAW);                                   // streaming hint
+        glEnableVertexAttribArray(0);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L);
+
+        vboColor = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vboColor);
+        glBufferData(GL_ARRAY_BUFFER,
+                (long) INITIAL_POINT_CAPACITY * 4L * Float.BYTES,  // capacity for N points * 4 floats
+                GL_STREAM_DRAW);
+        glEnableVertexAttribArray(1);
+        glVertexAttribPointer(1, 4, GL_FLOAT, false, 0, 0L);
+
+        // Set initial capacities to avoid zero-sized uploads
+        posCapacityFloats = INITIAL_POINT_CAPACITY * 2;
+        colCapacityFloats = INITIAL_POINT_CAPACITY * 4;
+
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        glBindVertexArray(0);
+    }
+
+    private void initPacked() {
+        // --- shaders ---
+        // Integer grid position + palette index; colors come from uPalette
+        String vsSrc = "#version 330 core\n" +
+                "layout(location=0) in uvec2 aCell;\n" +
+                "layout(location=1) in uint aPalette;\n" +
+                "uniform vec4 uPalette[" + PackedVertexFormat.PALETTE_SIZE + "];\n" +
+                "uniform vec2 uResolution;\n" +
+                "uniform float uScale;\n" +
+                "uniform vec2 uPan;\n" +
+                "uniform float uPointSize;\n" +
+                "uniform float uGridMode;\n" +
+                "uniform float uCellScale;\n" +
+                "out vec4 vColor;\n" +
+                "void main(){\n" +
+                "  // Free slots of the delta path: push outside the clip volume\n" +
+                "  if (aPalette == " + CellSlotTable.HIDDEN + "u) { gl_Position = vec4(2.0, 2.0, 2.0, 1.0); gl_PointSize = 1.0; vColor = vec4(0.0); return; }\n" +
+                "  vec2 aPos = vec2(aCell);\n" +
+                "  vec2 world = mix(aPos, aPos + vec2(0.5), uGridMode) * uCellScale;\n" +
+                "  float pointPx = max(1.0, mix(uPointSize * uScale, uScale * uCellScale, uGridMode));\n" +
+                "  vec2 screen = world * uScale + uPan;\n" +
+                "  vec2 clip = (screen / uResolution) * 2.0 - 1.0;\n" +
+                "  gl_Position = vec4(clip * vec2(1.0,-1.0), 0.0, 1.0);\n" +
+                "  gl_PointSize = pointPx;\n" +
+                "  vColor = uPalette[aPalette];\n" +
+                "}";
+
+        String fsSrc = "#version 330 core\n" +
+                "in vec4 vColor;\n" +
+                "out vec4 fragColor;\n" +
+                "void main(){ fragColor = vColor; }";
+
+        prog = Shaders.createProgram(vsSrc, fsSrc);
+
+        // --- buffers ---
+        vao = glGenVertexArrays();
+        glBindVertexArray(vao);
+
+        packedCapacityBytes = INITIAL_POINT_CAPACITY * PackedVertexFormat.STRIDE;
+        vboPacked = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vboPacked);
+        glBufferData(GL_ARRAY_BUFFER, packedCapacityBytes, GL_STREAM_DRAW);
+        glEnableVertexAttribArray(0);
+        glVertexAttribIPointer(0, 2, GL_UNSIGNED_SHORT, PackedVertexFormat.STRIDE,
+                PackedVertexFormat.POSITION_OFFSET);
+        glEnableVertexAttribArray(1);
+        glVertexAttribIPointer(1, 1, GL_UNSIGNED_BYTE, PackedVertexFormat.STRIDE,
+                PackedVertexFormat.PALETTE_OFFSET);
+
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        glBindVertexArray(0);
+    }
+
+    // --- Streaming helpers ---
+    private void ensureBufferCapacity(int points) {
+        int needPos = points * 2; // floats
+        int needCol = points * 4;
+
+        if (needPos > posCapacityFloats) {
+            posCapacityFloats = Math.max(needPos, posCapacityFloats * 2 + 1024);
+            glBindBuffer(GL_ARRAY_BUFFER, vboPos);
+            glBufferData(GL_ARRAY_BUFFER, (long) posCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
+        }
+        if (needCol > colCapacityFloats) {
+            colCapacityFloats = Math.max(needCol, colCapacityFloats * 2 + 2048);
+            glBindBuffer(GL_ARRAY_BUFFER, vboColor);
+            glBufferData(GL_ARRAY_BUFFER, (long) colCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
+        }
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    private void ensureDirectBuffers(int points) {
+        int needPos = points * 2; // floats
+        int needCol = points * 4;
+        if (posFB == null || posFB.capacity() < needPos) {
+            posFB = BufferUtils.createFloatBuffer(Math.max(needPos, 1 << 15)); // grow generously
+        }
+        if (colFB == null || colFB.capacity() < needCol) {
+            colFB = BufferUtils.createFloatBuffer(Math.max(needCol, 1 << 15));
+        }
+    }
+
+    /*
+     * Every cell of the frame, in either vertex format: putVertex writes the one in use.
+     */
+    private void updateAndUploadFromCells(final FrameSnapshot frame) {
+        begin(FramePhase.PACK);
+        pointCount = frame.count();
+        prepareBuffers();
+        packing = frame;
+        packer.run(pointCount, pointCount, packCells);
+        packing = null;
+        end(FramePhase.PACK);
+        stream();
+    }
+
+    // STREAM: orphan + subdata to avoid stalls, using persistent direct buffers
+    private void streamLegacy() {
+        begin(FramePhase.UPLOAD);
+
+        // positions
+        posFB.clear().limit(pointCount * 2);
+        glBindBuffer(GL_ARRAY_BUFFER, vboPos);
+        glBufferData(GL_ARRAY_BUFFER, (long) posCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 0, posFB);
+        uploads.add((long) pointCount * 2L * Float.BYTES);
+
+        // colors
+        colFB.clear().limit(pointCount * 4);
+        glBindBuffer(GL_ARRAY_BUFFER, vboColor);
+        glBufferData(GL_ARRAY_BUFFER, (long) colCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 0, colFB);
+        uploads.add((long) pointCount * 4L * Float.BYTES);
+
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        end(FramePhase.UPLOAD);
+    }
+
+    private void uploadVisible() {
+        begin(FramePhase.PACK);
+        if (packedLevel > 0) {
+            pointCount = collectBlocks();
+            prepareBuffers();
+            // block coordinates, the shader scales them by the block size
+            packer.run(pointCount, pointCount, packBlocks);
+        } else {
+            // where each visible tile row starts, so the rows can be packed independently
+            final int rows = visibleTiles[3] - visibleTiles[1];
+            if (rowStarts.length < rows + 1) {
+                rowStarts = new int[rows + 1];
+            }
+            int vertex = 0;
+            for (int r = 0; r < rows; r++) {
+                rowStarts[r] = vertex;
+                final int rowTile = (visibleTiles[1] + r) * tiles.tilesX();
+                for (int tx = visibleTiles[0]; tx < visibleTiles[2]; tx++) {
+                    vertex += tiles.count(rowTile + tx);
+                }
+            }
+            rowStarts[rows] = vertex;
+            pointCount = vertex;
+            prepareBuffers();
+            packer.run(rows, pointCount, packTileRows);
+        }
+        end(FramePhase.PACK);
+        stream();
+    }
+
+    /*
+     * Points packedBB, or posFB and colFB, at where pointCount vertices are to be packed.
+     */
+    private void prepareBuffers() {
+        if (null != ring && mapRing()) return;
+        if (packedVertices) {
+            ensurePackedCapacity(pointCount);
+            packedBB.clear();
+        } else {
+            ensureBufferCapacity(pointCount);
+            ensureDirectBuffers(pointCount);
+        }
+    }
+
+    private boolean mapRing() {
+        if (packedVertices) {
+            packedBB = ring.map(pointCount);
+        } else {
+            posFB = ring.mapFloats(pointCount);
+            colFB = null != posFB ? colorRing.mapFloats(pointCount) : null;
+        }
+        if (packedVertices ? null != packedBB : null != colFB) {
+            return true;
+        }
+        System.err.println("[Render] Could not map the upload ring, re-specifying the buffers from now on");
+        disposeRings();
+        packedBB = null;
+        posFB = null;
+        colFB = null;
+        if (packedVertices) {
+            bindAttributes(vboPacked, 0, 0, 0);
+        } else {
+            bindAttributes(vboPos, 0, vboColor, 0);
+        }
+        return false;
+    }
+
+    private void stream() {
+        if (null != ring) {
+            streamRing();
+        } else if (packedVertices) {
+            streamPacked(pointCount * PackedVertexFormat.STRIDE);
+        } else {
+            streamLegacy();
+        }
+    }
+
+    // RING: the vertices are already in the buffer, point the attributes at their segment
+    private void streamRing() {
+        begin(FramePhase.UPLOAD);
+        ring.unmap();
+        if (null != colorRing) colorRing.unmap();
+        bindAttributes(ring.buffer(), ring.base(),
+                null != colorRing ? colorRing.buffer() : 0, null != colorRing ? colorRing.base() : 0);
+        uploads.add((long) pointCount * (packedVertices ? PackedVertexFormat.STRIDE : 6 * Float.BYTES));
+        end(FramePhase.UPLOAD);
+    }
+
+    private void bindAttributes(final int buffer, final long base, final int colorBuffer, final long colorBase) {
+        glBindVertexArray(vao);
+        glBindBuffer(GL_ARRAY_BUFFER, buffer);
+        if (packedVertices) {
+            glVertexAttribIPointer(0, 2, GL_UNSIGNED_SHORT, PackedVertexFormat.STRIDE,
+                    base + PackedVertexFormat.POSITION_OFFSET);
+            glVertexAttribIPointer(1, 1, GL_UNSIGNED_BYTE, PackedVertexFormat.STRIDE,
+                    base + PackedVertexFormat.PALETTE_OFFSET);
+        } else {
+            glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, base);
+            glBindBuffer(GL_ARRAY_BUFFER, colorBuffer);
+            glVertexAttribPointer(1, 4, GL_FLOAT, false, 0, colorBase);
+        }
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        glBindVertexArray(0);
+    }
+
+    private void disposeRings() {
+        if (null != ring) ring.dispose();
+        if (null != colorRing) colorRing.dispose();
+        ring = null;
+        colorRing = null;
+    }
+
+    /*
+     * Slices of the packer: each writes only its own vertices, with absolute puts.
+     */
+    private void packCells(final int from, final int to) {
+        final FrameSnapshot frame = packing;
+        for (int i = from; i < to; i++) {
+            final int cell = frame.cell(i);
+            putVertex(i, FrameSnapshot.x(cell), FrameSnapshot.y(cell), frame.type(i));
+        }
+    }
+
+    private void packTileRows(final int from, final int to) {
+        final int width = grid.width();
+        final byte[] types = grid.cells();
+        for (int r = from; r < to; r++) {
+            int vertex = rowStarts[r];
+            final int rowTile = (visibleTiles[1] + r) * tiles.tilesX();
+            for (int tx = visibleTiles[0]; tx < visibleTiles[2]; tx++) {
+                final int tile = rowTile + tx;
+                for (int i = 0, n = tiles.count(tile); i < n; i++) {
+                    final int cell = tiles.cell(tile, i);
+                    putVertex(vertex++, cell % width, cell / width, types[cell] - 1);
+                }
+            }
+        }
+    }
+
+    private void packBlocks(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            putVertex(i, lodBlocks[i] & 0xFFFF, lodBlocks[i] >>> 16, lodTypes[i]);
+        }
+    }
+
+    private void putVertex(final int vertex, final int x, final int y, final int type) {
+        if (packedVertices) {
+            PackedVertexFormat.put(packedBB, vertex, x, y, type);
+        } else {
+            posFB.put(vertex * 2, (float) x);
+            posFB.put(vertex * 2 + 1, (float) y);
+            final CellType cellType = CellType.of((byte) type);
+            final int c = vertex * 4;
+            colFB.put(c, cellType.red);
+            colFB.put(c + 1, cellType.green);
+            colFB.put(c + 2, cellType.blue);
+            colFB.put(c + 3, 1f);
+        }
+    }
+
+    private int ensurePackedCapacity(final int points) {
+        final int needBytes = points * PackedVertexFormat.STRIDE;
+        if (needBytes > packedCapacityBytes) {
+            packedCapacityBytes = Math.max(needBytes, packedCapacityBytes * 2 + 4096);
+        }
+        if (packedBB == null || packedBB.capacity() < needBytes) {
+            packedBB = BufferUtils.createByteBuffer(Math.max(needBytes, 1 << 16)); // grow generously
+        }
+        return needBytes;
+    }
+
+    // STREAM: orphan + subdata, a quarter of the legacy float bytes
+    private void streamPacked(final int needBytes) {
+        begin(FramePhase.UPLOAD);
+        packedBB.clear().limit(needBytes);
+        glBindBuffer(GL_ARRAY_BUFFER, vboPacked);
+        glBufferData(GL_ARRAY_BUFFER, packedCapacityBytes, GL_STREAM_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 0, packedBB);
+        uploads.add(needBytes);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        end(FramePhase.UPLOAD);
+    }
+
+    private void updateAndUploadDelta(final FrameSnapshot frame) {
+        begin(FramePhase.PACK);
+        grid.apply(frame, delta);
+        slots.apply(delta);
+        pointCount = slots.highWater();
+        end(FramePhase.PACK);
+
+        begin(FramePhase.UPLOAD);
+        final ByteBuffer vertices = slots.vertices();
+        glBindBuffer(GL_ARRAY_BUFFER, vboPacked);
+        if (slots.needsFullUpload()) {
+            // Grown or compacted: re-specify at full capacity and send every live slot once
+            packedCapacityBytes = slots.capacity() * PackedVertexFormat.STRIDE;
+            glBufferData(GL_ARRAY_BUFFER, packedCapacityBytes, GL_STREAM_DRAW);
+            vertices.clear().limit(pointCount * PackedVertexFormat.STRIDE);
+            glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
+            uploads.add(vertices.remaining());
+        } else {
+            // Only the coalesced ranges of changed slots
+            int start = slots.nextDirty(0);
+            while (start >= 0) {
+                final int end = slots.rangeEnd(start);
+                vertices.clear()
+                        .position(start * PackedVertexFormat.STRIDE)
+                        .limit(end * PackedVertexFormat.STRIDE);
+                glBufferSubData(GL_ARRAY_BUFFER, (long) start * PackedVertexFormat.STRIDE, vertices);
+                uploads.add((long) (end - start) * PackedVertexFormat.STRIDE);
+                start = slots.nextDirty(end);
+            }
+        }
+        vertices.clear();
+        slots.clearDirty();
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        end(FramePhase.UPLOAD);
+    }
+
+    @Override
+    public void link() {
+        Shaders.finish(prog);
+        uResolution = glGetUniformLocation(prog, "uResolution");
+        uScale = glGetUniformLocation(prog, "uScale");
+        uPan = glGetUniformLocation(prog, "uPan");
+        uPointSize = glGetUniformLocation(prog, "uPointSize");
+        uGridMode = glGetUniformLocation(prog, "uGridMode");
+        uCellScale = glGetUniformLocation(prog, "uCellScale");
+        if (packedVertices) {
+            // Palette never changes, set it once
+            glUseProgram(prog);
+            glUniform4fv(glGetUniformLocation(prog, "uPalette"), PackedVertexFormat.palette());
+            glUseProgram(0);
+        }
+    }
+
+    private void begin(final FramePhase phase) {
+        if (null != timings) timings.begin(phase);
+    }
+
+    private void end(final FramePhase phase) {
+        if (null != timings) timings.end(phase);
+    }
+
+    @Override
+    public void draw(final Camera camera) {
+        if (pointCount == 0) return;
+        glUseProgram(prog);
+        glBindVertexArray(vao);
+        glUniform2f(uResolution, (float) camera.framebufferW, (float) camera.framebufferH);
+
+        // Zoom around origin by scaling; pan is in pixels (positive panX moves right, panY down)
+        glUniform1f(uScale, camera.zoom);
+        glUniform2f(uPan, camera.panX, camera.panY);
+        // Keep points visible even when very zoomed out (clamp done in shader too)
+        glUniform1f(uPointSize, camera.basePointSize);
+        glUniform1f(uGridMode, camera.gridMode ? 1.0f : 0.0f);
+        glUniform1f(uCellScale, (float) (1 << packedLevel));
+
+        glDrawArrays(GL_POINTS, 0, pointCount);
+        if (null != ring) {
+            ring.fence();
+            if (null != colorRing) colorRing.fence();
+        }
+        glBindVertexArray(0);
+        glUseProgram(0);
+    }
+
+    @Override
+    public void dispose() {
+        if (prog != 0) glDeleteProgram(prog);
+        if (vboPos != 0) glDeleteBuffers(vboPos);
+        if (vboColor != 0) glDeleteBuffers(vboColor);
+        if (vboPacked != 0) glDeleteBuffers(vboPacked);
+        if (vao != 0) glDeleteVertexArrays(vao);
+        disposeRings();
+    }
+}
@@ -0,0 +1,187 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.model.Render;
+
+/**
+ * Decides when the render loop draws, and how much a drawn frame may cost.
+ * <ul>
+ *     <li>{@code vsync}: draws every refresh, the default;</li>
+ *     <li>{@code uncapped}: draws as fast as it can, for benchmarking;</li>
+ *     <li>{@code fixed}: at most {@code targetFps} frames a second, and only when something changed;</li>
+ *     <li>{@code on-tick}: synced to the refresh, but only when something changed.</li>
+ * </ul>
+ * "Something changed" is a frame version that was not drawn yet (the publisher hands over one
+ * frame per simulation tick) or an {@link #invalidate()} from input. In between the loop waits
+ * for events instead of spinning, so an idle view leaves the CPU to the simulation.
+ * <p>
+ * With a frame budget, the work part of each drawn frame (everything before the buffer swap)
+ * is averaged. Over budget the scheduler degrades one step at a time: first the HUD text is
+ * only rebuilt every {@link #DECIMATED_HUD_EVERY} frames, then each step adds a level of
+ * detail bias that renderers with a LOD pyramid turn into coarser blocks. Well under budget
+ * it steps back.
+ */
+public class RenderScheduler {
+
+    public static final int DECIMATED_HUD_EVERY = 8;
+
+    // longest wait for events before looking for a new frame again
+    private static final long IDLE_WAIT_NANOS = 4_000_000L;
+    private static final double AVERAGE_WEIGHT = 0.1;
+    private static final double RECOVER_FRACTION = 0.6;
+    private static final long STEP_COOLDOWN_NANOS = 500_000_000L;
+
+    private final String mode;
+    private final boolean skipUnchanged;
+    private final long framePeriodNanos;
+    private final long budgetNanos;
+    private final int maxDegradation;
+
+    private long drawnVersion = -1;
+    private boolean dirty = true;
+    private long nextFrameAt = 0;
+
+    private double averageWorkNanos = 0.0;
+    private int degradation = 0;
+    private long lastStepAt = 0;
+    private long drawnFrames = 0;
+    private long skippedFrames = 0;
+
+    public RenderScheduler(final Render render) {
+        final String configured = null != render.scheduler ? render.scheduler.toLowerCase() : Render.SCHEDULER_VSYNC;
+        switch (configured) {
+            case Render.SCHEDULER_VSYNC:
+            case Render.SCHEDULER_UNCAPPED:
+            case Render.SCHEDULER_FIXED:
+            case Render.SCHEDULER_ON_TICK:
+                mode = configured;
+                break;
+            default:
+                System.err.println("[Render] Unknown scheduler '" + render.scheduler + "', using "
+                        + Render.SCHEDULER_VSYNC);
+                mode = Render.SCHEDULER_VSYNC;
+        }
+        skipUnchanged = Render.SCHEDULER_FIXED.equals(mode) || Render.SCHEDULER_ON_TICK.equals(mode);
+        final int fps = null != render.targetFps && render.targetFps > 0 ? render.targetFps : 60;
+        framePeriodNanos = Render.SCHEDULER_FIXED.equals(mode) ? 1_000_000_000L / fps : 0L;
+        budgetNanos = null != render.frameBudgetMs && render.frameBudgetMs > 0
+                ? (long) (render.frameBudgetMs * 1_000_000.0) : 0L;
+        // step 1 decimates the HUD, every further step is one LOD level
+        maxDegradation = 1 + (null != render.maxDetailBias ? Math.max(0, render.maxDetailBias) : 0);
+    }
+
+    public String mode() {
+        return mode;
+    }
+
+    /**
+     * For {@code glfwSwapInterval}: 1 when swaps wait for the refresh.
+     */
+    public int swapInterval() {
+        return Render.SCHEDULER_VSYNC.equals(mode) || Render.SCHEDULER_ON_TICK.equals(mode) ? 1 : 0;
+    }
+
+    /**
+     * The view changed (camera, HUD toggle, resize): draw again even without a new frame.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Whether to draw the frame of this version now.
+     */
+    public boolean shouldDraw(final long version, final long now) {
+        final boolean changed = dirty || version != drawnVersion;
+        if (skipUnchanged && !changed) {
+            return false;
+        }
+        if (framePeriodNanos > 0 && now < nextFrameAt) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * How long the loop may wait for input before asking {@link #shouldDraw} again.
+     */
+    public long waitNanos(final long now) {
+        if (framePeriodNanos > 0 && now < nextFrameAt) {
+            return Math.min(IDLE_WAIT_NANOS, nextFrameAt - now);
+        }
+        return IDLE_WAIT_NANOS;
+    }
+
+    /**
+     * Records a drawn frame and its work time, excluding the buffer swap which may block on vsync.
+     */
+    public void drawn(final long version, final long workNanos, final long now) {
+        if (drawnVersion >= 0 && version > drawnVersion + 1) {
+            // versions the publisher handed over while we were busy or capped were never drawn
+            skippedFrames += version - drawnVersion - 1;
+        }
+        drawnVersion = version;
+        dirty = false;
+        drawnFrames++;
+        if (framePeriodNanos > 0) {
+            // keep the cadence, but never try to catch up on frames that are already late
+            nextFrameAt = nextFrameAt + framePeriodNanos < now ? now + framePeriodNanos
+                    : nextFrameAt + framePeriodNanos;
+        }
+        averageWorkNanos = 0.0 == averageWorkNanos ? workNanos
+                : averageWorkNanos + AVERAGE_WEIGHT * (workNanos - averageWorkNanos);
+        adapt(now);
+    }
+
+    private void adapt(final long now) {
+        if (budgetNanos == 0 || now - lastStepAt < STEP_COOLDOWN_NANOS) {
+            return;
+        }
+        if (averageWorkNanos > budgetNanos && degradation < maxDegradation) {
+            degradation++;
+            lastStepAt = now;
+            dirty = true;
+        } else if (averageWorkNanos < budgetNanos * RECOVER_FRACTION && degradation > 0) {
+            degradation--;
+            lastStepAt = now;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Whether the HUD text should be rebuilt for the frame about to be drawn.
+     */
+    public boolean hudDue() {
+        return degradation == 0 || drawnFrames % DECIMATED_HUD_EVERY == 0;
+    }
+
+    /**
+     * Extra LOD levels the renderer should drop, see {@link Camera#detailBias}.
+     */
+    public int detailBias() {
+        return Math.max(0, degradation - 1);
+    }
+
+    public int degradation() {
+        return degradation;
+    }
+
+    public double averageWorkMillis() {
+        return averageWorkNanos / 1e6;
+    }
+
+    public long drawnFrames() {
+        return drawnFrames;
+    }
+
+    /**
+     * Published frames that were replaced before they could be drawn.
+     */
+    public long skippedFrames() {
+        return skippedFrames;
+    }
+}
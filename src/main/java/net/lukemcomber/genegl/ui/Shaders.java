@@ -0,0 +1,73 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL20.*;
+
+/**
+ * Compiling and linking is only submitted by {@link #createProgram}; asking for a status makes
+ * the driver finish the work, so nothing is checked until {@link #finish} right before the
+ * program is first used. Drivers that compile in the background (and those with
+ * {@code KHR_parallel_shader_compile}) keep working while the rest of the viewer starts up.
+ * GL thread only.
+ */
+final class Shaders {
+
+    // program -> its vertex and fragment shader, until finish() checked them
+    private static final Map<Integer, int[]> pending = new HashMap<>();
+
+    private Shaders() {
+    }
+
+    static int createProgram(final String vsSrc, final String fsSrc) {
+        int vs = createShader(GL_VERTEX_SHADER, vsSrc);
+        int fs = createShader(GL_FRAGMENT_SHADER, fsSrc);
+
+        int program = glCreateProgram();
+        glAttachShader(program, vs);
+        glAttachShader(program, fs);
+        glLinkProgram(program);
+        pending.put(program, new int[]{vs, fs});
+        return program;
+    }
+
+    /**
+     * Waits for the program to link and throws with the compile and link logs if it did not.
+     * Does nothing for a program that was already checked.
+     */
+    static void finish(final int program) {
+        final int[] shaders = pending.remove(program);
+        if (null == shaders) return;
+        try {
+            if (glGetProgrami(program, GL_LINK_STATUS) == 0) {
+                final StringBuilder log = new StringBuilder("Program link failed: ").append(glGetProgramInfoLog(program));
+                for (final int shader : shaders) {
+                    if (glGetShaderi(shader, GL_COMPILE_STATUS) == 0) {
+                        log.append(System.lineSeparator())
+                                .append(glGetShaderi(shader, GL_SHADER_TYPE) == GL_VERTEX_SHADER ? "Vertex" : "Fragment")
+                                .append(" shader compile failed: ").append(glGetShaderInfoLog(shader));
+                    }
+                }
+                throw new RuntimeException(log.toString());
+            }
+        } finally {
+            for (final int shader : shaders) {
+                glDetachShader(program, shader);
+                glDeleteShader(shader);
+            }
+        }
+    }
+
+    static int createShader(int type, String src) {
+        int sh = glCreateShader(type);
+        glShaderSource(sh, src);
+        glCompileShader(sh);
+        return sh;
+    }
+}
@@ -0,0 +1,198 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pure Java stand-in for the GL renderers: rasterizes the cells into a reusable RGBA
+ * framebuffer with the same camera math as the point shader, split into row bands that are
+ * filled in parallel. Needs no window, no GL context and no GPU.
+ */
+public class SoftwareRenderer implements CellRenderer {
+
+    private static final int BACKGROUND = 0x000000FF; // opaque black, RGBA
+
+    private final ForkJoinPool pool;
+    private final int bands;
+    private final UploadCounter uploads = new UploadCounter();
+    private FrameTimings timings;
+
+    private int count = 0;
+    private int[] cells = new int[0];
+    private int[] colors = new int[0];
+
+    private int framebufferW = 0;
+    private int framebufferH = 0;
+    private ByteBuffer framebuffer;
+    private IntBuffer framebufferInts;
+    private int[] pixels;
+    private BufferedImage image;
+    private int[] imageRow;
+
+    public SoftwareRenderer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SoftwareRenderer(final int threads) {
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+        this.bands = Math.max(1, threads) * 2;
+    }
+
+    /**
+     * Copies the cells out of the frame so the frame can go back to the exchange.
+     */
+    @Override
+    public void upload(final FrameSnapshot frame) {
+        if (null != timings) timings.begin(FramePhase.PACK);
+        count = frame.count();
+        if (cells.length < count) {
+            cells = new int[Math.max(count, cells.length * 2)];
+            colors = new int[cells.length];
+        }
+        for (int i = 0; i < count; i++) {
+            cells[i] = frame.cell(i);
+            colors[i] = (CellType.of(frame.type(i)).rgb << 8) | 0xFF;
+        }
+        uploads.add((long) count * (Integer.BYTES * 2));
+        uploads.endFrame();
+        if (null != timings) timings.end(FramePhase.PACK);
+    }
+
+    @Override
+    public void setTimings(final FrameTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public void draw(final Camera camera) {
+        ensureFramebuffer(camera.framebufferW, camera.framebufferH);
+        final float zoom = camera.zoom;
+        final float size = camera.gridMode
+                ? Math.max(1.0f, zoom)
+                : Math.max(1.0f, camera.basePointSize * zoom);
+        final float offset = camera.gridMode ? 0.5f : 0.0f;
+        pool.invoke(new Band(0, framebufferH, camera.panX, camera.panY, zoom, size, offset));
+    }
+
+    /**
+     * RGBA8 pixels, row-major, top row first. Valid until the next {@link #draw(Camera)}.
+     */
+    public ByteBuffer framebuffer() {
+        return framebuffer.duplicate().clear();
+    }
+
+    public int framebufferWidth() {
+        return framebufferW;
+    }
+
+    public int framebufferHeight() {
+        return framebufferH;
+    }
+
+    public void writePng(final Path path) throws IOException {
+        for (int y = 0; y < framebufferH; y++) {
+            for (int x = 0; x < framebufferW; x++) {
+                imageRow[x] = pixels[y * framebufferW + x] >>> 8;
+            }
+            image.setRGB(0, y, framebufferW, 1, imageRow, 0, framebufferW);
+        }
+        ImageIO.write(image, "png", path.toFile());
+    }
+
+    @Override
+    public UploadCounter uploads() {
+        return uploads;
+    }
+
+    @Override
+    public void dispose() {
+        pool.shutdown();
+    }
+
+    private void ensureFramebuffer(final int w, final int h) {
+        if (null == framebuffer || w != framebufferW || h != framebufferH) {
+            framebufferW = w;
+            framebufferH = h;
+            framebuffer = ByteBuffer.allocateDirect(w * h * 4);
+            framebufferInts = framebuffer.asIntBuffer();
+            pixels = new int[w * h];
+            image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            imageRow = new int[w];
+        }
+    }
+
+    /*
+     * Rows [y0, y1). Splits down to one band per task, then clears its rows, draws every
+     * cell clipped to them and copies the band into the direct framebuffer. Pixel coverage
+     * follows GL point rules: a pixel is covered when its center lies inside the point square.
+     */
+    private final class Band extends RecursiveAction {
+
+        private final int y0, y1;
+        private final float panX, panY, zoom, size, offset;
+
+        Band(final int y0, final int y1, final float panX, final float panY, final float zoom,
+             final float size, final float offset) {
+            this.y0 = y0;
+            this.y1 = y1;
+            this.panX = panX;
+            this.panY = panY;
+            this.zoom = zoom;
+            this.size = size;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            final int minRows = Math.max(1, (framebufferH + bands - 1) / bands);
+            if (y1 - y0 > minRows) {
+                final int mid = (y0 + y1) >>> 1;
+                invokeAll(new Band(y0, mid, panX, panY, zoom, size, offset),
+                        new Band(mid, y1, panX, panY, zoom, size, offset));
+                return;
+            }
+            rasterize();
+        }
+
+        private void rasterize() {
+            final int w = framebufferW;
+            Arrays.fill(pixels, y0 * w, y1 * w, BACKGROUND);
+            final float half = size * 0.5f;
+            for (int i = 0; i < count; i++) {
+                final int cell = cells[i];
+                final float cy = (FrameSnapshot.y(cell) + offset) * zoom + panY;
+                final int top = Math.max(y0, (int) Math.ceil(cy - half - 0.5f));
+                final int bottom = Math.min(y1, (int) Math.ceil(cy + half - 0.5f));
+                if (top >= bottom) continue;
+
+                final float cx = (FrameSnapshot.x(cell) + offset) * zoom + panX;
+                final int left = Math.max(0, (int) Math.ceil(cx - half - 0.5f));
+                final int right = Math.min(w, (int) Math.ceil(cx + half - 0.5f));
+                if (left >= right) continue;
+
+                final int color = colors[i];
+                for (int y = top; y < bottom; y++) {
+                    Arrays.fill(pixels, y * w + left, y * w + right, color);
+                }
+            }
+            framebufferInts.put(y0 * w, pixels, y0 * w, (y1 - y0) * w);
+        }
+    }
+}
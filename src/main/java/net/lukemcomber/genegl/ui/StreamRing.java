@@ -0,0 +1,209 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.opengl.GL44.GL_MAP_COHERENT_BIT;
+import static org.lwjgl.opengl.GL44.GL_MAP_PERSISTENT_BIT;
+import static org.lwjgl.opengl.GL44.glBufferStorage;
+
+/**
+ * A vertex buffer of {@link #SEGMENTS} segments that frames are packed into in turn, straight
+ * into memory the GPU reads from, instead of re-specifying the buffer and copying each frame in
+ * with {@code glBufferSubData}. A fence after the last draw from a segment guards it: the CPU
+ * only waits when it comes round to a segment the GPU is still reading.
+ * <p>
+ * With {@code GL_ARB_buffer_storage} (core in GL 4.4) the buffer is mapped once, persistently
+ * and coherently. Without it, as on a plain GL 3.3 driver, each segment is mapped with
+ * {@code GL_MAP_UNSYNCHRONIZED_BIT} for the frame and unmapped before drawing.
+ */
+final class StreamRing {
+
+    static final int SEGMENTS = 3;
+    private static final int FENCE_WAIT_NANOS = 1_000_000;
+
+    private final int stride;
+    private final boolean persistent;
+    private int buffer = 0;
+    private int segmentVertices = 0;
+    private final long[] fences = new long[SEGMENTS];
+    private int segment = SEGMENTS - 1;
+    private boolean mapped = false;
+    // persistent only: the one mapping
+    private ByteBuffer mapping;
+    // a view of every segment, made with the persistent mapping, otherwise kept from the last
+    // time the segment was mapped and reused while the driver maps it at the same address
+    private final ByteBuffer[] views = new ByteBuffer[SEGMENTS];
+    private final FloatBuffer[] floatViews = new FloatBuffer[SEGMENTS];
+    private long waits = 0;
+
+    /**
+     * @param persistent map the buffer persistently if the driver has buffer storage
+     */
+    StreamRing(final int stride, final int vertices, final boolean persistent) {
+        this.stride = stride;
+        this.persistent = persistent && persistentAvailable();
+        allocate(vertices);
+    }
+
+    /**
+     * Whether the current context has buffer storage for a persistent mapping.
+     */
+    static boolean persistentAvailable() {
+        final GLCapabilities caps = GL.getCapabilities();
+        return caps.OpenGL44 || caps.GL_ARB_buffer_storage;
+    }
+
+    boolean persistent() {
+        return persistent;
+    }
+
+    int buffer() {
+        return buffer;
+    }
+
+    /**
+     * Byte offset of the segment last mapped.
+     */
+    long base() {
+        return (long) segment * segmentVertices * stride;
+    }
+
+    /**
+     * How often mapping a segment had to wait for the GPU to finish reading it.
+     */
+    long waits() {
+        return waits;
+    }
+
+    /**
+     * Maps the next segment for at least {@code vertices} vertices, growing the ring if needed,
+     * once the GPU is done with it. Writes go to absolute vertex offsets from 0. Null if the
+     * driver could not map it.
+     */
+    ByteBuffer map(final int vertices) {
+        if (vertices > segmentVertices) {
+            release();
+            allocate(Math.max(vertices, segmentVertices * 2));
+        }
+        segment = (segment + 1) % SEGMENTS;
+        awaitFence(segment);
+        if (persistent) {
+            return null != mapping ? views[segment] : null;
+        }
+        glBindBuffer(GL_ARRAY_BUFFER, buffer);
+        // LWJGL hands the old view back when the range is mapped at the same address again
+        final ByteBuffer range = glMapBufferRange(GL_ARRAY_BUFFER, base(), (long) segmentVertices * stride,
+                GL_MAP_WRITE_BIT | GL_MAP_UNSYNCHRONIZED_BIT | GL_MAP_INVALIDATE_RANGE_BIT, views[segment]);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        mapped = null != range;
+        if (!mapped) return null;
+        if (range != views[segment]) {
+            views[segment] = range.order(ByteOrder.nativeOrder());
+            floatViews[segment] = range.asFloatBuffer();
+        }
+        return range.clear();
+    }
+
+    /**
+     * {@link #map(int)} as floats. Allocation-free when persistent, and when the driver keeps
+     * mapping each segment at the same address.
+     */
+    FloatBuffer mapFloats(final int vertices) {
+        if (null == map(vertices)) return null;
+        return floatViews[segment].clear();
+    }
+
+    /**
+     * Done writing the segment; it can be drawn from once this returns.
+     */
+    void unmap() {
+        if (mapped) {
+            glBindBuffer(GL_ARRAY_BUFFER, buffer);
+            glUnmapBuffer(GL_ARRAY_BUFFER);
+            glBindBuffer(GL_ARRAY_BUFFER, 0);
+            mapped = false;
+        }
+    }
+
+    /**
+     * Fences the draws issued so far from the current segment; called after each one.
+     */
+    void fence() {
+        if (0 != fences[segment]) glDeleteSync(fences[segment]);
+        fences[segment] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+    }
+
+    void dispose() {
+        release();
+    }
+
+    private void awaitFence(final int s) {
+        final long fence = fences[s];
+        if (0 == fence) return;
+        int status = glClientWaitSync(fence, 0, 0L);
+        if (GL_TIMEOUT_EXPIRED == status) {
+            waits++;
+            do {
+                status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_WAIT_NANOS);
+            } while (GL_TIMEOUT_EXPIRED == status);
+        }
+        if (GL_WAIT_FAILED == status) {
+            System.err.println("[Render] Waiting on an upload fence failed, writing the segment anyway");
+        }
+        glDeleteSync(fence);
+        fences[s] = 0;
+    }
+
+    private void allocate(final int vertices) {
+        segmentVertices = Math.max(1, vertices);
+        final long bytes = (long) SEGMENTS * segmentVertices * stride;
+        buffer = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, buffer);
+        if (persistent) {
+            // immutable storage, so growing means a new buffer
+            final int flags = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+            glBufferStorage(GL_ARRAY_BUFFER, bytes, flags);
+            mapping = glMapBufferRange(GL_ARRAY_BUFFER, 0, bytes, flags);
+            if (null != mapping) {
+                final int segmentBytes = segmentVertices * stride;
+                for (int s = 0; s < SEGMENTS; s++) {
+                    views[s] = mapping.slice(s * segmentBytes, segmentBytes).order(ByteOrder.nativeOrder());
+                    floatViews[s] = views[s].asFloatBuffer();
+                }
+            }
+        } else {
+            glBufferData(GL_ARRAY_BUFFER, bytes, GL_STREAM_DRAW);
+        }
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        segment = SEGMENTS - 1;
+    }
+
+    private void release() {
+        for (int s = 0; s < SEGMENTS; s++) {
+            if (0 != fences[s]) {
+                glDeleteSync(fences[s]);
+                fences[s] = 0;
+            }
+            views[s] = null;
+            floatViews[s] = null;
+        }
+        if (0 != buffer) {
+            // a mapped buffer is unmapped on delete; the driver keeps it until the GPU is done
+            glDeleteBuffers(buffer);
+            buffer = 0;
+        }
+        mapping = null;
+        mapped = false;
+    }
+}
@@ -0,0 +1,177 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameDelta;
+
+import java.util.Arrays;
+
+/**
+ * Live cells binned into square world tiles of {@code tileSize} cells, kept up to date from
+ * {@link FrameDelta}s so a frame costs its births and deaths, not its population. Each tile
+ * holds an unordered list of world indices (y * width + x); removal swaps the last entry into
+ * the hole. {@link #visibleTiles(Camera, int[])} maps the camera to the tiles a frame can see.
+ */
+public class TileIndex {
+
+    private static final int INITIAL_TILE_CAPACITY = 16;
+
+    private final int width;
+    private final int tileSize;
+    private final int tilesX;
+    private final int tilesY;
+
+    private final int[][] tileCells;
+    private final int[] tileCounts;
+    // position of each live cell inside its tile's list, -1 when not indexed
+    private final int[] positionOfCell;
+    private int size = 0;
+
+    public TileIndex(final int width, final int height, final int tileSize) {
+        this.width = width;
+        this.tileSize = Math.max(1, tileSize);
+        this.tilesX = (width + this.tileSize - 1) / this.tileSize;
+        this.tilesY = (height + this.tileSize - 1) / this.tileSize;
+        this.tileCells = new int[tilesX * tilesY][];
+        this.tileCounts = new int[tilesX * tilesY];
+        this.positionOfCell = new int[width * height];
+        Arrays.fill(positionOfCell, -1);
+    }
+
+    public int tileSize() {
+        return tileSize;
+    }
+
+    public int tilesX() {
+        return tilesX;
+    }
+
+    public int tilesY() {
+        return tilesY;
+    }
+
+    /**
+     * Live cells across all tiles.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int tileOf(final int cell) {
+        return (cell / width / tileSize) * tilesX + (cell % width) / tileSize;
+    }
+
+    public int count(final int tile) {
+        return tileCounts[tile];
+    }
+
+    /**
+     * World index of the i-th cell of the tile, in no particular order.
+     */
+    public int cell(final int tile, final int i) {
+        return tileCells[tile][i];
+    }
+
+    public boolean contains(final int cell) {
+        return positionOfCell[cell] >= 0;
+    }
+
+    /**
+     * Births are added, deaths removed; type changes keep their tile.
+     */
+    public void apply(final FrameDelta delta) {
+        for (int i = 0; i < delta.deaths(); i++) {
+            remove(delta.deathCell(i));
+        }
+        for (int i = 0; i < delta.births(); i++) {
+            add(delta.birthCell(i));
+        }
+    }
+
+    public void add(final int cell) {
+        if (positionOfCell[cell] >= 0) return;
+        final int tile = tileOf(cell);
+        int[] cells = tileCells[tile];
+        final int count = tileCounts[tile];
+        if (null == cells) {
+            cells = tileCells[tile] = new int[INITIAL_TILE_CAPACITY];
+        } else if (count == cells.length) {
+            cells = tileCells[tile] = Arrays.copyOf(cells, cells.length * 2);
+        }
+        cells[count] = cell;
+        positionOfCell[cell] = count;
+        tileCounts[tile] = count + 1;
+        size++;
+    }
+
+    public void remove(final int cell) {
+        final int position = positionOfCell[cell];
+        if (position < 0) return;
+        final int tile = tileOf(cell);
+        final int[] cells = tileCells[tile];
+        final int last = --tileCounts[tile];
+        if (position != last) {
+            final int moved = cells[last];
+            cells[position] = moved;
+            positionOfCell[moved] = position;
+        }
+        positionOfCell[cell] = -1;
+        size--;
+    }
+
+    public void clear() {
+        for (int tile = 0; tile < tileCounts.length; tile++) {
+            for (int i = 0; i < tileCounts[tile]; i++) {
+                positionOfCell[tileCells[tile][i]] = -1;
+            }
+            tileCounts[tile] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Tiles that may hold a cell drawn inside the framebuffer, as {@code [x0, y0, x1, y1)} in
+     * tile coordinates; empty when {@code x0 == x1} or {@code y0 == y1}. Conservative: a point
+     * is kept whenever any part of its square, sized as the point shader sizes it, reaches the
+     * screen. Screen = world * zoom + pan, so the screen edges map back through the inverse.
+     */
+    public void visibleTiles(final Camera camera, final int[] range) {
+        final float zoom = Math.max(camera.zoom, 1e-6f);
+        final float pointPx = camera.gridMode
+                ? Math.max(1.0f, zoom)
+                : Math.max(1.0f, camera.basePointSize * zoom);
+        // grid mode centers the square on the cell, otherwise the point sits on the corner
+        final float center = camera.gridMode ? 0.5f : 0.0f;
+        final float half = pointPx * 0.5f / zoom;
+
+        final float minX = -camera.panX / zoom - center - half;
+        final float maxX = (camera.framebufferW - camera.panX) / zoom - center + half;
+        final float minY = -camera.panY / zoom - center - half;
+        final float maxY = (camera.framebufferH - camera.panY) / zoom - center + half;
+
+        range[0] = clamp((int) Math.floor(minX / tileSize), tilesX);
+        range[1] = clamp((int) Math.floor(minY / tileSize), tilesY);
+        range[2] = Math.max(range[0], clamp((int) Math.floor(maxX / tileSize) + 1, tilesX));
+        range[3] = Math.max(range[1], clamp((int) Math.floor(maxY / tileSize) + 1, tilesY));
+    }
+
+    /**
+     * Live cells in the tiles of a {@link #visibleTiles} range.
+     */
+    public int count(final int[] range) {
+        int total = 0;
+        for (int ty = range[1]; ty < range[3]; ty++) {
+            for (int tx = range[0]; tx < range[2]; tx++) {
+                total += tileCounts[ty * tilesX + tx];
+            }
+        }
+        return total;
+    }
+
+    private static int clamp(final int value, final int max) {
+        return Math.max(0, Math.min(max, value));
+    }
+}
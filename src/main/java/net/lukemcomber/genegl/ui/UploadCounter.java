@@ -0,0 +1,54 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+/**
+ * Bytes handed to the driver per uploaded frame, so upload strategies can be compared.
+ */
+public class UploadCounter {
+
+    private long frameBytes = 0;
+    private int frameCalls = 0;
+
+    private long lastFrameBytes = 0;
+    private int lastFrameCalls = 0;
+    private long totalBytes = 0;
+    private long frames = 0;
+
+    public void add(final long bytes) {
+        frameBytes += bytes;
+        frameCalls++;
+    }
+
+    public void endFrame() {
+        lastFrameBytes = frameBytes;
+        lastFrameCalls = frameCalls;
+        totalBytes += frameBytes;
+        frames++;
+        frameBytes = 0;
+        frameCalls = 0;
+    }
+
+    public long lastFrameBytes() {
+        return lastFrameBytes;
+    }
+
+    public int lastFrameCalls() {
+        return lastFrameCalls;
+    }
+
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public double averageBytes() {
+        return frames == 0 ? 0.0 : (double) totalBytes / frames;
+    }
+}
@@ -0,0 +1,124 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits vertex packing across a fork-join pool. The work is a range of units (cells, blocks,
+ * tile rows) that the caller can pack as independent slices, each writing its own disjoint part
+ * of the upload buffer with absolute puts, so no slice waits on or copies from another.
+ * <p>
+ * Frames under {@link #SERIAL_BELOW} cells, and a packer with one thread, run the slice on the
+ * calling thread. The tasks are allocated once and reused every frame.
+ */
+public final class VertexPacker implements AutoCloseable {
+
+    public static final int SERIAL_BELOW = 1 << 16;
+    // slices per thread, so a slow or busy worker does not hold up the frame
+    static final int SLICES_PER_THREAD = 4;
+    static final int MIN_SLICE_CELLS = 1 << 14;
+
+    /**
+     * Packs units {@code [from, to)}; called concurrently for disjoint ranges.
+     */
+    @FunctionalInterface
+    public interface Slice {
+        void pack(int from, int to);
+    }
+
+    private final int threads;
+    private final ForkJoinPool pool;
+    private final Part[] parts;
+    private final Root root = new Root();
+
+    // the job, published to the workers by the pool's submission
+    private Slice work;
+    private int used;
+
+    /**
+     * @param threads worker threads, 0 for one per core; 1 packs serially without a pool
+     */
+    public VertexPacker(final int threads) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        if (this.threads > 1) {
+            pool = new ForkJoinPool(this.threads, p -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("genegl-pack-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        } else {
+            pool = null;
+        }
+        parts = new Part[this.threads * SLICES_PER_THREAD];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new Part();
+        }
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    /**
+     * Packs {@code units} units holding {@code cells} cells in total, returning once all are done.
+     * Units are split evenly, so they should hold about as many cells each.
+     */
+    public void run(final int units, final int cells, final Slice slice) {
+        if (units <= 0) return;
+        final int slices = Math.min(Math.min(parts.length, units), cells / MIN_SLICE_CELLS);
+        if (null == pool || cells < SERIAL_BELOW || slices < 2) {
+            slice.pack(0, units);
+            return;
+        }
+        for (int i = 0; i < slices; i++) {
+            final Part part = parts[i];
+            part.from = (int) ((long) units * i / slices);
+            part.to = (int) ((long) units * (i + 1) / slices);
+            part.reinitialize();
+        }
+        work = slice;
+        used = slices;
+        root.reinitialize();
+        try {
+            pool.invoke(root);
+        } finally {
+            work = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (null != pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private final class Root extends RecursiveAction {
+        @Override
+        protected void compute() {
+            for (int i = used - 1; i > 0; i--) {
+                parts[i].fork();
+            }
+            parts[0].invoke();
+            for (int i = 1; i < used; i++) {
+                parts[i].join();
+            }
+        }
+    }
+
+    private final class Part extends RecursiveAction {
+        int from;
+        int to;
+
+        @Override
+        protected void compute() {
+            work.pack(from, to);
+        }
+    }
+}
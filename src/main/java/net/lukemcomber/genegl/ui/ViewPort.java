@@ -5,31 +5,30 @@ package net.lukemcomber.genegl.ui;
  * This code is licensed under MIT license (see LICENSE.txt for details)
  */
 
-import net.lukemcomber.genetics.Ecosystem;
-import net.lukemcomber.genetics.biology.Cell;
-import net.lukemcomber.genetics.biology.Organism;
-import net.lukemcomber.genetics.biology.plant.cells.EjectedSeedCell;
-import net.lukemcomber.genetics.io.CellHelper;
+import net.lukemcomber.genegl.frame.FrameExchange;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.frame.PlaybackControl;
+import net.lukemcomber.genegl.heatmap.Heatmaps;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genegl.metrics.StartupTimeline;
+import net.lukemcomber.genegl.metrics.TimingSummary;
+import net.lukemcomber.genegl.model.Render;
 import net.lukemcomber.genetics.model.SpatialCoordinates;
-import net.lukemcomber.genetics.model.TemporalCoordinates;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.nanovg.NVGColor;
 import org.lwjgl.nanovg.NanoVG;
 import org.lwjgl.nanovg.NanoVGGL3;
+import org.lwjgl.opengl.ARBParallelShaderCompile;
 import org.lwjgl.opengl.GL;
-import org.lwjgl.system.MemoryStack;
-import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.opengl.KHRParallelShaderCompile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.FloatBuffer;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import static org.lwjgl.glfw.GLFW.*;
 import static org.lwjgl.glfw.GLFW.GLFW_CONTEXT_VERSION_MAJOR;
@@ -52,6 +51,8 @@ import static org.lwjgl.opengl.GL20.glGetProgrami;
 import static org.lwjgl.opengl.GL20.glLinkProgram;
 import static org.lwjgl.opengl.GL30.*;
 import static org.lwjgl.opengl.GL32C.GL_PROGRAM_POINT_SIZE;
+import static org.lwjgl.opengl.GL33.GL_TIME_ELAPSED;
+import static org.lwjgl.opengl.GL33.glGetQueryObjecti64;
 import static org.lwjgl.system.MemoryUtil.NULL;
 
 public class ViewPort {
@@ -59,22 +60,27 @@ public class ViewPort {
     // NanoVG HUD
     static long vg = 0;           // NanoVG context
     static int fontId = -1;       // font handle
+    // TTF bytes, read off the main thread; NanoVG keeps pointing into them, so they stay referenced
+    static CompletableFuture<ByteBuffer> fontData;
+    static ByteBuffer fontBuffer;
+
+    static StartupTimeline startup;
+    static boolean firstFrameShown = false;
 
-    static int vao, vboPos, vboColor, prog;
     static long window;
     static GLFWErrorCallback errCallback;
 
-    static final int INITIAL_POINT_CAPACITY = 1024;
-
-    // Streaming buffer bookkeeping
-    static int posCapacityFloats = 0;
-    static int colCapacityFloats = 0;
+    static CellRenderer renderer;
+    static boolean packedVertices = true;
+    // fork-join pool of the point renderers, null for the others
+    static VertexPacker packer = null;
+    // C switches to the epoch comparison; the single view's camera comes back on the way out
+    static EpochComparisonRenderer comparison = null;
+    static boolean comparing = false;
+    static int compareTiles = 0;
+    static float singleZoom, singlePanX, singlePanY;
     static int pointCount = 0;
-    static float[] posBuf = new float[0];
-    static float[] colBuf = new float[0];
-    // Reusable native buffers to avoid per-frame stack allocations
-    static FloatBuffer posFB = null;
-    static FloatBuffer colFB = null;
+    static long uploadedVersion = 0;
 
     // Stats / title cadence
     static long simStep = 0;
@@ -82,297 +88,452 @@ public class ViewPort {
     static double lastTitleUpdate = 0.0;
     static double fps = 0.0;
 
+    // When to draw and how much a frame may cost; measured against the simulation's tick rate
+    static RenderScheduler scheduler;
+    static String lastTickName = null;
+    static long lastTitleTicks = -1;
+    static double ticksPerSecond = 0.0;
+    static long lastTitleSkipped = 0;
+
+    // HUD text, rebuilt only when the scheduler says so and re-encoded only when it changed;
+    // nothing on the steady-state frame path allocates
+    static final HudLines hud = new HudLines();
+    static final FramePhase[] PHASES = FramePhase.values();
+    static NVGColor hudPanel;
+    static NVGColor hudWhite;
+    static final int[] fbWidth = new int[1], fbHeight = new int[1];
+    static final int[] winWidth = new int[1], winHeight = new int[1];
+    static final double[] cursorX = new double[1], cursorY = new double[1];
+
     // --- Camera (zoom/pan) & interaction ---
-    static float zoom = 1.0f;        // 1 = 1:1, >1 zooms in, <1 zooms out
-    static float panX = 0.0f;        // screen-space pan in pixels
-    static float panY = 0.0f;
+    static final Camera camera = new Camera();
     static boolean isPanning = false;
     static double lastMouseX = 0.0;
     static double lastMouseY = 0.0;
-    static float basePointSize = 6.0f; // bumped default size for visibility
-    static boolean gridMode = true; // draw each world cell as a colored square (snap to grid)
     static int pixelScale = 4; // render scale: each world cell = 4×4 screen pixels
 
+    // I opens the organism inspector: the cell under the cursor, left click selects its organism
+    static OrganismInspector inspector;
+    static boolean inspecting = false;
+    static boolean selectPending = false;
+    static double hoverX = 0.0;
+    static double hoverY = 0.0;
+
+    // H cycles the heatmap overlay through its layers and off; null without heatmaps
+    static HeatmapOverlay heatmapOverlay = null;
+    static int heatmapLayer = -1;
+    static final HudText heatmapLabel = new HudText(64);
+
+    // Replay transport, null when viewing a live simulation
+    static PlaybackControl playback = null;
+
+    // Per-phase frame timings; T expands the timing panel in the HUD
+    static FrameTimings timings = new FrameTimings();
+    static boolean showTimings = false;
+
+    // GL_TIME_ELAPSED queries around the draw, read back a few frames later so we never stall
+    static final int GPU_QUERIES = 4;
+    static int[] gpuQueries = null;
+    static int gpuQueryHead = 0;
+    static int gpuQueriesPending = 0;
+
     private final int width;
     private final int height;
 
-    static int framebufferW, framebufferH;
 
-
-    public ViewPort(final SpatialCoordinates dimensions) {
+    /**
+     * Creates the window and GL resources on the calling thread, which must be the main thread.
+     */
+    public ViewPort(final SpatialCoordinates dimensions, final Render render, final StartupTimeline timeline) {
+        startup = timeline;
+        fontData = CompletableFuture.supplyAsync(ViewPort::readFont);
         width = dimensions.xAxis();
         height = dimensions.yAxis();
+        packedVertices = !Render.VERTEX_FORMAT_LEGACY.equalsIgnoreCase(render.vertexFormat)
+                && width <= PackedVertexFormat.MAX_COORDINATE + 1 && height <= PackedVertexFormat.MAX_COORDINATE + 1;
 
+        scheduler = new RenderScheduler(render);
+        final long began = startup.begin();
         renderWindow(width * pixelScale, height * pixelScale);
-        init(dimensions);
+        startup.end("window + GL context", began);
+        init(dimensions, render);
     }
 
-    private void drawHUD(final Ecosystem ecosystem) {
-        if (vg == 0) return; // HUD disabled if No VG; draw panel even without font
+    /**
+     * Enables the replay keys (P, arrows, [ ], HOME/END) and the replay HUD line.
+     */
+    public void setPlayback(final PlaybackControl control) {
+        playback = control;
+    }
 
-        // HiDPI scale factor
-        int[] fbW = new int[1], fbH = new int[1], winW = new int[1], winH = new int[1];
-        glfwGetFramebufferSize(window, fbW, fbH);
-        glfwGetWindowSize(window, winW, winH);
-        float pxRatio = (winW[0] > 0) ? (float) fbW[0] / (float) winW[0] : 1.0f;
+    /**
+     * Enables the heatmap overlay (H) over the given accumulated heatmaps.
+     */
+    public void setHeatmaps(final Heatmaps heatmaps) {
+        heatmapOverlay = new HeatmapOverlay(heatmaps);
+    }
 
-        NanoVG.nvgBeginFrame(vg, winW[0], winH[0], pxRatio);
+    public void setTimings(final FrameTimings frameTimings) {
+        timings = frameTimings;
+        if (null != renderer) renderer.setTimings(frameTimings);
+        if (null != comparison) comparison.setTimings(frameTimings);
+    }
 
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            // Panel color (semi-transparent black)
-            NVGColor panel = NVGColor.malloc(stack);
-            NanoVG.nvgRGBA((byte) 0, (byte) 0, (byte) 0, (byte) 120, panel);
+    /**
+     * How many finished epochs the publisher should keep for the comparison view.
+     */
+    public int retainedEpochs() {
+        return null != comparison ? compareTiles - 1 : 0;
+    }
 
-            NanoVG.nvgBeginPath(vg);
-            NanoVG.nvgRect(vg, 10, 10, 480, 64);
-            NanoVG.nvgFillColor(vg, panel);
-            NanoVG.nvgFill(vg);
+    public FrameTimings timings() {
+        return timings;
+    }
 
-            // Text setup and color (white) — only if font is available
-            if (fontId != -1) {
-                NanoVG.nvgFontSize(vg, 20f);
-                NanoVG.nvgFontFaceId(vg, fontId);
+    private void drawHUD(final FrameSnapshot frame) {
+        if (vg == 0) return; // HUD disabled if No VG; draw panel even without font
 
-                NVGColor white = NVGColor.malloc(stack);
-                NanoVG.nvgRGBA((byte) 255, (byte) 255, (byte) 255, (byte) 255, white);
-                NanoVG.nvgFillColor(vg, white);
+        // HiDPI scale factor
+        glfwGetFramebufferSize(window, fbWidth, fbHeight);
+        glfwGetWindowSize(window, winWidth, winHeight);
+        float pxRatio = (winWidth[0] > 0) ? (float) fbWidth[0] / (float) winWidth[0] : 1.0f;
+
+        NanoVG.nvgBeginFrame(vg, winWidth[0], winHeight[0], pxRatio);
+
+        // Panel (semi-transparent black)
+        NanoVG.nvgBeginPath(vg);
+        NanoVG.nvgRect(vg, 10, 10, 480, null != playback ? 88 : 64);
+        NanoVG.nvgFillColor(vg, hudPanel);
+        NanoVG.nvgFill(vg);
+
+        // Text (white) — only if font is available
+        if (fontId != -1) {
+            NanoVG.nvgFontSize(vg, 20f);
+            NanoVG.nvgFontFaceId(vg, fontId);
+            NanoVG.nvgFillColor(vg, hudWhite);
+            if (comparing) {
+                drawTileLabels(pxRatio);
+                NanoVG.nvgFontSize(vg, 20f);
+            }
 
-                final TemporalCoordinates temporalCoordinates = ecosystem.getTime();
-                String line1 = String.format("Total Ticks %,d  |  Day %,d  |  Tick %d ", temporalCoordinates.totalTicks(),temporalCoordinates.totalDays(), temporalCoordinates.currentTick());
-                String line2 = String.format("%s  |  zoom %.2fx  |  pan(%.0f,%.0f)  |  grid %s", ecosystem.getName(), zoom, panX, panY, gridMode ? "ON" : "OFF");
+            if (scheduler.hudDue()) {
+                hud.update(frame, camera, playback);
+            }
 
-                NanoVG.nvgText(vg, 20, 32, line1);
-                NanoVG.nvgText(vg, 20, 56, line2);
+            NanoVG.nvgText(vg, 20, 32, hud.time().utf8());
+            NanoVG.nvgText(vg, 20, 56, hud.view().utf8());
+            if (null != playback) {
+                NanoVG.nvgText(vg, 20, 80, hud.replay().utf8());
+            }
+            if (showTimings) {
+                drawTimings(null != playback ? 108 : 84);
+            }
+            if (inspecting && !comparing) {
+                drawInspector(frame, pxRatio);
+            }
+            if (heatmapLayer >= 0 && !comparing) {
+                NanoVG.nvgBeginPath(vg);
+                NanoVG.nvgRect(vg, 10, winHeight[0] - 40, 300, 30);
+                NanoVG.nvgFillColor(vg, hudPanel);
+                NanoVG.nvgFill(vg);
+                NanoVG.nvgFillColor(vg, hudWhite);
+                NanoVG.nvgText(vg, 20, winHeight[0] - 18, heatmapLabel.utf8());
             }
         }
 
         NanoVG.nvgEndFrame(vg);
     }
 
-    public void runEventLoop(final ConcurrentLinkedDeque<Ecosystem> supplier) {
+    /*
+     * The cell under the cursor and the selected organism. Cells are only picked while the
+     * inspector is open; a pick is a lookup, the text is only re-encoded when it changed.
+     */
+    private void drawInspector(final FrameSnapshot frame, final float pxRatio) {
+        if (selectPending) {
+            selectPending = false;
+            inspector.select(frame, camera.cellX(hoverX * pxRatio), camera.cellY(hoverY * pxRatio));
+        }
+        inspector.hover(frame, camera.cellX(hoverX * pxRatio), camera.cellY(hoverY * pxRatio));
+        inspector.update(frame);
+
+        final HudText[] lines = inspector.selectionLines();
+        final int shown = inspector.hasSelection() ? 1 + lines.length : 1;
+        final float left = winWidth[0] - 400;
+        NanoVG.nvgBeginPath(vg);
+        NanoVG.nvgRect(vg, left, 10, 390, 14 + shown * 22);
+        NanoVG.nvgFillColor(vg, hudPanel);
+        NanoVG.nvgFill(vg);
+
+        NanoVG.nvgFontSize(vg, 16f);
+        NanoVG.nvgFillColor(vg, hudWhite);
+        NanoVG.nvgText(vg, left + 10, 30, inspector.hoverLine().utf8());
+        for (int i = 1; i < shown; i++) {
+            NanoVG.nvgText(vg, left + 10, 30 + i * 22, lines[i - 1].utf8());
+        }
+        NanoVG.nvgFontSize(vg, 20f);
+    }
+
+    /*
+     * Epoch name in the corner of each tile of the comparison view, following zoom and pan.
+     */
+    private void drawTileLabels(final float pxRatio) {
+        final EpochMosaic mosaic = comparison.mosaic();
+        NanoVG.nvgFontSize(vg, 16f);
+        for (int t = 0; t < mosaic.tiles(); t++) {
+            final float x = (mosaic.tileX(t) * camera.zoom + camera.panX) / pxRatio;
+            final float y = (mosaic.tileY(t) * camera.zoom + camera.panY) / pxRatio;
+            NanoVG.nvgText(vg, x + 6, y + 18, mosaic.label(t).utf8());
+        }
+    }
+
+    /*
+     * Phase percentiles in milliseconds, refreshed once a second with the title; the text is
+     * only rebuilt when a new summary is out.
+     */
+    private void drawTimings(final float top) {
+        final TimingSummary summary = timings.latest();
+        final FramePhase[] phases = PHASES;
+        hud.updateTimings(summary);
+        NanoVG.nvgBeginPath(vg);
+        NanoVG.nvgRect(vg, 10, top, 560, 34 + phases.length * 20);
+        NanoVG.nvgFillColor(vg, hudPanel);
+        NanoVG.nvgFill(vg);
+
+        NanoVG.nvgFontSize(vg, 16f);
+        NanoVG.nvgFillColor(vg, hudWhite);
+        NanoVG.nvgText(vg, 20, top + 20, "phase (ms)");
+        NanoVG.nvgText(vg, 220, top + 20, "p50");
+        NanoVG.nvgText(vg, 300, top + 20, "p99");
+        NanoVG.nvgText(vg, 380, top + 20, "p99.9");
+        NanoVG.nvgText(vg, 460, top + 20, "max");
+        for (int i = 0; i < phases.length; i++) {
+            final FramePhase phase = phases[i];
+            final float y = top + 42 + i * 20;
+            NanoVG.nvgText(vg, 20, y, phase.label);
+            if (summary.count(phase) == 0) {
+                NanoVG.nvgText(vg, 220, y, "-");
+                continue;
+            }
+            for (int column = 0; column < HudLines.TIMING_COLUMNS; column++) {
+                NanoVG.nvgText(vg, 220 + column * 80, y, hud.timing(phase, column).utf8());
+            }
+        }
+    }
+
+    public void runEventLoop(final FrameExchange exchange) {
         try {
+            // shader status is only asked for now, after everything else had time to start
+            final long linking = startup.begin();
+            renderer.link();
+            if (null != comparison) comparison.link();
+            if (null != heatmapOverlay) heatmapOverlay.link();
+            startup.end("shader compile + link", linking);
             while (!glfwWindowShouldClose(window)) {
-                simStep++;
-                frames++;
-                double t = glfwGetTime();
-                if (t - lastTitleUpdate >= 1.0) {
-                    fps = frames / Math.max(1e-6, (t - lastTitleUpdate));
-                    frames = 0;
-                    lastTitleUpdate = t;
-                    String title = String.format("GeneGL — cells %,d | FPS %.1f", pointCount, fps);
-                    glfwSetWindowTitle(window, title);
+                final long started = System.nanoTime();
+                // Newest complete frame from the publisher; never blocks, never torn
+                final FrameSnapshot frame = exchange.acquire();
+                updateTitle(frame);
+
+                if (!scheduler.shouldDraw(frame.version(), started)) {
+                    // nothing new to show yet: sleep until input or the next look at the exchange
+                    glfwWaitEventsTimeout(scheduler.waitNanos(started) / 1e9);
+                    continue;
                 }
 
+                timings.begin(FramePhase.FRAME);
+                simStep++;
+                frames++;
                 glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
 
-                final Set<Cell> allCells = new HashSet<>();
-                final Ecosystem ecosystem = supplier.peekLast();
-                if( null != ecosystem ) {
-                    final Iterator<Organism> iter = ecosystem.getTerrain().getOrganisms();
-                    while (iter.hasNext()) {
-                        try {
-                            allCells.addAll(CellHelper.getAllOrganismsCells(iter.next().getFirstCell()));
-                        } catch( final RuntimeException e ){
-                            //System.err.println("Resetting");
-                        }
+                if( 0 != frame.version() ) {
+                    final CellRenderer active = activeRenderer();
+                    // Pack + stream upload only when a new frame arrived, then draw
+                    if (frame.version() != uploadedVersion) {
+                        if (comparing) comparison.setRetired(exchange.retired());
+                        active.upload(frame);
+                        pointCount = comparing ? comparison.mosaic().cellCount() : frame.count();
+                        uploadedVersion = frame.version();
                     }
-
-                    // Pack + stream upload current cells, then draw points
-                    updateAndUploadFromCells(allCells);
-                    drawPoints();
+                    camera.detailBias = scheduler.detailBias();
+                    active.prepare(camera);
+                    timings.begin(FramePhase.DRAW);
+                    final boolean gpuTimed = beginGpuQuery();
+                    active.draw(camera);
+                    if (heatmapLayer >= 0 && !comparing) heatmapOverlay.draw(camera, heatmapLayer);
+                    if (gpuTimed) glEndQuery(GL_TIME_ELAPSED);
+                    timings.end(FramePhase.DRAW);
                     // HUD last (overlay)
-                    drawHUD(ecosystem);
+                    timings.begin(FramePhase.HUD);
+                    drawHUD(frame);
+                    timings.end(FramePhase.HUD);
                 }
+                final long worked = System.nanoTime();
 
-
+                timings.begin(FramePhase.SWAP);
                 glfwSwapBuffers(window);
+                timings.end(FramePhase.SWAP);
+                timings.begin(FramePhase.POLL);
                 glfwPollEvents();
+                timings.end(FramePhase.POLL);
+                timings.end(FramePhase.FRAME);
+                scheduler.drawn(frame.version(), worked - started, System.nanoTime());
+                if (!firstFrameShown && 0 != frame.version()) {
+                    firstFrameShown = true;
+                    startup.firstFrame();
+                }
             }
         } finally {
             cleanup();
         }
     }
 
-    private void init(final SpatialCoordinates dimensions) {
-        // --- shaders ---
-        String vsSrc = "#version 330 core\n" +
-                "layout(location=0) in vec2 aPos;\n" +
-                "layout(location=1) in vec4 aColor;\n" +
-                "uniform vec2 uResolution;\n" +
-                "uniform float uScale;\n" +
-                "uniform vec2 uPan;\n" +
-                "uniform float uPointSize;\n" +
-                "uniform float uGridMode;\n" +
-                "out vec4 vColor;\n" +
-                "void main(){\n" +
-                "  // When grid mode is on, snap to the center of the integer world cell and size = 1 cell in pixels.\n" +
-                "  vec2 world = mix(aPos, floor(aPos) + vec2(0.5), uGridMode);\n" +
-                "  float pointPx = max(1.0, mix(uPointSize * uScale, uScale, uGridMode));\n" +
-                "  vec2 screen = world * uScale + uPan;\n" +
-                "  vec2 zeroToOne = screen / uResolution;\n" +
-                "  vec2 zeroToTwo = zeroToOne * 2.0;\n" +
-                "  vec2 clip = zeroToTwo - 1.0;\n" +
-                "  gl_Position = vec4(clip * vec2(1.0,-1.0), 0.0, 1.0);\n" +
-                "  gl_PointSize = pointPx;\n" +
-                "  vColor = aColor;\n" +
-                "}";
-
-        String fsSrc = "#version 330 core\n" +
-                "in vec4 vColor;\n" +
-                "out vec4 fragColor;\n" +
-                "void main(){ fragColor = vColor; }";
-
-        int vs = createShader(GL_VERTEX_SHADER, vsSrc);
-        int fs = createShader(GL_FRAGMENT_SHADER, fsSrc);
-
-        prog = glCreateProgram();
-        glAttachShader(prog, vs);
-        glAttachShader(prog, fs);
-        glLinkProgram(prog);
-        if (glGetProgrami(prog, GL_LINK_STATUS) == 0)
-            throw new RuntimeException("Program link failed: " + glGetProgramInfoLog(prog));
-        glDeleteShader(vs);
-        glDeleteShader(fs);
-
-        // --- buffers ---
-        vao = glGenVertexArrays();
-        glBindVertexArray(vao);
-
-        vboPos = glGenBuffers();
-        glBindBuffer(GL_ARRAY_BUFFER, vboPos);
-
-        glBufferData(GL_ARRAY_BUFFER,
-                (long) INITIAL_POINT_CAPACITY * 2L * Float.BYTES,  // capacity for N points * 2 floats
-                GL_STREAM_DRAW);                                   // streaming hint
-        glEnableVertexAttribArray(0);
-        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L);
-
-        vboColor = glGenBuffers();
-        glBindBuffer(GL_ARRAY_BUFFER, vboColor);
-        glBufferData(GL_ARRAY_BUFFER,
-                (long) INITIAL_POINT_CAPACITY * 4L * Float.BYTES,  // capacity for N points * 4 floats
-                GL_STREAM_DRAW);
-        glEnableVertexAttribArray(1);
-        glVertexAttribPointer(1, 4, GL_FLOAT, false, 0, 0L);
-
-        // Set initial capacities to avoid zero-sized uploads
-        posCapacityFloats = INITIAL_POINT_CAPACITY * 2;
-        colCapacityFloats = INITIAL_POINT_CAPACITY * 4;
-
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        glBindVertexArray(0);
-
-        initOverlay();
+    /*
+     * Once a second, whether or not anything was drawn: render FPS against the simulation's
+     * ticks per second, which shows whether rendering holds the simulation back.
+     */
+    private void updateTitle(final FrameSnapshot frame) {
+        final double t = glfwGetTime();
+        if (t - lastTitleUpdate < 1.0) return;
+        final double elapsed = Math.max(1e-6, t - lastTitleUpdate);
+        fps = frames / elapsed;
+        frames = 0;
+        lastTitleUpdate = t;
+        if (0 != frame.version() && lastTitleTicks >= 0 && Objects.equals(frame.name(), lastTickName)
+                && frame.totalTicks() >= lastTitleTicks) {
+            ticksPerSecond = (frame.totalTicks() - lastTitleTicks) / elapsed;
+        } else {
+            ticksPerSecond = 0.0;
+        }
+        lastTickName = frame.name();
+        lastTitleTicks = 0 != frame.version() ? frame.totalTicks() : -1;
+        final long skipped = scheduler.skippedFrames() - lastTitleSkipped;
+        lastTitleSkipped = scheduler.skippedFrames();
+        glfwSetWindowTitle(window, hud.title(pointCount, fps, ticksPerSecond, skipped,
+                activeRenderer().uploads().lastFrameBytes(), scheduler.degradation()));
+        timings.summarize();
+        if (showTimings) scheduler.invalidate();
     }
 
-    // --- Streaming helpers ---
-    private static void ensureBufferCapacity(int points) {
-        int needPos = points * 2; // floats
-        int needCol = points * 4;
+    private static CellRenderer activeRenderer() {
+        return comparing ? comparison : renderer;
+    }
 
-        if (needPos > posCapacityFloats) {
-            posCapacityFloats = Math.max(needPos, posCapacityFloats * 2 + 1024);
-            glBindBuffer(GL_ARRAY_BUFFER, vboPos);
-            glBufferData(GL_ARRAY_BUFFER, (long) posCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
+    /*
+     * C: between the single view and the epoch comparison, fitting the whole grid on screen on
+     * the way in and restoring the single view's camera on the way out. The renderer switched
+     * to missed the frames in between, so it takes the current one again.
+     */
+    private static void toggleComparison() {
+        if (null == comparison) return;
+        comparing = !comparing;
+        uploadedVersion = 0;
+        if (comparing) {
+            singleZoom = camera.zoom;
+            singlePanX = camera.panX;
+            singlePanY = camera.panY;
+            final EpochMosaic mosaic = comparison.mosaic();
+            camera.zoom = Math.min((float) camera.framebufferW / mosaic.mosaicWidth(),
+                    (float) camera.framebufferH / mosaic.mosaicHeight());
+            camera.panX = (camera.framebufferW - mosaic.mosaicWidth() * camera.zoom) / 2f;
+            camera.panY = (camera.framebufferH - mosaic.mosaicHeight() * camera.zoom) / 2f;
+        } else {
+            camera.zoom = singleZoom;
+            camera.panX = singlePanX;
+            camera.panY = singlePanY;
         }
-        if (needCol > colCapacityFloats) {
-            colCapacityFloats = Math.max(needCol, colCapacityFloats * 2 + 2048);
-            glBindBuffer(GL_ARRAY_BUFFER, vboColor);
-            glBufferData(GL_ARRAY_BUFFER, (long) colCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
-        }
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
     }
 
-    private static void ensureCpuArrays(int points) {
-        int needPos = points * 2;
-        int needCol = points * 4;
-        if (posBuf.length < needPos) posBuf = new float[Math.max(needPos, posBuf.length * 2 + 1024)];
-        if (colBuf.length < needCol) colBuf = new float[Math.max(needCol, colBuf.length * 2 + 2048)];
+    /*
+     * H: the next heatmap layer, or off after the last one. The label is only built here.
+     */
+    private static void cycleHeatmap() {
+        if (null == heatmapOverlay) return;
+        heatmapLayer = heatmapLayer + 1 < Heatmaps.layers() ? heatmapLayer + 1 : -1;
+        if (heatmapLayer >= 0) {
+            final StringBuilder line = heatmapLabel.begin().append("Heatmap: ").append(Heatmaps.layerName(heatmapLayer));
+            if (heatmapLayer >= Heatmaps.FIRST_TYPE) line.append(" density");
+            heatmapLabel.end();
+        }
     }
 
-    private static void ensureDirectBuffers(int points) {
-        int needPos = points * 2; // floats
-        int needCol = points * 4;
-        if (posFB == null || posFB.capacity() < needPos) {
-            posFB = BufferUtils.createFloatBuffer(Math.max(needPos, 1 << 15)); // grow generously
-        }
-        if (colFB == null || colFB.capacity() < needCol) {
-            colFB = BufferUtils.createFloatBuffer(Math.max(needCol, 1 << 15));
+    /*
+     * Collects finished GPU timings, then starts a new query unless all of them are still
+     * in flight. Returns whether a query was started.
+     */
+    private static boolean beginGpuQuery() {
+        if (null == gpuQueries) return false;
+        while (gpuQueriesPending > 0) {
+            final int oldest = gpuQueries[(gpuQueryHead - gpuQueriesPending + GPU_QUERIES) % GPU_QUERIES];
+            if (glGetQueryObjecti(oldest, GL_QUERY_RESULT_AVAILABLE) == GL_FALSE) break;
+            timings.record(FramePhase.GPU_DRAW, glGetQueryObjecti64(oldest, GL_QUERY_RESULT));
+            gpuQueriesPending--;
         }
+        if (gpuQueriesPending == GPU_QUERIES) return false;
+        glBeginQuery(GL_TIME_ELAPSED, gpuQueries[gpuQueryHead]);
+        gpuQueryHead = (gpuQueryHead + 1) % GPU_QUERIES;
+        gpuQueriesPending++;
+        return true;
     }
 
-    private static void updateAndUploadFromCells(Set<Cell> cells) {
-        pointCount = cells.size();
-        ensureBufferCapacity(pointCount);
-        ensureCpuArrays(pointCount);
-
-        int pj = 0, cj = 0;
-        for (Cell c : cells) {
-            posBuf[pj++] = (float) c.getCoordinates().xAxis();
-            posBuf[pj++] = (float) c.getCoordinates().yAxis();
-
-            float r, g, b, a = 1f;
-            switch (c.getCellType()) {
-                case "leaf": r = 0.07843138f; g = 1.0f; b = 0.07843138f; break; //leaf
-                case "stem": r = 0.19607843f; g = 0.65882355f; b = 0.32156864f; break;// stem
-                case "seed": {
-                    if( c instanceof EjectedSeedCell && !((EjectedSeedCell)c).isActivated()) {
-                        r = 0.9411765f; g = 0.019607844f; b = 0.019607844f; // #f00505
-                    } else {
-                        r = 0.9411765f;
-                        g = 0.8156863f;
-                        b = 0.019607844f;
-                    }
-                    break;// #f0d005
-                }
-                case "root": r = 0.49019608f; g = 0.3764706f; b = 0.16078432f; break;// root
-                default: r = 0.90f; g = 0.90f; b = 0.90f;
+    private void init(final SpatialCoordinates dimensions, final Render render) {
+        long began = startup.begin();
+        if (Render.MODE_GRID_TEXTURE.equalsIgnoreCase(render.mode)) {
+            renderer = new GridTextureRenderer(dimensions);
+        } else if (packedVertices && Render.UPLOAD_DELTA.equalsIgnoreCase(render.upload)) {
+            renderer = new PointRenderer(true, dimensions,
+                    null != render.compactThreshold ? render.compactThreshold : 0.25f);
+        } else {
+            final PointRenderer points = null != render.cullTileSize && render.cullTileSize > 0
+                    ? PointRenderer.culled(packedVertices, dimensions, render.cullTileSize,
+                    Boolean.TRUE.equals(render.lod))
+                    : new PointRenderer(packedVertices);
+            packer = new VertexPacker(null != render.packThreads ? render.packThreads : 0);
+            points.setPacker(packer);
+            final boolean persistent = Render.UPLOAD_BUFFER_PERSISTENT.equalsIgnoreCase(render.uploadBuffer);
+            if (persistent || Render.UPLOAD_BUFFER_UNSYNCHRONIZED.equalsIgnoreCase(render.uploadBuffer)) {
+                System.out.printf("[Render] Uploads through a %s ring of %d segments (%s)%n",
+                        points.streamThroughRing(persistent) ? "persistently mapped" : "per-frame mapped",
+                        StreamRing.SEGMENTS, glGetString(GL_RENDERER));
             }
-            colBuf[cj++] = r; colBuf[cj++] = g; colBuf[cj++] = b; colBuf[cj++] = a;
+            renderer = points;
         }
-
-        // STREAM: orphan + subdata to avoid stalls, using persistent direct buffers
-        ensureDirectBuffers(pointCount);
-
-        // positions
-        posFB.clear();
-        posFB.put(posBuf, 0, pointCount * 2).flip();
-        glBindBuffer(GL_ARRAY_BUFFER, vboPos);
-        glBufferData(GL_ARRAY_BUFFER, (long) posCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
-        glBufferSubData(GL_ARRAY_BUFFER, 0, posFB);
-
-        // colors
-        colFB.clear();
-        colFB.put(colBuf, 0, pointCount * 4).flip();
-        glBindBuffer(GL_ARRAY_BUFFER, vboColor);
-        glBufferData(GL_ARRAY_BUFFER, (long) colCapacityFloats * Float.BYTES, GL_STREAM_DRAW);
-        glBufferSubData(GL_ARRAY_BUFFER, 0, colFB);
-
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
+        renderer.setTimings(timings);
+        inspector = new OrganismInspector(dimensions, packer);
+        final int tiles = null != render.compareEpochs ? Math.min(render.compareEpochs, EpochMosaic.MAX_TILES) : 0;
+        if (tiles > 1 && packedVertices) {
+            compareTiles = tiles;
+            comparison = new EpochComparisonRenderer(dimensions, tiles);
+            comparison.setTimings(timings);
+        } else if (tiles > 1) {
+            System.err.println("[Compare] The epoch comparison view needs the packed vertex format; C is disabled.");
+        }
+        startup.end("renderer (shaders submitted)", began);
+        // Timer queries are core since GL 3.3
+        if (GL.getCapabilities().OpenGL33) {
+            gpuQueries = new int[GPU_QUERIES];
+            glGenQueries(gpuQueries);
+        }
+        began = startup.begin();
+        initOverlay();
+        startup.end("overlay + font", began);
     }
 
-    private void drawPoints() {
-        if (pointCount == 0) return;
-        glUseProgram(prog);
-        glBindVertexArray(vao);
-        int uRes = glGetUniformLocation(prog, "uResolution");
-        glUniform2f(uRes, (float) framebufferW, (float) framebufferH);
-        int uScale = glGetUniformLocation(prog, "uScale");
-        int uPan = glGetUniformLocation(prog, "uPan");
-        int uPt = glGetUniformLocation(prog, "uPointSize");
-
-        // Zoom around origin by scaling; pan is in pixels (positive panX moves right, panY down)
-        glUniform1f(uScale, zoom);
-        glUniform2f(uPan, panX, panY);
-        // Keep points visible even when very zoomed out (clamp done in shader too)
-        glUniform1f(uPt, basePointSize);
-
-        int uGrid = glGetUniformLocation(prog, "uGridMode");
-        glUniform1f(uGrid, gridMode ? 1.0f : 0.0f);
-
-        glDrawArrays(GL_POINTS, 0, pointCount);
-        glBindVertexArray(0);
-        glUseProgram(0);
+    /*
+     * Roboto from the classpath straight into a direct buffer, no temp file. Runs on a pool
+     * thread while the window is created; null when there is no font.
+     */
+    private static ByteBuffer readFont() {
+        try (InputStream in = ViewPort.class.getResourceAsStream("/fonts/Roboto.ttf")) {
+            if (null == in) {
+                System.err.println("[Overlay] /fonts/Roboto.ttf not found on classpath; HUD text disabled.");
+                return null;
+            }
+            final byte[] bytes = in.readAllBytes();
+            return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        } catch (final IOException e) {
+            System.err.println("[Overlay] Could not read /fonts/Roboto.ttf: " + e.getMessage());
+            return null;
+        }
     }
 
     void initOverlay() {
@@ -383,20 +544,18 @@ public class ViewPort {
             System.err.println("[Overlay] Failed to create NanoVG context; Overlay disabled.");
             return;
         }
-        try (InputStream in = ViewPort.class.getResourceAsStream("/fonts/Roboto.ttf")) {
-            if (in != null) {
-                Path tmp = Files.createTempFile("roboto", ".ttf");
-                tmp.toFile().deleteOnExit();
-                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
-                fontId = NanoVG.nvgCreateFont(vg, "ui", tmp.toString());
-            } else {
-                System.err.println("[Overlay] /fonts/Roboto.ttf not found on classpath; HUD text disabled.");
-                fontId = -1;
-                return;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Created once, NanoVG only reads them
+        hudPanel = NVGColor.create();
+        NanoVG.nvgRGBA((byte) 0, (byte) 0, (byte) 0, (byte) 120, hudPanel);
+        hudWhite = NVGColor.create();
+        NanoVG.nvgRGBA((byte) 255, (byte) 255, (byte) 255, (byte) 255, hudWhite);
+        fontBuffer = fontData.join();
+        if (null == fontBuffer) {
+            fontId = -1;
+            return;
         }
+        // NanoVG parses the TTF in place, freeData=false leaves the buffer to us
+        fontId = NanoVG.nvgCreateFontMem(vg, "ui", fontBuffer, false);
 
         if (fontId == -1) {
             System.err.println("[HUD] Could not load a system font. Set -Dgenegl.font=/path/to/font.ttf to enable HUD text.");
@@ -423,28 +582,34 @@ public class ViewPort {
 
         // Make the OpenGL context current
         glfwMakeContextCurrent(window);
-        // Enable v-sync
-        glfwSwapInterval(1);
+        // v-sync unless the scheduler paces frames itself
+        glfwSwapInterval(scheduler.swapInterval());
 
         // Show the window
         glfwShowWindow(window);
 
         // Create OpenGL capabilities for the current context
-        GL.createCapabilities();
+        final GLCapabilities caps = GL.createCapabilities();
+        // Let the driver compile the shaders on its own threads while startup goes on
+        if (caps.GL_KHR_parallel_shader_compile) {
+            KHRParallelShaderCompile.glMaxShaderCompilerThreadsKHR(0xFFFFFFFF);
+        } else if (caps.GL_ARB_parallel_shader_compile) {
+            ARBParallelShaderCompile.glMaxShaderCompilerThreadsARB(0xFFFFFFFF);
+        }
 
         int[] fbW = new int[1], fbH = new int[1];
         int[] winW = new int[1], winH = new int[1];
         glfwGetFramebufferSize(window, fbW, fbH);
         glfwGetWindowSize(window, winW, winH);
-        framebufferW = fbW[0];
-        framebufferH = fbH[0];
+        camera.framebufferW = fbW[0];
+        camera.framebufferH = fbH[0];
 
         // HiDPI ratio: device pixels per window pixel (e.g., 2.0 on Retina)
-        float pxRatio = (winW[0] > 0) ? (float) framebufferW / (float) winW[0] : 1.0f;
+        float pxRatio = (winW[0] > 0) ? (float) camera.framebufferW / (float) winW[0] : 1.0f;
 
         // Initialize zoom in *device pixels per world unit* so a 480x270 world at pixelScale=4
         // exactly fills a 1920x1080 framebuffer even on Retina (pxRatio ~ 2.0 → zoom = 8.0).
-        zoom = pixelScale * pxRatio;
+        camera.zoom = pixelScale * pxRatio;
 
         // Let the vertex shader control point size
         glEnable(GL_PROGRAM_POINT_SIZE);
@@ -452,7 +617,7 @@ public class ViewPort {
         glEnable(GL_BLEND);
         glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
 
-        glViewport(0, 0, framebufferW, framebufferH);
+        glViewport(0, 0, camera.framebufferW, camera.framebufferH);
         // Basic GL setup
         glClearColor(0f, 0f, 0f, 1f); // black background
 
@@ -463,9 +628,10 @@ public class ViewPort {
         glfwSetScrollCallback(window, (w, xoff, yoff) -> {
             // Zoom towards the cursor position (simple version: around origin). Positive yoff zooms in.
             float factor = (float)Math.exp(yoff * 0.1);
-            zoom *= factor;
-            if (zoom < 0.1f) zoom = 0.1f;
-            if (zoom > 100f) zoom = 100f;
+            camera.zoom *= factor;
+            if (camera.zoom < 0.1f) camera.zoom = 0.1f;
+            if (camera.zoom > 100f) camera.zoom = 100f;
+            scheduler.invalidate();
         });
 
         // Middle mouse (or right mouse) drag to pan
@@ -473,31 +639,44 @@ public class ViewPort {
             if ((button == GLFW_MOUSE_BUTTON_MIDDLE || button == GLFW_MOUSE_BUTTON_RIGHT)) {
                 if (action == GLFW_PRESS) {
                     isPanning = true;
-                    double[] mx = new double[1], my = new double[1];
-                    glfwGetCursorPos(window, mx, my);
-                    lastMouseX = mx[0];
-                    lastMouseY = my[0];
+                    glfwGetCursorPos(window, cursorX, cursorY);
+                    lastMouseX = cursorX[0];
+                    lastMouseY = cursorY[0];
                 } else if (action == GLFW_RELEASE) {
                     isPanning = false;
                 }
+            } else if (button == GLFW_MOUSE_BUTTON_LEFT && action == GLFW_PRESS && inspecting) {
+                // picked on the next drawn frame, against the frame on screen
+                glfwGetCursorPos(window, cursorX, cursorY);
+                hoverX = cursorX[0];
+                hoverY = cursorY[0];
+                selectPending = true;
+                scheduler.invalidate();
             }
         });
 
         glfwSetCursorPosCallback(window, (w, xpos, ypos) -> {
+            if (inspecting) {
+                hoverX = xpos;
+                hoverY = ypos;
+                scheduler.invalidate();
+            }
             if (isPanning) {
                 double dx = xpos - lastMouseX;
                 double dy = ypos - lastMouseY;
                 lastMouseX = xpos;
                 lastMouseY = ypos;
                 // Pan in screen pixels (dy positive is down)
-                panX += (float) dx;
-                panY += (float) dy;
+                camera.panX += (float) dx;
+                camera.panY += (float) dy;
+                scheduler.invalidate();
             }
         });
 
         // Keyboard: ESC to quit, WASD to pan, +/- to zoom, SPACE to reset view
         glfwSetKeyCallback(window, (w, key, scancode, action, mods) -> {
             if (action != GLFW_PRESS && action != GLFW_REPEAT) return;
+            scheduler.invalidate();
 
             // Quit
             if (key == GLFW_KEY_ESCAPE) {
@@ -510,36 +689,79 @@ public class ViewPort {
 
             switch (key) {
                 // WASD panning
-                case GLFW_KEY_W: panY += panStep; break; // up
-                case GLFW_KEY_S: panY -= panStep; break; // down
-                case GLFW_KEY_A: panX += panStep; break; // left
-                case GLFW_KEY_D: panX -= panStep; break; // right
+                case GLFW_KEY_W: camera.panY += panStep; break; // up
+                case GLFW_KEY_S: camera.panY -= panStep; break; // down
+                case GLFW_KEY_A: camera.panX += panStep; break; // left
+                case GLFW_KEY_D: camera.panX -= panStep; break; // right
 
                 // Zoom in (+) and out (-), including keypad variants
                 case GLFW_KEY_EQUAL: // '+' shares '=' key without shift on many layouts
                 case GLFW_KEY_KP_ADD: {
                     float factor = 1.10f; // +10%
-                    zoom *= factor;
-                    if (zoom > 100f) zoom = 100f;
+                    camera.zoom *= factor;
+                    if (camera.zoom > 100f) camera.zoom = 100f;
                     break;
                 }
                 case GLFW_KEY_MINUS:
                 case GLFW_KEY_KP_SUBTRACT: {
                     float factor = 1.0f / 1.10f; // -10%
-                    zoom *= factor;
-                    if (zoom < 0.1f) zoom = 0.1f;
+                    camera.zoom *= factor;
+                    if (camera.zoom < 0.1f) camera.zoom = 0.1f;
                     break;
                 }
 
                 // Reset view
                 case GLFW_KEY_SPACE:
-                    zoom = 1.0f;
-                    panX = 0.0f;
-                    panY = 0.0f;
+                    camera.zoom = 1.0f;
+                    camera.panX = 0.0f;
+                    camera.panY = 0.0f;
                     break;
 
                 case GLFW_KEY_G:
-                    gridMode = !gridMode; // toggle grid highlighting
+                    camera.gridMode = !camera.gridMode; // toggle grid highlighting
+                    break;
+
+                case GLFW_KEY_T:
+                    showTimings = !showTimings; // frame timing panel
+                    break;
+
+                case GLFW_KEY_C:
+                    toggleComparison(); // epochs side by side
+                    break;
+
+                case GLFW_KEY_I:
+                    inspecting = !inspecting; // organism inspector
+                    glfwGetCursorPos(window, cursorX, cursorY);
+                    hoverX = cursorX[0];
+                    hoverY = cursorY[0];
+                    if (!inspecting) inspector.clear();
+                    break;
+
+                case GLFW_KEY_H:
+                    cycleHeatmap(); // occupancy, turnover, per-type density, off
+                    break;
+
+                // Replay transport: P pause, arrows step (shift: 100 frames), [ ] speed, HOME/END jump
+                case GLFW_KEY_P:
+                    if (null != playback) playback.togglePause();
+                    break;
+                case GLFW_KEY_LEFT:
+                    if (null != playback) playback.seekBy((mods & GLFW_MOD_SHIFT) != 0 ? -100 : -1);
+                    break;
+                case GLFW_KEY_RIGHT:
+                    if (null != playback) playback.seekBy((mods & GLFW_MOD_SHIFT) != 0 ? 100 : 1);
+                    break;
+                case GLFW_KEY_LEFT_BRACKET:
+                    if (null != playback) playback.setSpeed(playback.speed() / 2.0);
+                    break;
+                case GLFW_KEY_RIGHT_BRACKET:
+                    if (null != playback) playback.setSpeed(playback.speed() * 2.0);
+                    break;
+                case GLFW_KEY_HOME:
+                    if (null != playback) playback.seek(0);
+                    break;
+                case GLFW_KEY_END:
+                    if (null != playback) playback.seek(playback.length() - 1);
                     break;
 
                 default:
@@ -547,25 +769,55 @@ public class ViewPort {
             }
         });
 
+        // Exposed or uncovered: the back buffer is gone, draw again even if nothing changed
+        glfwSetWindowRefreshCallback(window, w -> scheduler.invalidate());
+
         glfwSetFramebufferSizeCallback(window, (w, wfb, hfb) -> {
-            framebufferW = wfb;
-            framebufferH = hfb;
-            glViewport(0, 0, framebufferW, framebufferH);
+            camera.framebufferW = wfb;
+            camera.framebufferH = hfb;
+            glViewport(0, 0, camera.framebufferW, camera.framebufferH);
+            scheduler.invalidate();
 
             // Update pxRatio so future zoom resets (SPACE) or pixel-locked modes remain correct
             int[] ww = new int[1], wh = new int[1];
             glfwGetWindowSize(window, ww, wh);
-            float pxRatioNow = (ww[0] > 0) ? (float) framebufferW / (float) ww[0] : 1.0f;
+            float pxRatioNow = (ww[0] > 0) ? (float) camera.framebufferW / (float) ww[0] : 1.0f;
             // Do not override user zoom here; just keep pixelScale-based resets correct
             // (If you want to lock zoom to pxRatio, set zoom = pixelScale * pxRatioNow instead.)
         });
     }
 
     private void cleanup() {
-        if (prog != 0) glDeleteProgram(prog);
-        if (vboPos != 0) glDeleteBuffers(vboPos);
-        if (vboColor != 0) glDeleteBuffers(vboColor);
-        if (vao != 0) glDeleteVertexArrays(vao);
+        if (renderer != null) {
+            final UploadCounter uploads = renderer.uploads();
+            System.out.printf("Uploaded %,d bytes over %,d frames (%,.0f B/frame)%n",
+                    uploads.totalBytes(), uploads.frames(), uploads.averageBytes());
+            if (renderer instanceof PointRenderer && ((PointRenderer) renderer).ringWaits() > 0) {
+                System.out.printf("Upload ring waited for the GPU %,d times%n", ((PointRenderer) renderer).ringWaits());
+            }
+            System.out.printf("Scheduler %s drew %,d frames, %,d published frames never drawn%n",
+                    scheduler.mode(), scheduler.drawnFrames(), scheduler.skippedFrames());
+            renderer.dispose();
+        }
+        if (null != comparison) {
+            comparison.dispose();
+        }
+        if (null != heatmapOverlay) {
+            final UploadCounter uploads = heatmapOverlay.uploads();
+            System.out.printf("Heatmap overlay uploaded %,d bytes over %,d frames%n", uploads.totalBytes(), uploads.frames());
+            heatmapOverlay.dispose();
+        }
+        if (null != packer) {
+            packer.close();
+        }
+        if (null != gpuQueries) {
+            glDeleteQueries(gpuQueries);
+            gpuQueries = null;
+        }
+        final TimingSummary summary = timings.summarize();
+        System.out.printf("Frame time p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                summary.p50(FramePhase.FRAME) / 1e6, summary.p99(FramePhase.FRAME) / 1e6,
+                summary.p999(FramePhase.FRAME) / 1e6, summary.max(FramePhase.FRAME) / 1e6);
         if (vg != 0) {
             NanoVGGL3.nvgDelete(vg);
             vg = 0;
@@ -574,16 +826,6 @@ public class ViewPort {
         glfwTerminate();
         if (errCallback != null) errCallback.free();
     }
-
-    private int createShader(int type, String src) {
-        int sh = glCreateShader(type);
-        glShaderSource(sh, src);
-        glCompileShader(sh);
-        if (glGetShaderi(sh, GL_COMPILE_STATUS) == 0) {
-            throw new RuntimeException("Shader compile failed: " + glGetShaderInfoLog(sh));
-        }
-        return sh;
-    }
 /*
     static void drawPoints() {
         glUseProgram(prog);
@@ -0,0 +1,125 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CellGridTest {
+
+    // more than one 64-row word of dirty bits
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 130;
+
+    private final CellGrid grid = new CellGrid(WIDTH, HEIGHT);
+    private final FrameDelta delta = new FrameDelta();
+
+    @Test
+    void applyWritesTypesAndMarksTheirRows() {
+        grid.apply(frame(cell(1, 2, CellType.LEAF), cell(3, 70, CellType.ROOT)), delta);
+
+        assertEquals(CellType.LEAF.ordinal() + 1, grid.get(1, 2));
+        assertEquals(CellType.ROOT.ordinal() + 1, grid.get(3, 70));
+        assertEquals(CellGrid.EMPTY, grid.get(0, 0));
+        assertEquals(2, grid.occupied());
+        assertDirtyRows(2, 70);
+    }
+
+    @Test
+    void unchangedFrameMarksNothing() {
+        final FrameSnapshot frame = frame(cell(1, 2, CellType.LEAF), cell(3, 70, CellType.ROOT));
+        grid.apply(frame);
+        grid.clearDirty();
+
+        grid.apply(frame, delta);
+
+        assertEquals(-1, grid.nextDirtyRow(0));
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    void birthsChangesAndDeathsAreRecordedOnTheirRows() {
+        grid.apply(frame(cell(0, 0, CellType.LEAF), cell(1, 64, CellType.STEM), cell(2, 129, CellType.ROOT)));
+        grid.clearDirty();
+
+        // (0,0) stays, (1,64) changes type, (2,129) dies, (5,63) is born
+        grid.apply(frame(cell(0, 0, CellType.LEAF), cell(1, 64, CellType.SEED_ACTIVE), cell(5, 63, CellType.LEAF)), delta);
+
+        assertEquals(1, delta.births());
+        assertEquals(63 * WIDTH + 5, delta.birthCell(0));
+        assertEquals(CellType.LEAF.ordinal(), delta.birthType(0));
+        assertEquals(1, delta.changes());
+        assertEquals(64 * WIDTH + 1, delta.changeCell(0));
+        assertEquals(CellType.SEED_ACTIVE.ordinal(), delta.changeType(0));
+        assertEquals(1, delta.deaths());
+        assertEquals(129 * WIDTH + 2, delta.deathCell(0));
+        assertEquals(CellType.ROOT.ordinal(), delta.deathType(0));
+        assertEquals(CellGrid.EMPTY, grid.get(2, 129));
+        assertDirtyRows(63, 64, 129);
+    }
+
+    @Test
+    void duplicateAndOutOfBoundsCellsAreIgnored() {
+        grid.apply(frame(cell(4, 4, CellType.LEAF), cell(4, 4, CellType.ROOT), cell(WIDTH, 0, CellType.LEAF),
+                cell(0, HEIGHT, CellType.LEAF)), delta);
+
+        assertEquals(1, grid.occupied());
+        assertEquals(CellType.LEAF.ordinal() + 1, grid.get(4, 4), "the first cell at a position wins");
+        assertEquals(1, delta.births());
+        assertDirtyRows(4);
+    }
+
+    @Test
+    void dirtyRowRunsSpanWordBoundaries() {
+        grid.apply(frame(cell(0, 62, CellType.LEAF), cell(0, 63, CellType.LEAF), cell(0, 64, CellType.LEAF),
+                cell(0, 65, CellType.LEAF), cell(0, 128, CellType.LEAF)));
+
+        assertEquals(62, grid.nextDirtyRow(0));
+        assertEquals(66, grid.nextCleanRow(62));
+        assertEquals(128, grid.nextDirtyRow(66));
+        assertEquals(129, grid.nextCleanRow(128));
+        assertEquals(-1, grid.nextDirtyRow(129));
+        assertEquals(-1, grid.nextDirtyRow(HEIGHT));
+    }
+
+    @Test
+    void markAllAndClear() {
+        grid.markAllDirty();
+        assertEquals(0, grid.nextDirtyRow(0));
+        assertEquals(HEIGHT, grid.nextCleanRow(0));
+
+        grid.clearDirty();
+        assertEquals(-1, grid.nextDirtyRow(0));
+        for (int row = 0; row < HEIGHT; row++) {
+            assertFalse(grid.isDirty(row));
+        }
+    }
+
+    private void assertDirtyRows(final int... rows) {
+        int expected = 0;
+        for (int row = 0; row < HEIGHT; row++) {
+            final boolean dirty = expected < rows.length && rows[expected] == row;
+            assertEquals(dirty, grid.isDirty(row), "row " + row);
+            if (dirty) expected++;
+        }
+    }
+
+    private static int[] cell(final int x, final int y, final CellType type) {
+        return new int[]{x, y, type.ordinal()};
+    }
+
+    private static FrameSnapshot frame(final int[]... cells) {
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin("epoch", 1, 0, 1);
+        for (final int[] cell : cells) {
+            frame.add(cell[0], cell[1], CellType.of((byte) cell[2]));
+        }
+        return frame;
+    }
+}
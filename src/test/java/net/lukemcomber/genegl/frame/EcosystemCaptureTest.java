@@ -0,0 +1,57 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genetics.Ecosystem;
+import net.lukemcomber.genetics.biology.Organism;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A capture that cannot walk every organism must fail, so the publisher captures again
+ * instead of publishing a frame with organisms missing.
+ */
+class EcosystemCaptureTest {
+
+    private final EcosystemCapture capture = new EcosystemCapture(new SpatialCoordinates(16, 16, 1));
+
+    @Test
+    void organismTornOnEveryAttemptFailsTheCapture() {
+        final Organism torn = mock(Organism.class);
+        when(torn.getFirstCell()).thenThrow(new IllegalStateException("torn"));
+        final Ecosystem ecosystem = ecosystem(List.of(torn).iterator());
+
+        assertFalse(capture.capture(ecosystem, new FrameSnapshot()));
+        verify(torn, times(EcosystemCapture.MAX_ORGANISM_RETRIES + 1)).getFirstCell();
+    }
+
+    @Test
+    void organismIteratorGivingUpFailsTheCapture() {
+        @SuppressWarnings("unchecked")
+        final Iterator<Organism> organisms = mock(Iterator.class);
+        when(organisms.hasNext()).thenReturn(true);
+        when(organisms.next()).thenThrow(new IllegalStateException("concurrent modification"));
+
+        assertFalse(capture.capture(ecosystem(organisms), new FrameSnapshot()));
+    }
+
+    private static Ecosystem ecosystem(final Iterator<Organism> organisms) {
+        final Ecosystem ecosystem = mock(Ecosystem.class, RETURNS_DEEP_STUBS);
+        when(ecosystem.getName()).thenReturn("epoch");
+        when(ecosystem.getTerrain().getOrganisms()).thenReturn(organisms);
+        return ecosystem;
+    }
+}
@@ -0,0 +1,119 @@
+package net.lukemcomber.genegl.frame;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A writer publishing as fast as it can against a reader acquiring as fast as it can. Every
+ * frame is stamped throughout with its tick, so a frame the writer is still filling, or one
+ * mixing two fills, shows up as a cell or count that does not match the frame's tick.
+ */
+class FrameExchangeStressTest {
+
+    private static final long FRAMES = 200_000;
+
+    @Test
+    @Timeout(60)
+    void readerNeverSeesAPartialFrame() throws InterruptedException {
+        final FrameExchange exchange = new FrameExchange();
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+
+        final Thread writer = new Thread(() -> {
+            try {
+                for (long tick = 1; tick <= FRAMES; tick++) {
+                    final FrameSnapshot frame = exchange.back();
+                    frame.begin("stress", tick, tick / 10, tick);
+                    final int count = cellsFor(tick);
+                    for (int i = 0; i < count; i++) {
+                        frame.add(i, tag(tick), CellType.of((byte) (tick % CellType.count())));
+                    }
+                    exchange.publish();
+                }
+            } catch (final Throwable t) {
+                writerFailure.set(t);
+            } finally {
+                done.set(true);
+            }
+        }, "stress-writer");
+        writer.start();
+
+        long lastVersion = 0;
+        long checked = 0;
+        while (!done.get() || checked == 0) {
+            final FrameSnapshot frame = exchange.acquire();
+            if (0 == frame.version()) continue;
+            assertTrue(frame.version() >= lastVersion, "versions went back");
+            if (frame.version() != lastVersion) {
+                assertConsistent(frame);
+                lastVersion = frame.version();
+                checked++;
+            }
+        }
+        writer.join();
+        assertNull(writerFailure.get());
+
+        // after the last publish the reader gets exactly the last frame
+        final FrameSnapshot last = exchange.acquire();
+        assertEquals(FRAMES, last.version());
+        assertConsistent(last);
+        assertTrue(checked > 1, "the reader should have seen several frames");
+    }
+
+    @Test
+    void acquireBeforeAnyPublishReturnsAnEmptyFrame() {
+        final FrameExchange exchange = new FrameExchange();
+        assertEquals(0, exchange.acquire().version());
+        assertEquals(0, exchange.acquire().count());
+    }
+
+    @Test
+    void acquireKeepsTheFrameUntilANewOneIsPublished() {
+        final FrameExchange exchange = new FrameExchange();
+        exchange.back().begin("e", 1, 0, 1);
+        exchange.publish();
+        final FrameSnapshot first = exchange.acquire();
+        assertEquals(1, first.version());
+        assertTrue(first == exchange.acquire(), "nothing new, same frame");
+
+        exchange.back().begin("e", 2, 0, 2);
+        exchange.publish();
+        exchange.back().begin("e", 3, 0, 3);
+        exchange.publish();
+        // only the newest of several publishes is seen
+        assertEquals(3, exchange.acquire().totalTicks());
+    }
+
+    private static void assertConsistent(final FrameSnapshot frame) {
+        final long tick = frame.totalTicks();
+        assertEquals(tick, frame.version(), "version and tick are written together");
+        assertEquals(cellsFor(tick), frame.count(), "cell count of tick " + tick);
+        for (int i = 0; i < frame.count(); i++) {
+            final int cell = frame.cell(i);
+            assertEquals(i, FrameSnapshot.x(cell), "cell " + i + " of tick " + tick);
+            assertEquals(tag(tick), FrameSnapshot.y(cell), "cell " + i + " of tick " + tick);
+            assertEquals(tick % CellType.count(), frame.type(i), "type of cell " + i + " of tick " + tick);
+        }
+    }
+
+    // varying sizes so a torn frame also shows up in the count
+    private static int cellsFor(final long tick) {
+        return 1 + (int) (tick * 7919 % 2000);
+    }
+
+    private static int tag(final long tick) {
+        return (int) (tick % 1000);
+    }
+}
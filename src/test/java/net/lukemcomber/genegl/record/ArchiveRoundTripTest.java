@@ -0,0 +1,159 @@
+package net.lukemcomber.genegl.record;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Frames written by {@link FrameRecorder} come back out of {@link ArchiveReader} cell for cell,
+ * from a closed archive through its index and from one whose recording never closed.
+ */
+class ArchiveRoundTripTest {
+
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 25;
+    private static final int KEYFRAME_INTERVAL = 8;
+    // epoch "a" for 20 frames, then "b": keyframes at 0, 8, 16, 20 (new epoch) and 28
+    private static final int EPOCH_A_FRAMES = 20;
+    private static final int FRAMES = 34;
+    private static final int KEYFRAMES = 5;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void closedArchiveReplaysEveryFrame() throws IOException {
+        final Path path = dir.resolve("closed.ggla");
+        final List<Expected> expected = record(path);
+
+        try (ArchiveReader reader = new ArchiveReader(path)) {
+            assertEquals(WIDTH, reader.width());
+            assertEquals(HEIGHT, reader.height());
+            assertEquals(FRAMES, reader.frames());
+            assertEquals(KEYFRAMES, reader.keyframes());
+            assertReplays(reader, expected);
+        }
+    }
+
+    @Test
+    void unclosedArchiveIsScanned() throws IOException {
+        final Path path = dir.resolve("unclosed.ggla");
+        final FrameRecorder recorder = new FrameRecorder(path, new SpatialCoordinates(WIDTH, HEIGHT, 1), KEYFRAME_INTERVAL);
+        try {
+            final List<Expected> expected = feed(recorder);
+
+            // no index and no trailer yet, only records followed by the zero filled mapping
+            try (ArchiveReader reader = new ArchiveReader(path)) {
+                assertEquals(FRAMES, reader.frames());
+                assertEquals(KEYFRAMES, reader.keyframes());
+                assertReplays(reader, expected);
+            }
+        } finally {
+            recorder.close();
+        }
+    }
+
+    @Test
+    void seekLandsOnTheSameFrameAsPlayingThrough() throws IOException {
+        final Path path = dir.resolve("seek.ggla");
+        final List<Expected> expected = record(path);
+
+        try (ArchiveReader reader = new ArchiveReader(path)) {
+            final ReplayState state = reader.newState();
+            // forward within an interval, back across the epoch change, onto a keyframe, past the end
+            for (final long target : new long[]{3, 6, 25, 17, 20, 28, 31, 1, 500}) {
+                reader.seek(state, target);
+                final int frame = (int) Math.min(FRAMES - 1, target);
+                assertEquals(frame, state.frame());
+                assertFrame(expected.get(frame), state, "seek to " + target);
+            }
+        }
+    }
+
+    private List<Expected> record(final Path path) throws IOException {
+        final FrameRecorder recorder = new FrameRecorder(path, new SpatialCoordinates(WIDTH, HEIGHT, 1), KEYFRAME_INTERVAL);
+        final List<Expected> expected = feed(recorder);
+        recorder.close();
+        return expected;
+    }
+
+    /*
+     * Publishes a population that is born, changes type and dies at random every frame. The
+     * second epoch starts from a different population, so its keyframe cannot be a delta.
+     */
+    private static List<Expected> feed(final FrameRecorder recorder) {
+        final Random random = new Random(42);
+        final byte[] cells = new byte[WIDTH * HEIGHT];
+        final FrameSnapshot frame = new FrameSnapshot();
+        final List<Expected> expected = new ArrayList<>();
+        for (int f = 0; f < FRAMES; f++) {
+            final boolean epochA = f < EPOCH_A_FRAMES;
+            if (f == 0 || f == EPOCH_A_FRAMES) {
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = random.nextInt(4) == 0 ? (byte) (1 + random.nextInt(CellType.count())) : 0;
+                }
+            } else {
+                for (int i = 0; i < 60; i++) {
+                    final int cell = random.nextInt(cells.length);
+                    cells[cell] = random.nextInt(3) == 0 ? 0 : (byte) (1 + random.nextInt(CellType.count()));
+                }
+            }
+            final long ticks = epochA ? 100 + f : f - EPOCH_A_FRAMES;
+            frame.begin(epochA ? "a" : "b", ticks, ticks / 10, ticks % 10);
+            for (int i = 0; i < cells.length; i++) {
+                if (0 != cells[i]) {
+                    frame.add(i % WIDTH, i / WIDTH, CellType.of((byte) (cells[i] - 1)));
+                }
+            }
+            recorder.onFrame(frame);
+            expected.add(new Expected(frame.name(), ticks, cells.clone()));
+        }
+        return expected;
+    }
+
+    private static void assertReplays(final ArchiveReader reader, final List<Expected> expected) throws IOException {
+        final ReplayState state = reader.newState();
+        for (int f = 0; f < FRAMES; f++) {
+            assertTrue(reader.next(state), "frame " + f);
+            assertEquals(f, state.frame());
+            assertFrame(expected.get(f), state, "frame " + f);
+        }
+        assertFalse(reader.next(state));
+    }
+
+    private static void assertFrame(final Expected expected, final ReplayState state, final String message) {
+        final FrameSnapshot frame = new FrameSnapshot();
+        state.fill(frame);
+        final byte[] cells = new byte[WIDTH * HEIGHT];
+        for (int i = 0; i < frame.count(); i++) {
+            final int packed = frame.cell(i);
+            cells[FrameSnapshot.y(packed) * WIDTH + FrameSnapshot.x(packed)] = (byte) (frame.type(i) + 1);
+        }
+        assertEquals(expected.name, frame.name(), message);
+        assertEquals(expected.totalTicks, frame.totalTicks(), message);
+        assertEquals(expected.totalTicks / 10, frame.totalDays(), message);
+        assertEquals(expected.totalTicks % 10, frame.currentTick(), message);
+        assertArrayEquals(expected.cells, cells, message);
+    }
+
+    private record Expected(String name, long totalTicks, byte[] cells) {
+    }
+}
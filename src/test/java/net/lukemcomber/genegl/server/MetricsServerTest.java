@@ -0,0 +1,182 @@
+package net.lukemcomber.genegl.server;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.frame.FrameStats;
+import net.lukemcomber.genegl.frame.PlaybackControl;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genegl.metrics.MetricsPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The metrics and control endpoints over HTTP on localhost, with the same controllers
+ * {@link MetricsServer} starts and a publisher over a fixed frame.
+ */
+@SpringBootTest(classes = {MetricsServer.Endpoints.class, MetricsServerTest.Source.class},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jmx.enabled=false", "spring.devtools.restart.enabled=false"})
+class MetricsServerTest {
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Autowired
+    Control control;
+
+    @BeforeEach
+    void reset() {
+        control.resume();
+        control.setTickDelayMillis(0.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void metricsServesTheLatestSnapshot() {
+        final ResponseEntity<Map> response = rest.getForEntity("/metrics", Map.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final Map<String, Object> body = response.getBody();
+        assertNotNull(body);
+        assertEquals("simulation", body.get("source"));
+        assertEquals("epoch-a", body.get("epoch-name"));
+        assertEquals(42, ((Number) body.get("total-ticks")).intValue());
+        assertEquals(3, ((Number) body.get("cells")).intValue());
+        assertEquals(2, ((Number) body.get("organisms")).intValue());
+        assertNotNull(body.get("memory"));
+        assertNotNull(body.get("playback"));
+    }
+
+    @Test
+    void controlReportsThePlaybackState() {
+        final ResponseEntity<Map> response = rest.getForEntity("/control", Map.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Boolean.FALSE, response.getBody().get("paused"));
+        assertEquals(0.0, ((Number) response.getBody().get("tick-delay-ms")).doubleValue());
+    }
+
+    @Test
+    void pauseAndResumeReachTheSource() {
+        final ResponseEntity<Map> paused = rest.postForEntity("/control/pause", null, Map.class);
+        assertEquals(HttpStatus.OK, paused.getStatusCode());
+        assertEquals(Boolean.TRUE, paused.getBody().get("paused"));
+        assertTrue(control.isPaused());
+
+        final ResponseEntity<Map> resumed = rest.postForEntity("/control/resume", null, Map.class);
+        assertEquals(HttpStatus.OK, resumed.getStatusCode());
+        assertEquals(Boolean.FALSE, resumed.getBody().get("paused"));
+        assertFalse(control.isPaused());
+    }
+
+    @Test
+    void tickDelayIsSetAndNegativeOnesRejected() {
+        final ResponseEntity<Map> set = rest.exchange("/control/tick-delay?ms=25", HttpMethod.PUT, null, Map.class);
+        assertEquals(HttpStatus.OK, set.getStatusCode());
+        assertEquals(25.0, ((Number) set.getBody().get("tick-delay-ms")).doubleValue());
+        assertEquals(25.0, control.tickDelayMillis());
+
+        final ResponseEntity<Map> rejected = rest.exchange("/control/tick-delay?ms=-1", HttpMethod.PUT, null, Map.class);
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        assertEquals(25.0, control.tickDelayMillis());
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Source {
+
+        @Bean
+        Control control() {
+            return new Control();
+        }
+
+        @Bean(destroyMethod = "stop")
+        MetricsPublisher metricsPublisher(final Control control) {
+            final FrameSnapshot frame = new FrameSnapshot();
+            frame.begin("epoch-a", 42, 1, 42);
+            for (int i = 0; i < 3; i++) {
+                frame.add(i, 0, CellType.of((byte) 0));
+            }
+            final FrameStats stats = new FrameStats();
+            stats.update(frame, 2);
+            // publishes once on construction, the interval keeps it from changing under the tests
+            return new MetricsPublisher("simulation", stats, new FrameTimings(), null, control, 60_000);
+        }
+    }
+
+    /*
+     * Only remembers what it was told, like the volatile fields a real source polls.
+     */
+    static class Control implements PlaybackControl {
+
+        private volatile boolean paused = false;
+        private volatile double tickDelayMillis = 0.0;
+
+        @Override
+        public void pause() {
+            paused = true;
+        }
+
+        @Override
+        public void resume() {
+            paused = false;
+        }
+
+        @Override
+        public boolean isPaused() {
+            return paused;
+        }
+
+        @Override
+        public double speed() {
+            return 1.0;
+        }
+
+        @Override
+        public void setSpeed(final double speed) {
+        }
+
+        @Override
+        public double tickDelayMillis() {
+            return tickDelayMillis;
+        }
+
+        @Override
+        public void setTickDelayMillis(final double millis) {
+            tickDelayMillis = millis;
+        }
+
+        @Override
+        public long position() {
+            return 42;
+        }
+
+        @Override
+        public long length() {
+            return 43;
+        }
+
+        @Override
+        public void seek(final long frame) {
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.model.Render;
+import net.lukemcomber.genetics.model.SpatialCoordinates;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Which published frames the headless viewer writes when the publisher skips ticks.
+ */
+class HeadlessViewerTest {
+
+    @TempDir
+    Path frames;
+
+    @Test
+    void writesOnceEveryNTicksWhateverTicksArePublished() throws IOException {
+        final HeadlessViewer viewer = viewer(24);
+
+        assertTrue(viewer.due(frame("a", 1)), "first frame of the run");
+        assertFalse(viewer.due(frame("a", 5)));
+        // 24 and 48 were never published
+        assertTrue(viewer.due(frame("a", 30)));
+        assertFalse(viewer.due(frame("a", 50)));
+        assertTrue(viewer.due(frame("a", 54)));
+        assertTrue(viewer.due(frame("a", 101)));
+        assertFalse(viewer.due(frame("a", 124)));
+    }
+
+    @Test
+    void writesTheFirstFrameOfEveryEpoch() throws IOException {
+        final HeadlessViewer viewer = viewer(24);
+
+        assertTrue(viewer.due(frame("a", 100)));
+        assertTrue(viewer.due(frame("b", 3)), "new epoch name");
+        assertFalse(viewer.due(frame("b", 10)));
+        // same name, ticks going back: the epoch started over
+        assertTrue(viewer.due(frame("b", 2)));
+    }
+
+    private HeadlessViewer viewer(final int everyTicks) throws IOException {
+        final Render render = new Render();
+        render.framePath = frames.toString();
+        render.frameEveryTicks = everyTicks;
+        return new HeadlessViewer(new SpatialCoordinates(48, 27, 1), render);
+    }
+
+    private static FrameSnapshot frame(final String name, final long tick) {
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin(name, tick, 0, tick);
+        return frame;
+    }
+}
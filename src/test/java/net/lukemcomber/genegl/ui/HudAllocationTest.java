@@ -0,0 +1,158 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import net.lukemcomber.genegl.frame.PlaybackControl;
+import net.lukemcomber.genegl.metrics.FramePhase;
+import net.lukemcomber.genegl.metrics.FrameTimings;
+import net.lukemcomber.genegl.metrics.TimingSummary;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The HUD text is rebuilt every frame without allocating once its buffers have grown, measured
+ * with the thread's allocation counter like the frame loop benchmark does, and reads like the
+ * {@code String.format} it replaces.
+ */
+class HudAllocationTest {
+
+    private static final int FRAMES = 20_000;
+    private static final int ROUNDS = 10;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final HudLines hud = new HudLines();
+    private final FrameSnapshot frame = new FrameSnapshot();
+    private final Camera camera = new Camera();
+    private final Playback playback = new Playback();
+    private final TimingSummary[] summaries = new TimingSummary[4];
+
+    @Test
+    void steadyStateFramesAllocateNothing() {
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot count allocated bytes per thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        final FrameTimings timings = new FrameTimings();
+        for (int i = 0; i < summaries.length; i++) {
+            for (final FramePhase phase : FramePhase.values()) {
+                timings.record(phase, 1_000L + 250_000L * i * (phase.ordinal() + 1));
+            }
+            summaries[i] = timings.summarize();
+        }
+
+        long sink = 0;
+        // the first frames grow the builders and UTF-8 buffers to the longest line
+        for (int i = 0; i < FRAMES; i++) {
+            sink += frame(i);
+        }
+        // while the JIT is still compiling the loop, a deoptimization can allocate a few bytes;
+        // steady state is a whole round of frames without any, which a real leak never reaches
+        long allocated = -1;
+        for (int round = 0; round < ROUNDS && allocated != 0; round++) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < FRAMES; i++) {
+                sink += frame(i);
+            }
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+
+        assertTrue(sink > 0);
+        assertEquals(0L, allocated, "bytes allocated over the last " + FRAMES + " frames");
+    }
+
+    @Test
+    void linesReadLikeTheFormatTheyReplace() {
+        frame.begin("epoch-7", 1_234_567L, 89L, 42L);
+        camera.zoom = 2.345f;
+        camera.panX = -12.5f;
+        camera.panY = 300.4f;
+        camera.gridMode = true;
+        hud.update(frame, camera, null);
+
+        assertEquals(String.format(Locale.ENGLISH, "Total Ticks %,d  |  Day %,d  |  Tick %d ",
+                1_234_567L, 89L, 42L), hud.time().text().toString());
+        assertEquals(String.format(Locale.ENGLISH, "%s  |  zoom %.2fx  |  pan(%.0f,%.0f)  |  grid %s",
+                "epoch-7", 2.345f, -12.5f, 300.4f, "ON"), hud.view().text().toString());
+        assertEquals(hud.time().text().length(), hud.time().utf8().remaining());
+    }
+
+    /*
+     * One frame's worth of HUD work with values that change every frame, so every line is
+     * re-encoded and none of the text is cached.
+     */
+    private long frame(final int i) {
+        frame.begin(i % 2 == 0 ? "epoch-0" : "epoch-1", 1_000_000L + i, i / 100, i % 100);
+        frame.add(i % 64, 1, CellType.LEAF);
+        camera.zoom = 1.0f + (i % 50) * 0.37f;
+        camera.panX = -i * 0.5f;
+        camera.panY = i * 1.25f;
+        camera.gridMode = i % 3 == 0;
+        playback.position = i;
+
+        hud.update(frame, camera, playback);
+        hud.updateTimings(summaries[i % summaries.length]);
+        final CharSequence title = hud.title(i, 59.9 + i % 7, 120.0 - i % 11, i / 10, i * 6L, i % 3);
+        return hud.time().encodes() + hud.view().utf8().remaining() + hud.replay().encodes()
+                + hud.timing(FramePhase.FRAME, 3).utf8().remaining() + title.length();
+    }
+
+    private static class Playback implements PlaybackControl {
+
+        long position = 0;
+
+        @Override
+        public void pause() {
+        }
+
+        @Override
+        public void resume() {
+        }
+
+        @Override
+        public boolean isPaused() {
+            return position % 2 == 0;
+        }
+
+        @Override
+        public double speed() {
+            return 1.0 + position % 8;
+        }
+
+        @Override
+        public void setSpeed(final double speed) {
+        }
+
+        @Override
+        public double tickDelayMillis() {
+            return 0.0;
+        }
+
+        @Override
+        public void setTickDelayMillis(final double millis) {
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public long length() {
+            return 1_000_000L;
+        }
+
+        @Override
+        public void seek(final long frame) {
+        }
+    }
+}
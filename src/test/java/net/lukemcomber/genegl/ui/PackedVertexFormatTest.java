@@ -0,0 +1,107 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedVertexFormatTest {
+
+    @Test
+    void vertexRoundTripsOverTheWholeCoordinateRange() {
+        final int[] coordinates = {0, 1, 255, 256, 32_767, 32_768, 65_534, PackedVertexFormat.MAX_COORDINATE};
+        final ByteBuffer buffer = direct(coordinates.length * coordinates.length * CellType.count());
+        int vertex = 0;
+        for (final int x : coordinates) {
+            for (final int y : coordinates) {
+                for (int type = 0; type < CellType.count(); type++) {
+                    PackedVertexFormat.put(buffer, vertex++, x, y, type);
+                }
+            }
+        }
+        vertex = 0;
+        for (final int x : coordinates) {
+            for (final int y : coordinates) {
+                for (int type = 0; type < CellType.count(); type++) {
+                    assertEquals(x, PackedVertexFormat.x(buffer, vertex));
+                    assertEquals(y, PackedVertexFormat.y(buffer, vertex));
+                    assertEquals(type, PackedVertexFormat.palette(buffer, vertex));
+                    assertEquals(0, buffer.get(vertex * PackedVertexFormat.STRIDE + PackedVertexFormat.SPARE_OFFSET));
+                    vertex++;
+                }
+            }
+        }
+    }
+
+    @Test
+    void frameRoundTrips() {
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin("epoch", 1, 0, 1);
+        for (int i = 0; i < 1000; i++) {
+            frame.add(i * 37 % 480, i * 11 % 270, CellType.of((byte) (i % CellType.count())));
+        }
+        final ByteBuffer buffer = direct(frame.count());
+
+        assertEquals(frame.count() * PackedVertexFormat.STRIDE, PackedVertexFormat.encode(frame, buffer));
+        assertEquals(0, buffer.position(), "absolute puts leave the position alone");
+        assertEquals(frame.count() * PackedVertexFormat.STRIDE, buffer.limit());
+        for (int i = 0; i < frame.count(); i++) {
+            assertEquals(FrameSnapshot.x(frame.cell(i)), PackedVertexFormat.x(buffer, i));
+            assertEquals(FrameSnapshot.y(frame.cell(i)), PackedVertexFormat.y(buffer, i));
+            assertEquals(frame.type(i), PackedVertexFormat.palette(buffer, i));
+        }
+    }
+
+    @Test
+    void encodeAtAnOffsetLeavesEarlierVerticesAlone() {
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin("epoch", 1, 0, 1);
+        frame.add(7, 9, CellType.ROOT);
+        frame.add(400, 200, CellType.SEED_ACTIVE);
+        final ByteBuffer buffer = direct(5);
+        PackedVertexFormat.put(buffer, 2, 1, 2, CellType.LEAF.ordinal());
+
+        assertEquals(2 * PackedVertexFormat.STRIDE, PackedVertexFormat.encode(frame, buffer, 3));
+        assertEquals(5 * PackedVertexFormat.STRIDE, buffer.limit());
+        assertEquals(1, PackedVertexFormat.x(buffer, 2));
+        assertEquals(2, PackedVertexFormat.y(buffer, 2));
+        assertEquals(CellType.LEAF.ordinal(), PackedVertexFormat.palette(buffer, 2));
+        assertEquals(7, PackedVertexFormat.x(buffer, 3));
+        assertEquals(9, PackedVertexFormat.y(buffer, 3));
+        assertEquals(CellType.ROOT.ordinal(), PackedVertexFormat.palette(buffer, 3));
+        assertEquals(400, PackedVertexFormat.x(buffer, 4));
+        assertEquals(200, PackedVertexFormat.y(buffer, 4));
+        assertEquals(CellType.SEED_ACTIVE.ordinal(), PackedVertexFormat.palette(buffer, 4));
+    }
+
+    @Test
+    void paletteHoldsTheColorKeyInTypeOrder() {
+        final float[] palette = PackedVertexFormat.palette();
+        assertEquals(PackedVertexFormat.PALETTE_SIZE * 4, palette.length);
+        assertTrue(CellType.count() <= PackedVertexFormat.PALETTE_SIZE);
+        for (int i = 0; i < CellType.count(); i++) {
+            final CellType type = CellType.of((byte) i);
+            assertEquals(type.red, palette[i * 4]);
+            assertEquals(type.green, palette[i * 4 + 1]);
+            assertEquals(type.blue, palette[i * 4 + 2]);
+            assertEquals(1f, palette[i * 4 + 3]);
+        }
+        assertEquals(0x14 / 255f, palette[CellType.LEAF.ordinal() * 4], 1e-6f);
+        assertEquals(1f, palette[CellType.LEAF.ordinal() * 4 + 1], 1e-6f);
+    }
+
+    // GL reads the vertices in native byte order
+    private static ByteBuffer direct(final int vertices) {
+        return ByteBuffer.allocateDirect(vertices * PackedVertexFormat.STRIDE).order(ByteOrder.nativeOrder());
+    }
+}
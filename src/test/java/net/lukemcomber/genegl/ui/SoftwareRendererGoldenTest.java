@@ -0,0 +1,206 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Renders fixed scenes and compares them pixel for pixel with the PNGs under
+ * {@code src/test/resources/golden}, once on one thread and once split into bands, which must
+ * not change a pixel. After an intended change to the rasterizer, regenerate the images with
+ * {@code mvn test -Dtest=SoftwareRendererGoldenTest -Dgenegl.golden.update=true} and look at
+ * them before committing.
+ */
+class SoftwareRendererGoldenTest {
+
+    private static final Path GOLDEN_DIR = Path.of("src/test/resources/golden");
+    private static final boolean UPDATE = Boolean.getBoolean("genegl.golden.update");
+    private static final int BLACK = 0x000000;
+
+    @Test
+    void colorKey() throws IOException {
+        // one cell per type, 4 pixels each, a cell apart
+        final FrameSnapshot frame = frame();
+        for (int type = 0; type < CellType.count(); type++) {
+            frame.add(1 + type * 2, 1, CellType.of((byte) type));
+        }
+        final Camera camera = camera(56, 12, 4f, 0f, 0f, true);
+        assertGolden("color-key", frame, camera);
+
+        final BufferedImage image = render(frame, camera, 1);
+        for (int type = 0; type < CellType.count(); type++) {
+            final int left = (1 + type * 2) * 4;
+            for (int y = 4; y < 8; y++) {
+                for (int x = left; x < left + 4; x++) {
+                    assertEquals(CellType.of((byte) type).rgb, rgb(image, x, y), "pixel (" + x + ", " + y + ")");
+                }
+            }
+            assertEquals(BLACK, rgb(image, left + 4, 5), "gap after type " + type);
+        }
+    }
+
+    @Test
+    void gridModeZoomedIn() throws IOException {
+        final FrameSnapshot frame = frame();
+        for (int y = 0; y < 12; y++) {
+            for (int x = 0; x < 16; x++) {
+                if ((x * 3 + y * 5) % 7 < 3) {
+                    frame.add(x, y, CellType.of((byte) ((x + y) % CellType.count())));
+                }
+            }
+        }
+        assertGolden("grid-zoomed", frame, camera(80, 60, 5f, 0f, 0f, true));
+    }
+
+    @Test
+    void pointModeOverlapsInFrameOrder() throws IOException {
+        // 6 pixel points 4 pixels apart: later cells cover earlier ones
+        final FrameSnapshot frame = frame();
+        for (int i = 0; i < 12; i++) {
+            frame.add(2 + i * 2, 3 + (i % 4) * 2, CellType.of((byte) (i % CellType.count())));
+        }
+        final Camera camera = camera(64, 40, 2f, 0f, 0f, false);
+        camera.basePointSize = 3f;
+        assertGolden("points", frame, camera);
+    }
+
+    @Test
+    void cellsClippedAtTheEdges() throws IOException {
+        final FrameSnapshot frame = frame();
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 10; x++) {
+                if ((x + y) % 2 == 0) frame.add(x, y, y < 4 ? CellType.LEAF : CellType.ROOT);
+            }
+        }
+        // pans by a cell and a half across, half a cell down: the edge cells are cut in half
+        assertGolden("panned-clipped", frame, camera(40, 30, 6f, -9f, -3f, true));
+    }
+
+    @Test
+    void fractionalZoomFollowsPixelCenters() throws IOException {
+        final FrameSnapshot frame = frame();
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 40; x++) {
+                if ((x / 3 + y / 2) % 3 != 0) frame.add(x, y, CellType.of((byte) ((x / 5 + y / 4) % CellType.count())));
+            }
+        }
+        assertGolden("fractional-zoom", frame, camera(30, 23, 0.75f, 0f, 0f, true));
+    }
+
+    @Test
+    void fullWorldFitIntoTheFrame() throws IOException {
+        // a 480 x 270 world scaled down, as the headless viewer fits it
+        final FrameSnapshot frame = frame();
+        for (int y = 0; y < 270; y += 3) {
+            for (int x = (y / 3) % 5; x < 480; x += 5) {
+                frame.add(x, y, CellType.of((byte) ((x / 40 + y / 45) % CellType.count())));
+            }
+        }
+        assertGolden("world-fit", frame, camera(192, 108, 0.4f, 0f, 0f, true));
+    }
+
+    private static void assertGolden(final String name, final FrameSnapshot frame, final Camera camera)
+            throws IOException {
+        final BufferedImage serial = render(frame, camera, 1);
+        final BufferedImage banded = render(frame, camera, 4);
+        final BufferedImage golden;
+        if (UPDATE) {
+            // the copy on the classpath is the stale one until the next build, so read back what was written
+            final Path file = GOLDEN_DIR.resolve(name + ".png");
+            Files.createDirectories(GOLDEN_DIR);
+            ImageIO.write(serial, "png", file.toFile());
+            golden = ImageIO.read(file.toFile());
+        } else {
+            try (InputStream in = SoftwareRendererGoldenTest.class.getResourceAsStream("/golden/" + name + ".png")) {
+                assertNotNull(in, "golden image " + name + ".png missing; run with -Dgenegl.golden.update=true");
+                golden = ImageIO.read(in);
+            }
+        }
+        compare(name + " (1 thread)", golden, serial);
+        compare(name + " (4 threads)", golden, banded);
+    }
+
+    private static void compare(final String name, final BufferedImage expected, final BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth(), name + " width");
+        assertEquals(expected.getHeight(), actual.getHeight(), name + " height");
+        int mismatches = 0;
+        String first = null;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (rgb(expected, x, y) != rgb(actual, x, y)) {
+                    if (0 == mismatches++) {
+                        first = String.format("(%d, %d): expected #%06x, got #%06x", x, y, rgb(expected, x, y),
+                                rgb(actual, x, y));
+                    }
+                }
+            }
+        }
+        if (mismatches > 0) {
+            fail(name + ": " + mismatches + " pixels differ, first at " + first);
+        }
+    }
+
+    /*
+     * The framebuffer as an image; every pixel has to be opaque.
+     */
+    private static BufferedImage render(final FrameSnapshot frame, final Camera camera, final int threads) {
+        final SoftwareRenderer renderer = new SoftwareRenderer(threads);
+        try {
+            renderer.upload(frame);
+            renderer.draw(camera);
+            final ByteBuffer rgba = renderer.framebuffer();
+            final int w = renderer.framebufferWidth();
+            final int h = renderer.framebufferHeight();
+            final BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    final int p = (y * w + x) * 4;
+                    assertEquals(0xFF, rgba.get(p + 3) & 0xFF, "alpha at (" + x + ", " + y + ")");
+                    image.setRGB(x, y, (rgba.get(p) & 0xFF) << 16 | (rgba.get(p + 1) & 0xFF) << 8 | (rgba.get(p + 2) & 0xFF));
+                }
+            }
+            return image;
+        } finally {
+            renderer.dispose();
+        }
+    }
+
+    private static int rgb(final BufferedImage image, final int x, final int y) {
+        return image.getRGB(x, y) & 0xFFFFFF;
+    }
+
+    private static FrameSnapshot frame() {
+        final FrameSnapshot frame = new FrameSnapshot();
+        frame.begin("golden", 1, 0, 1);
+        return frame;
+    }
+
+    private static Camera camera(final int w, final int h, final float zoom, final float panX, final float panY,
+                                 final boolean gridMode) {
+        final Camera camera = new Camera();
+        camera.framebufferW = w;
+        camera.framebufferH = h;
+        camera.zoom = zoom;
+        camera.panX = panX;
+        camera.panY = panY;
+        camera.gridMode = gridMode;
+        return camera;
+    }
+}
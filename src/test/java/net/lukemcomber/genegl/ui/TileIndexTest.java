@@ -0,0 +1,188 @@
+package net.lukemcomber.genegl.ui;
+
+/*
+ * (c) 2025 Luke McOmber
+ * This code is licensed under MIT license (see LICENSE.txt for details)
+ */
+
+import net.lukemcomber.genegl.frame.CellGrid;
+import net.lukemcomber.genegl.frame.CellType;
+import net.lukemcomber.genegl.frame.FrameDelta;
+import net.lukemcomber.genegl.frame.FrameSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TileIndexTest {
+
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 270;
+    private static final int TILE = 32;
+
+    private final TileIndex index = new TileIndex(WIDTH, HEIGHT, TILE);
+
+    @Test
+    void tilesCoverTheWorldIncludingPartialOnes() {
+        assertEquals(15, index.tilesX());
+        assertEquals(9, index.tilesY());
+        assertEquals(0, index.tileOf(0));
+        assertEquals(1, index.tileOf(TILE));
+        assertEquals(index.tilesX(), index.tileOf(TILE * WIDTH));
+        assertEquals(index.tilesX() * index.tilesY() - 1, index.tileOf((HEIGHT - 1) * WIDTH + WIDTH - 1));
+    }
+
+    @Test
+    void addAndRemoveKeepTilesConsistent() {
+        final int a = world(1, 1);
+        final int b = world(2, 3);
+        final int c = world(5, 7);
+        final int far = world(300, 200);
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        index.add(far);
+        index.add(b);
+
+        assertEquals(4, index.size(), "adding twice keeps one entry");
+        assertEquals(3, index.count(0));
+        assertEquals(1, index.count(index.tileOf(far)));
+
+        index.remove(a);
+        assertFalse(index.contains(a));
+        assertEquals(2, index.count(0));
+        assertTrue(index.contains(b));
+        assertTrue(index.contains(c));
+        // the swapped-in cell is still found and removable
+        index.remove(c);
+        index.remove(b);
+        index.remove(b);
+        assertEquals(0, index.count(0));
+        assertEquals(1, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertFalse(index.contains(far));
+    }
+
+    @Test
+    void followsBirthsAndDeathsOfAGrid() {
+        final CellGrid grid = new CellGrid(WIDTH, HEIGHT);
+        final FrameDelta delta = new FrameDelta();
+        final Random random = new Random(7);
+        for (int step = 0; step < 50; step++) {
+            final FrameSnapshot frame = new FrameSnapshot();
+            frame.begin("epoch", step, 0, step);
+            for (int i = 0; i < 2000; i++) {
+                frame.add(random.nextInt(WIDTH), random.nextInt(HEIGHT), CellType.of((byte) random.nextInt(CellType.count())));
+            }
+            grid.apply(frame, delta);
+            index.apply(delta);
+
+            assertEquals(grid.occupied(), index.size());
+            for (int i = 0; i < grid.occupied(); i++) {
+                assertTrue(index.contains(grid.occupiedCell(i)));
+            }
+        }
+        int total = 0;
+        for (int tile = 0; tile < index.tilesX() * index.tilesY(); tile++) {
+            for (int i = 0; i < index.count(tile); i++) {
+                assertEquals(tile, index.tileOf(index.cell(tile, i)), "cell in the wrong tile");
+            }
+            total += index.count(tile);
+        }
+        assertEquals(index.size(), total);
+    }
+
+    @Test
+    void wholeWorldOnScreenSeesEveryTile() {
+        final Camera camera = camera(WIDTH * 4, HEIGHT * 4, 4f, 0f, 0f, true);
+        final int[] range = new int[4];
+        index.visibleTiles(camera, range);
+        assertRange(range, 0, 0, index.tilesX(), index.tilesY());
+    }
+
+    @Test
+    void panningTheWorldOffScreenSeesNothing() {
+        final int[] range = new int[4];
+        index.visibleTiles(camera(800, 600, 2f, -WIDTH * 2f - 100f, 0f, true), range);
+        assertEquals(range[0], range[2], "nothing to the left of the world");
+        index.visibleTiles(camera(800, 600, 2f, 0f, 900f, true), range);
+        assertEquals(range[1], range[3], "nothing below the screen");
+    }
+
+    @Test
+    void zoomedIntoACornerSeesOnlyItsTiles() {
+        // 100 x 100 pixels at 10 pixels per cell: cells 0..9 each way, all in tile 0
+        final int[] range = new int[4];
+        index.visibleTiles(camera(100, 100, 10f, 0f, 0f, true), range);
+        assertRange(range, 0, 0, 1, 1);
+    }
+
+    @Test
+    void everyCellDrawnOnScreenIsInTheVisibleRange() {
+        final Random random = new Random(11);
+        final int[] range = new int[4];
+        for (int trial = 0; trial < 300; trial++) {
+            final boolean gridMode = random.nextBoolean();
+            final float zoom = 0.1f + random.nextFloat() * 30f;
+            final Camera camera = camera(200 + random.nextInt(1800), 200 + random.nextInt(1000), zoom,
+                    (random.nextFloat() - 0.7f) * WIDTH * zoom, (random.nextFloat() - 0.7f) * HEIGHT * zoom, gridMode);
+            index.visibleTiles(camera, range);
+
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    if (!drawnOnScreen(camera, x, y)) continue;
+                    final int tx = x / TILE;
+                    final int ty = y / TILE;
+                    assertTrue(tx >= range[0] && tx < range[2] && ty >= range[1] && ty < range[3],
+                            "cell (" + x + ", " + y + ") on screen but culled, trial " + trial);
+                }
+            }
+            // and it stays close: at most one tile of slack on each side of what is on screen
+            final float cellsX = camera.framebufferW / zoom;
+            final float cellsY = camera.framebufferH / zoom;
+            assertTrue(range[2] - range[0] <= (int) Math.ceil(cellsX / TILE) + 3, "too many tile columns");
+            assertTrue(range[3] - range[1] <= (int) Math.ceil(cellsY / TILE) + 3, "too many tile rows");
+        }
+    }
+
+    /*
+     * A point is a square of the point shader's size around its position: the cell's center
+     * in grid mode, its corner otherwise.
+     */
+    private static boolean drawnOnScreen(final Camera camera, final int x, final int y) {
+        final float size = camera.gridMode ? Math.max(1f, camera.zoom) : Math.max(1f, camera.basePointSize * camera.zoom);
+        final float offset = camera.gridMode ? 0.5f : 0f;
+        final float sx = (x + offset) * camera.zoom + camera.panX;
+        final float sy = (y + offset) * camera.zoom + camera.panY;
+        return sx + size / 2 > 0 && sx - size / 2 < camera.framebufferW
+                && sy + size / 2 > 0 && sy - size / 2 < camera.framebufferH;
+    }
+
+    private static Camera camera(final int w, final int h, final float zoom, final float panX, final float panY,
+                                 final boolean gridMode) {
+        final Camera camera = new Camera();
+        camera.framebufferW = w;
+        camera.framebufferH = h;
+        camera.zoom = zoom;
+        camera.panX = panX;
+        camera.panY = panY;
+        camera.gridMode = gridMode;
+        return camera;
+    }
+
+    private static void assertRange(final int[] range, final int x0, final int y0, final int x1, final int y1) {
+        assertEquals(x0, range[0], "x0");
+        assertEquals(y0, range[1], "y0");
+        assertEquals(x1, range[2], "x1");
+        assertEquals(y1, range[3], "y1");
+    }
+
+    private static int world(final int x, final int y) {
+        return y * WIDTH + x;
+    }
+}